@@ -0,0 +1,299 @@
+package bitboards;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import chess.ChessGame;
+import piecetypes.FortressConfinedPiece;
+import piecetypes.RiverConfinedPiece;
+
+/**
+ * The squares every leaping or stepping piece can reach from every square of a board, worked out once per board size.
+ * Knights and horses jump two squares one way and one the other, kings step one square,
+ * guards step one square diagonally and elephants two. A horse jump is paired with its leg
+ * and an elephant step with its eye: the square that blocks the move when it holds a piece.
+ * Confined pieces (guards, Xiangqi kings and elephants) have a table for each side that
+ * only holds the squares in their fortress or on their side of the river
+ * @author Phila Dlamini
+ *
+ */
+public final class AttackTables {
+
+	/**
+	 * The moves between two squares, used by relation: a king step along a row or column
+	 */
+	public static final int ORTHOGONAL_STEP = 1;
+
+	/**
+	 * A king step along a diagonal
+	 */
+	public static final int DIAGONAL_STEP = 2;
+
+	/**
+	 * A knight or horse jump
+	 */
+	public static final int JUMP = 4;
+
+	/**
+	 * A two square step along a diagonal (an elephant step)
+	 */
+	public static final int DIAGONAL_JUMP = 8;
+
+	// The steps along a row or column (up, right, down, left)
+	private static final int[][] ORTHOGONAL_STEPS = {{-1, 0}, {0, 1}, {1, 0}, {0, -1}};
+
+	// The diagonal steps (up-right, down-right, down-left, up-left)
+	private static final int[][] DIAGONAL_STEPS = {{-1, 1}, {1, 1}, {1, -1}, {-1, -1}};
+
+	// The jumps of knights and horses
+	private static final int[][] JUMPS = {{-2, -1}, {-2, 1}, {-1, 2}, {1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}};
+
+	// The tables made so far, by rows * 100 + columns
+	private static final Map<Integer, AttackTables> TABLES = new HashMap<Integer, AttackTables>();
+
+	// The number of columns on the board
+	private final int numColumns;
+
+	// The number of squares on the board
+	private final int numSquares;
+
+	// The jumps from each square, and the leg each jump passes (at the same index)
+	private final int[][] jumps;
+	private final int[][] jumpLegs;
+
+	// The king steps from each square, in every direction
+	private final int[][] kingSteps;
+
+	// The steps of a Xiangqi king, a guard and an elephant from each square for each side ([side][square]),
+	// and the eye each elephant step passes
+	private final int[][][] xiangqiKingSteps;
+	private final int[][][] guardSteps;
+	private final int[][][] elephantSteps;
+	private final int[][][] elephantEyes;
+
+	// How two squares are related (from * squares + to): the sum of the move kinds above
+	private final byte[] relations;
+
+	// The square that blocks a jump or a two square diagonal step (from * squares + to), -1 if there is none
+	private final byte[] blockers;
+
+	/**
+	 * Returns the tables for the board the game is played on
+	 * @param game	the game being played
+	 * @return the tables for a board of that size
+	 */
+	public static synchronized AttackTables forGame(ChessGame game) {
+		Integer size = game.getNumRows() * 100 + game.getNumColumns();
+		AttackTables tables = TABLES.get(size);
+		if (tables == null) {
+			tables = new AttackTables(game);
+			TABLES.put(size, tables);
+		}
+		return tables;
+	}
+
+	/**
+	 * Works out the tables for the board the game is played on
+	 * @param game	the game being played
+	 */
+	private AttackTables(ChessGame game) {
+		int numRows = game.getNumRows();
+		numColumns = game.getNumColumns();
+		numSquares = numRows * numColumns;
+		int sides = ChessGame.Side.values().length;
+
+		jumps = new int[numSquares][];
+		jumpLegs = new int[numSquares][];
+		kingSteps = new int[numSquares][];
+		xiangqiKingSteps = new int[sides][numSquares][];
+		guardSteps = new int[sides][numSquares][];
+		elephantSteps = new int[sides][numSquares][];
+		elephantEyes = new int[sides][numSquares][];
+		relations = new byte[numSquares * numSquares];
+		blockers = new byte[numSquares * numSquares];
+		Arrays.fill(blockers, (byte) -1);
+
+		for (int row = 0; row < numRows; row++) {
+			for (int column = 0; column < numColumns; column++) {
+				int square = row * numColumns + column;
+
+				//Every jump, with the square next to the piece on the long side of the jump
+				int[] targets = new int[JUMPS.length];
+				int[] legs = new int[JUMPS.length];
+				int count = 0;
+				for (int[] jump : JUMPS) {
+					if (onBoard(numRows, row + jump[0], column + jump[1])) {
+						targets[count] = (row + jump[0]) * numColumns + column + jump[1];
+						legs[count] = (row + jump[0] / 2) * numColumns + column + jump[1] / 2;
+						relations[square * numSquares + targets[count]] |= JUMP;
+						blockers[square * numSquares + targets[count]] = (byte) legs[count];
+						count++;
+					}
+				}
+				jumps[square] = Arrays.copyOf(targets, count);
+				jumpLegs[square] = Arrays.copyOf(legs, count);
+
+				//One step in any direction
+				targets = new int[8];
+				count = 0;
+				for (int[] step : ORTHOGONAL_STEPS) {
+					if (onBoard(numRows, row + step[0], column + step[1])) {
+						targets[count] = (row + step[0]) * numColumns + column + step[1];
+						relations[square * numSquares + targets[count++]] |= ORTHOGONAL_STEP;
+					}
+				}
+				for (int[] step : DIAGONAL_STEPS) {
+					if (onBoard(numRows, row + step[0], column + step[1])) {
+						targets[count] = (row + step[0]) * numColumns + column + step[1];
+						relations[square * numSquares + targets[count++]] |= DIAGONAL_STEP;
+					}
+				}
+				kingSteps[square] = Arrays.copyOf(targets, count);
+
+				//Two diagonal steps, with the square stepped over
+				for (int[] step : DIAGONAL_STEPS) {
+					if (onBoard(numRows, row + 2 * step[0], column + 2 * step[1])) {
+						int target = (row + 2 * step[0]) * numColumns + column + 2 * step[1];
+						relations[square * numSquares + target] |= DIAGONAL_JUMP;
+						blockers[square * numSquares + target] = (byte) ((row + step[0]) * numColumns + column + step[1]);
+					}
+				}
+
+				//The confined pieces of each side
+				for (ChessGame.Side side : ChessGame.Side.values()) {
+					xiangqiKingSteps[side.ordinal()][square] = confinedSteps(game, side, row, column, ORTHOGONAL_STEPS, 1, true, null);
+					guardSteps[side.ordinal()][square] = confinedSteps(game, side, row, column, DIAGONAL_STEPS, 1, true, null);
+					int[] eyes = new int[DIAGONAL_STEPS.length];
+					elephantSteps[side.ordinal()][square] = confinedSteps(game, side, row, column, DIAGONAL_STEPS, 2, false, eyes);
+					elephantEyes[side.ordinal()][square] = Arrays.copyOf(eyes, elephantSteps[side.ordinal()][square].length);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the squares a confined piece can step to from a square
+	 * @param game			the game being played
+	 * @param side			the side the piece belongs to
+	 * @param row			the row the piece is on
+	 * @param column		the column the piece is on
+	 * @param directions	the directions the piece steps in
+	 * @param steps			the number of steps the piece takes
+	 * @param inFortress	true if the piece stays in its fortress, false if it stays on its side of the river
+	 * @param passed		filled with the square passed by each step (may be null)
+	 * @return the squares the piece can step to
+	 */
+	private int[] confinedSteps(ChessGame game, ChessGame.Side side, int row, int column, int[][] directions, int steps,
+			boolean inFortress, int[] passed) {
+		int[] targets = new int[directions.length];
+		int count = 0;
+		for (int[] direction : directions) {
+			int toRow = row + steps * direction[0];
+			int toColumn = column + steps * direction[1];
+			if (!onBoard(game.getNumRows(), toRow, toColumn))
+				continue;
+			if (inFortress ? !FortressConfinedPiece.isInFortress(game, side, toRow, toColumn)
+					: !RiverConfinedPiece.isOnOwnSide(game, side, toRow, toColumn))
+				continue;
+			if (passed != null)
+				passed[count] = (row + direction[0]) * numColumns + column + direction[1];
+			targets[count++] = toRow * numColumns + toColumn;
+		}
+		return Arrays.copyOf(targets, count);
+	}
+
+	/**
+	 * Returns true if the row and column are on the board
+	 */
+	private boolean onBoard(int numRows, int row, int column) {
+		return row >= 0 && row < numRows && column >= 0 && column < numColumns;
+	}
+
+	/**
+	 * Returns the squares a knight or horse can jump to from a square
+	 * @param square	the square jumped from
+	 * @return the squares that can be jumped to
+	 */
+	public int[] jumps(int square) {
+		return jumps[square];
+	}
+
+	/**
+	 * Returns the legs of the jumps from a square (a horse cannot jump when its leg holds a piece)
+	 * @param square	the square jumped from
+	 * @return the leg of each jump, in the same order as jumps
+	 */
+	public int[] jumpLegs(int square) {
+		return jumpLegs[square];
+	}
+
+	/**
+	 * Returns the squares a European king can step to from a square
+	 * @param square	the square stepped from
+	 * @return the squares that can be stepped to
+	 */
+	public int[] kingSteps(int square) {
+		return kingSteps[square];
+	}
+
+	/**
+	 * Returns the squares a Xiangqi king can step to from a square without leaving its fortress
+	 * @param side		the side the king belongs to
+	 * @param square	the square stepped from
+	 * @return the squares that can be stepped to
+	 */
+	public int[] xiangqiKingSteps(ChessGame.Side side, int square) {
+		return xiangqiKingSteps[side.ordinal()][square];
+	}
+
+	/**
+	 * Returns the squares a guard can step to from a square without leaving its fortress
+	 * @param side		the side the guard belongs to
+	 * @param square	the square stepped from
+	 * @return the squares that can be stepped to
+	 */
+	public int[] guardSteps(ChessGame.Side side, int square) {
+		return guardSteps[side.ordinal()][square];
+	}
+
+	/**
+	 * Returns the squares an elephant can step to from a square without crossing the river
+	 * @param side		the side the elephant belongs to
+	 * @param square	the square stepped from
+	 * @return the squares that can be stepped to
+	 */
+	public int[] elephantSteps(ChessGame.Side side, int square) {
+		return elephantSteps[side.ordinal()][square];
+	}
+
+	/**
+	 * Returns the eyes of the elephant steps from a square (an elephant cannot step over a piece)
+	 * @param side		the side the elephant belongs to
+	 * @param square	the square stepped from
+	 * @return the eye of each step, in the same order as elephantSteps
+	 */
+	public int[] elephantEyes(ChessGame.Side side, int square) {
+		return elephantEyes[side.ordinal()][square];
+	}
+
+	/**
+	 * Returns how two squares are related
+	 * @param from	the square moved from
+	 * @param to	the square moved to
+	 * @return the sum of ORTHOGONAL_STEP, DIAGONAL_STEP, JUMP and DIAGONAL_JUMP for the moves from one square to the other
+	 */
+	public int relation(int from, int to) {
+		return relations[from * numSquares + to];
+	}
+
+	/**
+	 * Returns the square that blocks a jump (its leg) or a two square diagonal step (its eye)
+	 * @param from	the square moved from
+	 * @param to	the square moved to
+	 * @return the blocking square, or -1 if the move is neither a jump nor a two square diagonal step
+	 */
+	public int blocker(int from, int to) {
+		return blockers[from * numSquares + to];
+	}
+}
@@ -0,0 +1,89 @@
+package bitboards;
+
+import chess.ChessGame;
+import piecetypes.ChessPiece;
+
+/**
+ * A bitboard representation of the pieces on a ChessBoard.
+ * The ChessBoard keeps it up to date as pieces are added and removed, so that questions about the
+ * squares between two squares, or about which squares are attacked, can be answered with mask operations
+ * instead of walking the board square by square
+ * @author Phila Dlamini
+ *
+ */
+public interface BitboardPosition {
+
+	/**
+	 * Records that the piece was placed on the specified row and column
+	 * @param piece		the piece placed on the board
+	 * @param row		the row the piece was placed on
+	 * @param column	the column the piece was placed on
+	 */
+	void addPiece(ChessPiece piece, int row, int column);
+
+	/**
+	 * Records that the piece was removed from the specified row and column
+	 * @param piece		the piece removed from the board
+	 * @param row		the row the piece was removed from
+	 * @param column	the column the piece was removed from
+	 */
+	void removePiece(ChessPiece piece, int row, int column);
+
+	/**
+	 * Returns the number of pieces strictly between two squares on the same row, column or diagonal
+	 * @param fromRow		the row of the first square
+	 * @param fromColumn	the column of the first square
+	 * @param toRow			the row of the second square
+	 * @param toColumn		the column of the second square
+	 * @return the number of pieces between the two squares (0 if they do not share a line)
+	 */
+	int piecesBetween(int fromRow, int fromColumn, int toRow, int toColumn);
+
+	/**
+	 * Returns the number of pieces on this column, from the start row to the end row, inclusive
+	 * @param column		the column to search on
+	 * @param startRow		the row to start searching on
+	 * @param endRow		the row to end searching on
+	 * @return the number of pieces found on this column between the start and end rows
+	 */
+	int piecesInColumn(int column, int startRow, int endRow);
+
+	/**
+	 * Returns true if this representation knows how every piece on the board attacks, so
+	 * isAttacked() can be used. This is false when pieces of the other chess game are placed on the board
+	 * @return true if isAttacked() can be used for this position
+	 */
+	boolean canComputeAttacks();
+
+	/**
+	 * Returns true if a piece that does not belong to the given side can capture on the specified square
+	 * @param row		the row of the square
+	 * @param column	the column of the square
+	 * @param side		the side whose piece would be captured
+	 * @return true if an opponent of the given side attacks the square
+	 */
+	boolean isAttacked(int row, int column, ChessGame.Side side);
+
+	/**
+	 * Fills the set with the pieces that do not belong to the given side and can capture on the specified square
+	 * Like isAttacked(), this can only be used when canComputeAttacks() is true
+	 * @param row		the row of the square
+	 * @param column	the column of the square
+	 * @param side		the side whose piece would be captured
+	 * @param attackers	the set to fill with the squares of the attackers (anything already in it is removed)
+	 */
+	void attackersTo(int row, int column, ChessGame.Side side, SquareSet attackers);
+
+	/**
+	 * Returns the bitboard representation suited for the board of this game
+	 * @param game		the chess game being played
+	 * @return the bitboard representation for the game, or null if the board has no such representation
+	 */
+	public static BitboardPosition forGame(ChessGame game) {
+		if (game.getNumRows() == EuropeanBitboard.SIZE && game.getNumColumns() == EuropeanBitboard.SIZE)
+			return new EuropeanBitboard();
+		if (game.getNumRows() == XiangqiBitboard.ROWS && game.getNumColumns() == XiangqiBitboard.COLUMNS)
+			return new XiangqiBitboard();
+		return null;
+	}
+}
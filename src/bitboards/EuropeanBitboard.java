@@ -0,0 +1,336 @@
+package bitboards;
+
+import chess.ChessGame;
+import piecetypes.ChessPiece;
+import piecetypes.PieceType;
+
+/**
+ * A 64-bit bitboard representation of an 8x8 European chess board.
+ * Square (row, column) is bit row * 8 + column, so row 0 (the NORTH side) holds bits 0 to 7.
+ * One long is kept for every piece type of every side, along with occupancy masks for each side and the whole board
+ * @author Phila Dlamini
+ *
+ */
+public class EuropeanBitboard implements BitboardPosition {
+
+	// The number of rows and columns on the board
+	public static final int SIZE = 8;
+
+	// The number of squares on the board
+	public static final int SQUARES = SIZE * SIZE;
+
+	// The number of sides a piece can belong to
+	private static final int SIDES = ChessGame.Side.values().length;
+
+	// The row and column steps of the eight directions (N, NE, E, SE, S, SW, W, NW)
+	private static final int[] DIRECTION_ROWS = { -1, -1, 0, 1, 1, 1, 0, -1 };
+	private static final int[] DIRECTION_COLUMNS = { 0, 1, 1, 1, 0, -1, -1, -1 };
+
+	// The squares a knight attacks from each square
+	private static final long[] KNIGHT_ATTACKS = new long[SQUARES];
+
+	// The squares a king attacks from each square
+	private static final long[] KING_ATTACKS = new long[SQUARES];
+
+	// The squares a pawn of each side attacks from each square
+	private static final long[][] PAWN_ATTACKS = new long[SIDES][SQUARES];
+
+	// The squares a pawn of each side must stand on to attack each square
+	private static final long[][] PAWN_ATTACKERS = new long[SIDES][SQUARES];
+
+	// The squares strictly between two squares on the same row, column or diagonal
+	private static final long[][] BETWEEN = new long[SQUARES][SQUARES];
+
+	// The squares of each column
+	private static final long[] COLUMNS = new long[SIZE];
+
+	static {
+		for (int square = 0; square < SQUARES; square++) {
+			int row = square / SIZE;
+			int column = square % SIZE;
+			COLUMNS[column] |= bit(square);
+
+			// The knight jumps two squares one way and one square the other
+			for (int rowStep = -2; rowStep <= 2; rowStep++) {
+				for (int columnStep = -2; columnStep <= 2; columnStep++) {
+					if (Math.abs(rowStep * columnStep) == 2 && onBoard(row + rowStep, column + columnStep))
+						KNIGHT_ATTACKS[square] |= bit(row + rowStep, column + columnStep);
+				}
+			}
+
+			for (int direction = 0; direction < DIRECTION_ROWS.length; direction++) {
+
+				// The king steps once in every direction
+				if (onBoard(row + DIRECTION_ROWS[direction], column + DIRECTION_COLUMNS[direction]))
+					KING_ATTACKS[square] |= bit(row + DIRECTION_ROWS[direction], column + DIRECTION_COLUMNS[direction]);
+
+				// Walk to the edge of the board, remembering the squares passed on the way
+				long passed = 0;
+				for (int toRow = row + DIRECTION_ROWS[direction], toColumn = column + DIRECTION_COLUMNS[direction];
+						onBoard(toRow, toColumn); toRow += DIRECTION_ROWS[direction], toColumn += DIRECTION_COLUMNS[direction]) {
+					BETWEEN[square][toRow * SIZE + toColumn] = passed;
+					passed |= bit(toRow, toColumn);
+				}
+			}
+
+			// A pawn captures one square diagonally forward (the SOUTH side moves up the board, the others move down)
+			for (ChessGame.Side side : ChessGame.Side.values()) {
+				int forwardRow = side == ChessGame.Side.SOUTH ? row - 1 : row + 1;
+				for (int columnStep = -1; columnStep <= 1; columnStep += 2) {
+					if (onBoard(forwardRow, column + columnStep)) {
+						PAWN_ATTACKS[side.ordinal()][square] |= bit(forwardRow, column + columnStep);
+						PAWN_ATTACKERS[side.ordinal()][forwardRow * SIZE + column + columnStep] |= bit(square);
+					}
+				}
+			}
+		}
+	}
+
+	// The pieces of each type for each side, indexed by side * PieceType.COUNT + type
+	private final long[] pieceBoards = new long[SIDES * PieceType.COUNT];
+
+	// The pieces of each type, for all sides
+	private final long[] typeBoards = new long[PieceType.COUNT];
+
+	// The pieces of each side
+	private final long[] sideBoards = new long[SIDES];
+
+	// All pieces on the board
+	private long occupied;
+
+	// The number of pieces on the board that are not European chess pieces
+	private int unmodelledPieces;
+
+	/**
+	 * Records that the piece was placed on the specified row and column
+	 * @param piece		the piece placed on the board
+	 * @param row		the row the piece was placed on
+	 * @param column	the column the piece was placed on
+	 */
+	@Override
+	public void addPiece(ChessPiece piece, int row, int column) {
+		long square = bit(row, column);
+		pieceBoards[piece.getSide().ordinal() * PieceType.COUNT + piece.getType().ordinal()] |= square;
+		typeBoards[piece.getType().ordinal()] |= square;
+		sideBoards[piece.getSide().ordinal()] |= square;
+		occupied |= square;
+		if (!isEuropeanPiece(piece.getType()))
+			unmodelledPieces++;
+	}
+
+	/**
+	 * Records that the piece was removed from the specified row and column
+	 * @param piece		the piece removed from the board
+	 * @param row		the row the piece was removed from
+	 * @param column	the column the piece was removed from
+	 */
+	@Override
+	public void removePiece(ChessPiece piece, int row, int column) {
+		long square = ~bit(row, column);
+		pieceBoards[piece.getSide().ordinal() * PieceType.COUNT + piece.getType().ordinal()] &= square;
+		typeBoards[piece.getType().ordinal()] &= square;
+		sideBoards[piece.getSide().ordinal()] &= square;
+		occupied &= square;
+		if (!isEuropeanPiece(piece.getType()))
+			unmodelledPieces--;
+	}
+
+	/**
+	 * Returns the number of pieces strictly between two squares on the same row, column or diagonal
+	 * @param fromRow		the row of the first square
+	 * @param fromColumn	the column of the first square
+	 * @param toRow			the row of the second square
+	 * @param toColumn		the column of the second square
+	 * @return the number of pieces between the two squares (0 if they do not share a line)
+	 */
+	@Override
+	public int piecesBetween(int fromRow, int fromColumn, int toRow, int toColumn) {
+		return Long.bitCount(BETWEEN[fromRow * SIZE + fromColumn][toRow * SIZE + toColumn] & occupied);
+	}
+
+	/**
+	 * Returns the number of pieces on this column, from the start row to the end row, inclusive
+	 * @param column		the column to search on
+	 * @param startRow		the row to start searching on
+	 * @param endRow		the row to end searching on
+	 * @return the number of pieces found on this column between the start and end rows
+	 */
+	@Override
+	public int piecesInColumn(int column, int startRow, int endRow) {
+		if (startRow > endRow)
+			return 0;
+
+		// Keep the rows from the start row to the end row
+		long rows = (-1L << (startRow * SIZE)) & (-1L >>> ((SIZE - 1 - endRow) * SIZE));
+		return Long.bitCount(COLUMNS[column] & rows & occupied);
+	}
+
+	/**
+	 * Returns true if every piece on the board is a European chess piece
+	 * @return true if isAttacked() can be used for this position
+	 */
+	@Override
+	public boolean canComputeAttacks() {
+		return unmodelledPieces == 0;
+	}
+
+	/**
+	 * Returns true if a piece that does not belong to the given side can capture on the specified square
+	 * @param row		the row of the square
+	 * @param column	the column of the square
+	 * @param side		the side whose piece would be captured
+	 * @return true if an opponent of the given side attacks the square
+	 */
+	@Override
+	public boolean isAttacked(int row, int column, ChessGame.Side side) {
+		return (attackersTo(row * SIZE + column, occupied) & ~sideBoards[side.ordinal()]) != 0;
+	}
+
+	/**
+	 * Fills the set with the pieces that do not belong to the given side and can capture on the specified square
+	 * @param row		the row of the square
+	 * @param column	the column of the square
+	 * @param side		the side whose piece would be captured
+	 * @param attackers	the set to fill with the squares of the attackers
+	 */
+	@Override
+	public void attackersTo(int row, int column, ChessGame.Side side, SquareSet attackers) {
+		attackers.clear();
+		attackers.addAll(attackersTo(row * SIZE + column, occupied) & ~sideBoards[side.ordinal()], 0);
+	}
+
+	/**
+	 * Returns the pieces of every side that attack the square, given which squares are occupied
+	 * @param square	the square attacked
+	 * @param occupied	the occupied squares that block sliding pieces
+	 * @return the squares of the pieces that attack the square
+	 */
+	public long attackersTo(int square, long occupied) {
+		long straightSliders = typeBoards[PieceType.ROOK.ordinal()] | typeBoards[PieceType.QUEEN.ordinal()];
+		long diagonalSliders = typeBoards[PieceType.BISHOP.ordinal()] | typeBoards[PieceType.QUEEN.ordinal()];
+		long attackers = (KNIGHT_ATTACKS[square] & typeBoards[PieceType.KNIGHT.ordinal()])
+				| (KING_ATTACKS[square] & typeBoards[PieceType.KING.ordinal()])
+				| (rookAttacks(square, occupied) & straightSliders)
+				| (bishopAttacks(square, occupied) & diagonalSliders);
+
+		// Pawns attack in the direction their side moves
+		for (int side = 0; side < SIDES; side++)
+			attackers |= PAWN_ATTACKERS[side][square] & pieceBoards[side * PieceType.COUNT + PieceType.PAWN.ordinal()];
+		return attackers;
+	}
+
+	/**
+	 * Returns the squares a rook on the square attacks, given which squares are occupied
+	 * @param square	the square of the rook
+	 * @param occupied	the occupied squares that block the rook
+	 * @return the squares the rook attacks
+	 */
+	public static long rookAttacks(int square, long occupied) {
+		return MagicAttacks.rookAttacks(square, occupied);
+	}
+
+	/**
+	 * Returns the squares a bishop on the square attacks, given which squares are occupied
+	 * @param square	the square of the bishop
+	 * @param occupied	the occupied squares that block the bishop
+	 * @return the squares the bishop attacks
+	 */
+	public static long bishopAttacks(int square, long occupied) {
+		return MagicAttacks.bishopAttacks(square, occupied);
+	}
+
+	/**
+	 * Returns the squares a knight on the square attacks
+	 * @param square	the square of the knight
+	 * @return the squares the knight attacks
+	 */
+	public static long knightAttacks(int square) {
+		return KNIGHT_ATTACKS[square];
+	}
+
+	/**
+	 * Returns the squares a king on the square attacks
+	 * @param square	the square of the king
+	 * @return the squares the king attacks
+	 */
+	public static long kingAttacks(int square) {
+		return KING_ATTACKS[square];
+	}
+
+	/**
+	 * Returns the squares a pawn of the side attacks from the square
+	 * @param side		the side the pawn belongs to
+	 * @param square	the square of the pawn
+	 * @return the squares the pawn attacks
+	 */
+	public static long pawnAttacks(ChessGame.Side side, int square) {
+		return PAWN_ATTACKS[side.ordinal()][square];
+	}
+
+	/**
+	 * Returns the squares strictly between two squares on the same row, column or diagonal
+	 * @param from		the first square
+	 * @param to		the second square
+	 * @return the squares between the two squares (0 if they do not share a line)
+	 */
+	public static long between(int from, int to) {
+		return BETWEEN[from][to];
+	}
+
+	/**
+	 * Returns the pieces of the given type belonging to the side
+	 * @param side		the side the pieces belong to
+	 * @param type		the type of the pieces
+	 * @return the squares of the pieces
+	 */
+	public long getPieces(ChessGame.Side side, PieceType type) {
+		return pieceBoards[side.ordinal() * PieceType.COUNT + type.ordinal()];
+	}
+
+	/**
+	 * Returns the pieces belonging to the side
+	 * @param side		the side the pieces belong to
+	 * @return the squares of the side's pieces
+	 */
+	public long getSidePieces(ChessGame.Side side) {
+		return sideBoards[side.ordinal()];
+	}
+
+	/**
+	 * Returns the squares that hold a piece
+	 * @return the squares that hold a piece
+	 */
+	public long getOccupied() {
+		return occupied;
+	}
+
+	/**
+	 * Returns true if the piece type is played in European chess
+	 * @param type		the type of the piece
+	 * @return true if the piece type is played in European chess
+	 */
+	private static boolean isEuropeanPiece(PieceType type) {
+		return type.ordinal() <= PieceType.KING.ordinal();
+	}
+
+	/**
+	 * Returns true if the row and column are on the board
+	 */
+	private static boolean onBoard(int row, int column) {
+		return row >= 0 && row < SIZE && column >= 0 && column < SIZE;
+	}
+
+	/**
+	 * Returns the bit of the square
+	 */
+	private static long bit(int square) {
+		return 1L << square;
+	}
+
+	/**
+	 * Returns the bit of the square at the row and column
+	 */
+	private static long bit(int row, int column) {
+		return 1L << (row * SIZE + column);
+	}
+}
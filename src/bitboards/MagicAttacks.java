@@ -0,0 +1,200 @@
+package bitboards;
+
+/**
+ * Rook and bishop attacks on an 8x8 board with magic bitboards.
+ * For every square, the pieces that can block a slider (its rays without the edge squares) are multiplied
+ * by a magic number, and the top bits of the product index a table holding the attacks for those blockers.
+ * Looking up the attacks of a rook or bishop is then a mask, a multiply, a shift and a load, however far its rays reach.
+ * The magic numbers are searched for once, with a fixed seed, when the class is loaded
+ * @author Phila Dlamini
+ *
+ */
+public final class MagicAttacks {
+
+	// The number of rows and columns on the board
+	private static final int SIZE = EuropeanBitboard.SIZE;
+
+	// The number of squares on the board
+	private static final int SQUARES = EuropeanBitboard.SQUARES;
+
+	// The row and column steps of a rook and of a bishop
+	private static final int[][] ROOK_STEPS = {{-1, 0}, {0, 1}, {1, 0}, {0, -1}};
+	private static final int[][] BISHOP_STEPS = {{-1, 1}, {1, 1}, {1, -1}, {-1, -1}};
+
+	// The squares whose pieces can block a rook on each square, the magic number and shift of each square,
+	// and where the attacks of each square start in the table
+	private static final long[] ROOK_MASKS = new long[SQUARES];
+	private static final long[] ROOK_MAGICS = new long[SQUARES];
+	private static final int[] ROOK_SHIFTS = new int[SQUARES];
+	private static final int[] ROOK_OFFSETS = new int[SQUARES];
+	private static final long[] ROOK_ATTACKS;
+
+	// The same for bishops
+	private static final long[] BISHOP_MASKS = new long[SQUARES];
+	private static final long[] BISHOP_MAGICS = new long[SQUARES];
+	private static final int[] BISHOP_SHIFTS = new int[SQUARES];
+	private static final int[] BISHOP_OFFSETS = new int[SQUARES];
+	private static final long[] BISHOP_ATTACKS;
+
+	// The state of the random number generator used to search for magic numbers
+	private static long seed = 0x2545F4914F6CDD1DL;
+
+	static {
+		ROOK_ATTACKS = initialise(ROOK_STEPS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS);
+		BISHOP_ATTACKS = initialise(BISHOP_STEPS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+	}
+
+	/**
+	 * There are no MagicAttacks objects
+	 */
+	private MagicAttacks() {
+	}
+
+	/**
+	 * Returns the squares a rook on the square attacks, given which squares are occupied
+	 * @param square	the square of the rook
+	 * @param occupied	the occupied squares that block the rook
+	 * @return the squares the rook attacks, up to and including the first piece in each direction
+	 */
+	public static long rookAttacks(int square, long occupied) {
+		return ROOK_ATTACKS[ROOK_OFFSETS[square] + (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+	}
+
+	/**
+	 * Returns the squares a bishop on the square attacks, given which squares are occupied
+	 * @param square	the square of the bishop
+	 * @param occupied	the occupied squares that block the bishop
+	 * @return the squares the bishop attacks, up to and including the first piece in each direction
+	 */
+	public static long bishopAttacks(int square, long occupied) {
+		return BISHOP_ATTACKS[BISHOP_OFFSETS[square] + (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+	}
+
+	/**
+	 * Returns the squares a queen on the square attacks, given which squares are occupied
+	 * @param square	the square of the queen
+	 * @param occupied	the occupied squares that block the queen
+	 * @return the squares the queen attacks
+	 */
+	public static long queenAttacks(int square, long occupied) {
+		return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+	}
+
+	/**
+	 * Returns the squares a slider attacks by walking its rays one square at a time
+	 * This is how the tables are filled, and what the lookups are checked against
+	 * @param steps		the row and column step of each ray
+	 * @param square	the square of the slider
+	 * @param occupied	the occupied squares that block the slider
+	 * @return the squares the slider attacks
+	 */
+	static long slidingAttacks(int[][] steps, int square, long occupied) {
+		long attacks = 0;
+		for (int[] step : steps) {
+			int row = square / SIZE + step[0];
+			int column = square % SIZE + step[1];
+			while (row >= 0 && row < SIZE && column >= 0 && column < SIZE) {
+				attacks |= 1L << (row * SIZE + column);
+				if ((occupied & 1L << (row * SIZE + column)) != 0)
+					break;
+				row += step[0];
+				column += step[1];
+			}
+		}
+		return attacks;
+	}
+
+	/**
+	 * Returns the squares a rook attacks by walking its rays one square at a time
+	 * @param square	the square of the rook
+	 * @param occupied	the occupied squares that block the rook
+	 * @return the squares the rook attacks
+	 */
+	public static long slowRookAttacks(int square, long occupied) {
+		return slidingAttacks(ROOK_STEPS, square, occupied);
+	}
+
+	/**
+	 * Returns the squares a bishop attacks by walking its rays one square at a time
+	 * @param square	the square of the bishop
+	 * @param occupied	the occupied squares that block the bishop
+	 * @return the squares the bishop attacks
+	 */
+	public static long slowBishopAttacks(int square, long occupied) {
+		return slidingAttacks(BISHOP_STEPS, square, occupied);
+	}
+
+	/**
+	 * Works out the masks, finds a magic number for every square and fills the table of attacks
+	 * @return the table of attacks for every square
+	 */
+	private static long[] initialise(int[][] steps, long[] masks, long[] magics, int[] shifts, int[] offsets) {
+
+		//The blockers of a slider are its rays without the last square of each (a piece there blocks nothing)
+		int tableSize = 0;
+		for (int square = 0; square < SQUARES; square++) {
+			for (int[] step : steps) {
+				int row = square / SIZE + step[0];
+				int column = square % SIZE + step[1];
+				while (row + step[0] >= 0 && row + step[0] < SIZE && column + step[1] >= 0 && column + step[1] < SIZE) {
+					masks[square] |= 1L << (row * SIZE + column);
+					row += step[0];
+					column += step[1];
+				}
+			}
+			shifts[square] = SQUARES - Long.bitCount(masks[square]);
+			offsets[square] = tableSize;
+			tableSize += 1 << Long.bitCount(masks[square]);
+		}
+
+		long[] table = new long[tableSize];
+		for (int square = 0; square < SQUARES; square++) {
+			int entries = 1 << Long.bitCount(masks[square]);
+
+			//Every set of blockers (each subset of the mask) and the attacks it leaves
+			long[] blockers = new long[entries];
+			long[] attacks = new long[entries];
+			long subset = 0;
+			for (int i = 0; i < entries; i++) {
+				blockers[i] = subset;
+				attacks[i] = slidingAttacks(steps, square, subset);
+				subset = (subset - masks[square]) & masks[square];
+			}
+
+			//Try random numbers with few bits until one sends every set of blockers to an entry with the right attacks
+			long[] entry = new long[entries];
+			int[] filled = new int[entries];
+			for (int attempt = 1; ; attempt++) {
+				long magic = nextRandom() & nextRandom() & nextRandom();
+				if (Long.bitCount((masks[square] * magic) & 0xFF00000000000000L) < 6)
+					continue;
+				boolean works = true;
+				for (int i = 0; i < entries && works; i++) {
+					int index = (int) ((blockers[i] * magic) >>> shifts[square]);
+					if (filled[index] != attempt) {
+						filled[index] = attempt;
+						entry[index] = attacks[i];
+					} else if (entry[index] != attacks[i]) {
+						works = false;
+					}
+				}
+				if (works) {
+					magics[square] = magic;
+					System.arraycopy(entry, 0, table, offsets[square], entries);
+					break;
+				}
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the next number of a xorshift random number generator
+	 */
+	private static long nextRandom() {
+		seed ^= seed >>> 12;
+		seed ^= seed << 25;
+		seed ^= seed >>> 27;
+		return seed * 0x2545F4914F6CDD1DL;
+	}
+}
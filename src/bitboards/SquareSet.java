@@ -0,0 +1,99 @@
+package bitboards;
+
+/**
+ * A reusable set of squares (row * columns + column) on a board of up to 128 squares, kept in two longs.
+ * It is filled in place, so asking for a set of squares (such as the attackers of a square) creates no objects.
+ * The squares are visited in order with first() and next():
+ * for (int square = set.first(); square != -1; square = set.next(square))
+ * @author Phila Dlamini
+ *
+ */
+public final class SquareSet {
+
+	// Squares 0 to 63
+	private long low;
+
+	// Squares 64 to 127
+	private long high;
+
+	/**
+	 * Removes every square from the set
+	 */
+	public void clear() {
+		low = 0;
+		high = 0;
+	}
+
+	/**
+	 * Adds a square to the set
+	 * @param square	the square to add
+	 */
+	public void add(int square) {
+		if (square < 64)
+			low |= 1L << square;
+		else
+			high |= 1L << (square - 64);
+	}
+
+	/**
+	 * Adds the squares of a mask pair to the set
+	 * @param lowSquares	squares 0 to 63
+	 * @param highSquares	squares 64 to 127
+	 */
+	void addAll(long lowSquares, long highSquares) {
+		low |= lowSquares;
+		high |= highSquares;
+	}
+
+	/**
+	 * Returns true if the set holds the square
+	 * @param square	the square to look for
+	 * @return true if the set holds the square
+	 */
+	public boolean contains(int square) {
+		return square < 64 ? (low & 1L << square) != 0 : (high & 1L << (square - 64)) != 0;
+	}
+
+	/**
+	 * Returns the number of squares in the set
+	 * @return the number of squares in the set
+	 */
+	public int size() {
+		return Long.bitCount(low) + Long.bitCount(high);
+	}
+
+	/**
+	 * Returns true if the set has no squares
+	 * @return true if the set has no squares
+	 */
+	public boolean isEmpty() {
+		return (low | high) == 0;
+	}
+
+	/**
+	 * Returns the lowest square in the set
+	 * @return the lowest square, or -1 if the set is empty
+	 */
+	public int first() {
+		if (low != 0)
+			return Long.numberOfTrailingZeros(low);
+		return high != 0 ? 64 + Long.numberOfTrailingZeros(high) : -1;
+	}
+
+	/**
+	 * Returns the lowest square in the set after the given square
+	 * @param square	the square to start after
+	 * @return the next square, or -1 if there is none
+	 */
+	public int next(int square) {
+		square++;
+		if (square < 64) {
+			long rest = low & (-1L << square);
+			if (rest != 0)
+				return Long.numberOfTrailingZeros(rest);
+			square = 64;
+		}
+		long rest = square < 128 ? high & (-1L << (square - 64)) : 0;
+		return rest != 0 ? 64 + Long.numberOfTrailingZeros(rest) : -1;
+	}
+}
@@ -0,0 +1,777 @@
+package bitboards;
+
+import java.util.Arrays;
+
+import chess.ChessGame;
+import piecetypes.ChessPiece;
+import piecetypes.PieceType;
+
+/**
+ * A bitboard representation of the 10x9 Xiangqi board.
+ * The 90 squares do not fit in one long, so every mask is a pair of longs: square (row, column) is
+ * bit row * 9 + column, and bits 0 to 63 are kept in the low long and bits 64 to 89 in the high long.
+ * Stored in a long[], the low half of mask i is at index 2 * i and its high half at index 2 * i + 1.
+ *
+ * The palace, the river side and the steps of the king, guard, elephant and soldier are precomputed for
+ * every square, as are the horse leg and elephant eye that can block a move, so their legality is a mask test.
+ * The pieces on each row and column are also kept as small occupancy masks, which index precomputed lookups of
+ * the empty squares a rook or cannon slides to, the first piece (the rook's capture or the cannon's screen) and
+ * the piece behind the screen (the cannon's capture) in both directions along the line
+ * @author Phila Dlamini
+ *
+ */
+public class XiangqiBitboard implements BitboardPosition {
+
+	// The number of rows on the board
+	public static final int ROWS = 10;
+
+	// The number of columns on the board
+	public static final int COLUMNS = 9;
+
+	// The number of squares on the board
+	public static final int SQUARES = ROWS * COLUMNS;
+
+	// The number of sides a piece can belong to
+	private static final int SIDES = ChessGame.Side.values().length;
+
+	// The palace of each side
+	private static final long[] PALACE = new long[2 * SIDES];
+
+	// The side of the river each side starts on
+	private static final long[] OWN_HALF = new long[2 * SIDES];
+
+	// The squares a king, guard, elephant and soldier of each side can step to from each square
+	private static final long[][] KING_MOVES = new long[SIDES][2 * SQUARES];
+	private static final long[][] GUARD_MOVES = new long[SIDES][2 * SQUARES];
+	private static final long[][] ELEPHANT_MOVES = new long[SIDES][2 * SQUARES];
+	private static final long[][] SOLDIER_MOVES = new long[SIDES][2 * SQUARES];
+
+	// The squares a king, guard and soldier of each side must stand on to attack each square
+	private static final long[][] KING_ATTACKERS = new long[SIDES][2 * SQUARES];
+	private static final long[][] GUARD_ATTACKERS = new long[SIDES][2 * SQUARES];
+	private static final long[][] SOLDIER_ATTACKERS = new long[SIDES][2 * SQUARES];
+
+	// The square that blocks a horse moving from one square to another, indexed by from * SQUARES + to (-1 if it is not a horse move)
+	private static final int[] HORSE_LEGS = new int[SQUARES * SQUARES];
+
+	// The square that blocks an elephant moving from one square to another, indexed by from * SQUARES + to (-1 if it is not an elephant move)
+	private static final int[] ELEPHANT_EYES = new int[SQUARES * SQUARES];
+
+	// The squares a horse can jump to (or be attacked from) and two diagonal steps away from each square
+	private static final int[][] HORSE_SQUARES = new int[SQUARES][];
+	private static final int[][] ELEPHANT_SQUARES = new int[SQUARES][];
+
+	// For a piece at each column of a row, indexed by [column][pieces on the row]: the empty columns it can slide to,
+	// the first piece it meets and the piece behind that one, in both directions
+	private static final short[][] ROW_SLIDES = new short[COLUMNS][1 << COLUMNS];
+	private static final short[][] ROW_FIRST_PIECES = new short[COLUMNS][1 << COLUMNS];
+	private static final short[][] ROW_SECOND_PIECES = new short[COLUMNS][1 << COLUMNS];
+
+	// The same for a piece at each row of a column, indexed by [row][pieces on the column]
+	private static final short[][] COLUMN_SLIDES = new short[ROWS][1 << ROWS];
+	private static final short[][] COLUMN_FIRST_PIECES = new short[ROWS][1 << ROWS];
+	private static final short[][] COLUMN_SECOND_PIECES = new short[ROWS][1 << ROWS];
+
+	// The squares strictly between two squares on the same row, column or diagonal, indexed by from * SQUARES + to
+	private static final long[] BETWEEN = new long[2 * SQUARES * SQUARES];
+
+	static {
+		for (int square = 0; square < SQUARES; square++) {
+			int row = square / COLUMNS;
+			int column = square % COLUMNS;
+
+			for (ChessGame.Side side : ChessGame.Side.values()) {
+				int s = side.ordinal();
+
+				if (isInPalace(side, row, column))
+					set(PALACE, s, square);
+				if (isOnOwnHalf(side, row))
+					set(OWN_HALF, s, square);
+
+				// The king steps once straight and the guard once diagonally, both staying in the palace
+				for (int rowStep = -1; rowStep <= 1; rowStep++) {
+					for (int columnStep = -1; columnStep <= 1; columnStep++) {
+						int toRow = row + rowStep;
+						int toColumn = column + columnStep;
+						if (!isInPalace(side, toRow, toColumn))
+							continue;
+						if (Math.abs(rowStep) + Math.abs(columnStep) == 1)
+							set(KING_MOVES[s], square, toRow * COLUMNS + toColumn);
+						else if (Math.abs(rowStep) + Math.abs(columnStep) == 2)
+							set(GUARD_MOVES[s], square, toRow * COLUMNS + toColumn);
+					}
+				}
+
+				// The elephant takes two diagonal steps and may not cross the river
+				for (int rowStep = -2; rowStep <= 2; rowStep += 4) {
+					for (int columnStep = -2; columnStep <= 2; columnStep += 4) {
+						if (onBoard(row + rowStep, column + columnStep) && isOnOwnHalf(side, row + rowStep))
+							set(ELEPHANT_MOVES[s], square, (row + rowStep) * COLUMNS + column + columnStep);
+					}
+				}
+
+				// The soldier steps forward, and once across the river it may also step sideways
+				int forwardRow = side == ChessGame.Side.SOUTH ? row - 1 : row + 1;
+				if (onBoard(forwardRow, column))
+					set(SOLDIER_MOVES[s], square, forwardRow * COLUMNS + column);
+				if (hasCrossedRiver(side, row)) {
+					if (onBoard(row, column - 1))
+						set(SOLDIER_MOVES[s], square, square - 1);
+					if (onBoard(row, column + 1))
+						set(SOLDIER_MOVES[s], square, square + 1);
+				}
+			}
+
+			// The horse moves one square straight (its leg) and then one square diagonally outwards
+			int[] horseSquares = new int[8];
+			int numHorseSquares = 0;
+			int[] elephantSquares = new int[4];
+			int numElephantSquares = 0;
+			for (int to = 0; to < SQUARES; to++) {
+				int rowStep = to / COLUMNS - row;
+				int columnStep = to % COLUMNS - column;
+				HORSE_LEGS[square * SQUARES + to] = -1;
+				ELEPHANT_EYES[square * SQUARES + to] = -1;
+
+				if (Math.abs(rowStep * columnStep) == 2) {
+					HORSE_LEGS[square * SQUARES + to] = Math.abs(columnStep) == 2
+							? square + Integer.signum(columnStep) : square + Integer.signum(rowStep) * COLUMNS;
+					horseSquares[numHorseSquares++] = to;
+				} else if (Math.abs(rowStep) == 2 && Math.abs(columnStep) == 2) {
+					ELEPHANT_EYES[square * SQUARES + to] = square + (rowStep / 2) * COLUMNS + columnStep / 2;
+					elephantSquares[numElephantSquares++] = to;
+				}
+			}
+			HORSE_SQUARES[square] = Arrays.copyOf(horseSquares, numHorseSquares);
+			ELEPHANT_SQUARES[square] = Arrays.copyOf(elephantSquares, numElephantSquares);
+
+			// Remember the squares passed on the way to every square on the same line
+			for (int rowStep = -1; rowStep <= 1; rowStep++) {
+				for (int columnStep = -1; columnStep <= 1; columnStep++) {
+					if (rowStep == 0 && columnStep == 0)
+						continue;
+					long passedLow = 0;
+					long passedHigh = 0;
+					for (int toRow = row + rowStep, toColumn = column + columnStep; onBoard(toRow, toColumn); toRow += rowStep, toColumn += columnStep) {
+						int to = toRow * COLUMNS + toColumn;
+						BETWEEN[2 * (square * SQUARES + to)] = passedLow;
+						BETWEEN[2 * (square * SQUARES + to) + 1] = passedHigh;
+						if (to < 64)
+							passedLow |= 1L << to;
+						else
+							passedHigh |= 1L << (to - 64);
+					}
+				}
+			}
+		}
+
+		// Look along every row and column from every square, for every set of pieces on the line
+		fillLineLookups(COLUMNS, ROW_SLIDES, ROW_FIRST_PIECES, ROW_SECOND_PIECES);
+		fillLineLookups(ROWS, COLUMN_SLIDES, COLUMN_FIRST_PIECES, COLUMN_SECOND_PIECES);
+
+		// Turn the moves around to find where an attacker must stand
+		for (int s = 0; s < SIDES; s++) {
+			for (int from = 0; from < SQUARES; from++) {
+				for (int to = 0; to < SQUARES; to++) {
+					if (has(KING_MOVES[s], from, to))
+						set(KING_ATTACKERS[s], to, from);
+					if (has(GUARD_MOVES[s], from, to))
+						set(GUARD_ATTACKERS[s], to, from);
+					if (has(SOLDIER_MOVES[s], from, to))
+						set(SOLDIER_ATTACKERS[s], to, from);
+				}
+			}
+		}
+	}
+
+	// The pieces of each type for each side, indexed by side * PieceType.COUNT + type
+	private final long[] pieceBoards = new long[2 * SIDES * PieceType.COUNT];
+
+	// The pieces of each side
+	private final long[] sideBoards = new long[2 * SIDES];
+
+	// All pieces on the board
+	private final long[] occupied = new long[2];
+
+	// The columns that hold a piece on each row, and the rows that hold a piece on each column
+	private final int[] rowPieces = new int[ROWS];
+	private final int[] columnPieces = new int[COLUMNS];
+
+	// The number of pieces on the board that are not Xiangqi pieces
+	private int unmodelledPieces;
+
+	/**
+	 * Records that the piece was placed on the specified row and column
+	 * @param piece		the piece placed on the board
+	 * @param row		the row the piece was placed on
+	 * @param column	the column the piece was placed on
+	 */
+	@Override
+	public void addPiece(ChessPiece piece, int row, int column) {
+		int square = row * COLUMNS + column;
+		set(pieceBoards, piece.getSide().ordinal() * PieceType.COUNT + piece.getType().ordinal(), square);
+		set(sideBoards, piece.getSide().ordinal(), square);
+		set(occupied, 0, square);
+		rowPieces[row] |= 1 << column;
+		columnPieces[column] |= 1 << row;
+		if (!isXiangqiPiece(piece.getType()))
+			unmodelledPieces++;
+	}
+
+	/**
+	 * Records that the piece was removed from the specified row and column
+	 * @param piece		the piece removed from the board
+	 * @param row		the row the piece was removed from
+	 * @param column	the column the piece was removed from
+	 */
+	@Override
+	public void removePiece(ChessPiece piece, int row, int column) {
+		int square = row * COLUMNS + column;
+		clear(pieceBoards, piece.getSide().ordinal() * PieceType.COUNT + piece.getType().ordinal(), square);
+		clear(sideBoards, piece.getSide().ordinal(), square);
+		clear(occupied, 0, square);
+		rowPieces[row] &= ~(1 << column);
+		columnPieces[column] &= ~(1 << row);
+		if (!isXiangqiPiece(piece.getType()))
+			unmodelledPieces--;
+	}
+
+	/**
+	 * Returns the number of pieces strictly between two squares on the same row, column or diagonal
+	 * @param fromRow		the row of the first square
+	 * @param fromColumn	the column of the first square
+	 * @param toRow			the row of the second square
+	 * @param toColumn		the column of the second square
+	 * @return the number of pieces between the two squares (0 if they do not share a line)
+	 */
+	@Override
+	public int piecesBetween(int fromRow, int fromColumn, int toRow, int toColumn) {
+		int index = (fromRow * COLUMNS + fromColumn) * SQUARES + toRow * COLUMNS + toColumn;
+		return Long.bitCount(BETWEEN[2 * index] & occupied[0]) + Long.bitCount(BETWEEN[2 * index + 1] & occupied[1]);
+	}
+
+	/**
+	 * Returns the number of pieces on this column, from the start row to the end row, inclusive
+	 * @param column		the column to search on
+	 * @param startRow		the row to start searching on
+	 * @param endRow		the row to end searching on
+	 * @return the number of pieces found on this column between the start and end rows
+	 */
+	@Override
+	public int piecesInColumn(int column, int startRow, int endRow) {
+		if (startRow > endRow)
+			return 0;
+
+		// The pieces between the squares just outside the range, plus the pieces at the ends of the range
+		int pieces = has(occupied, 0, startRow * COLUMNS + column) ? 1 : 0;
+		if (endRow != startRow) {
+			pieces += has(occupied, 0, endRow * COLUMNS + column) ? 1 : 0;
+			pieces += piecesBetween(startRow, column, endRow, column);
+		}
+		return pieces;
+	}
+
+	/**
+	 * Returns true if every piece on the board is a Xiangqi piece
+	 * @return true if isAttacked() can be used for this position
+	 */
+	@Override
+	public boolean canComputeAttacks() {
+		return unmodelledPieces == 0;
+	}
+
+	/**
+	 * Returns true if a piece that does not belong to the given side can capture on the specified square
+	 * @param row		the row of the square
+	 * @param column	the column of the square
+	 * @param side		the side whose piece would be captured
+	 * @return true if an opponent of the given side attacks the square
+	 */
+	@Override
+	public boolean isAttacked(int row, int column, ChessGame.Side side) {
+		int square = row * COLUMNS + column;
+		for (ChessGame.Side attacker : ChessGame.Side.values()) {
+			if (attacker != side && (sideBoards[2 * attacker.ordinal()] | sideBoards[2 * attacker.ordinal() + 1]) != 0
+					&& isAttackedBy(square, attacker))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Fills the set with the pieces that do not belong to the given side and can capture on the specified square
+	 * @param row		the row of the square
+	 * @param column	the column of the square
+	 * @param side		the side whose piece would be captured
+	 * @param attackers	the set to fill with the squares of the attackers
+	 */
+	@Override
+	public void attackersTo(int row, int column, ChessGame.Side side, SquareSet attackers) {
+		attackers.clear();
+		int square = row * COLUMNS + column;
+		for (ChessGame.Side attacker : ChessGame.Side.values()) {
+			int a = attacker.ordinal();
+			if (attacker == side || (sideBoards[2 * a] | sideBoards[2 * a + 1]) == 0)
+				continue;
+
+			// The king, guard and soldier attack from fixed squares
+			addCommon(attackers, KING_ATTACKERS[a], square, pieceBoards, a * PieceType.COUNT + PieceType.XIANGQI_KING.ordinal());
+			addCommon(attackers, GUARD_ATTACKERS[a], square, pieceBoards, a * PieceType.COUNT + PieceType.GUARD.ordinal());
+			addCommon(attackers, SOLDIER_ATTACKERS[a], square, pieceBoards, a * PieceType.COUNT + PieceType.SOLDIER.ordinal());
+
+			// The horse attacks when its leg is free, and the elephant on its own side of the river when its eye is free
+			int horses = a * PieceType.COUNT + PieceType.HORSE.ordinal();
+			for (int from : HORSE_SQUARES[square]) {
+				if (has(pieceBoards, horses, from) && !has(occupied, 0, HORSE_LEGS[from * SQUARES + square]))
+					attackers.add(from);
+			}
+			int elephants = a * PieceType.COUNT + PieceType.ELEPHANT.ordinal();
+			for (int from : ELEPHANT_SQUARES[square]) {
+				if (has(pieceBoards, elephants, from) && has(ELEPHANT_MOVES[a], from, square)
+						&& !has(occupied, 0, ELEPHANT_EYES[from * SQUARES + square]))
+					attackers.add(from);
+			}
+
+			// The rook attacks from the first piece along a line, and the cannon from the second
+			int rooks = a * PieceType.COUNT + PieceType.ROOK.ordinal();
+			int cannons = a * PieceType.COUNT + PieceType.CANNON.ordinal();
+			addInRow(attackers, pieceBoards, rooks, row, ROW_FIRST_PIECES[column][rowPieces[row]]);
+			addInColumn(attackers, pieceBoards, rooks, column, COLUMN_FIRST_PIECES[row][columnPieces[column]]);
+			addInRow(attackers, pieceBoards, cannons, row, ROW_SECOND_PIECES[column][rowPieces[row]]);
+			addInColumn(attackers, pieceBoards, cannons, column, COLUMN_SECOND_PIECES[row][columnPieces[column]]);
+		}
+	}
+
+	/**
+	 * Returns true if a piece of the attacking side can capture on the square
+	 * @param square	the square attacked
+	 * @param attacker	the side attacking
+	 * @return true if the attacking side attacks the square
+	 */
+	private boolean isAttackedBy(int square, ChessGame.Side attacker) {
+		int a = attacker.ordinal();
+
+		// The king, guard and soldier attack from fixed squares
+		if (intersects(KING_ATTACKERS[a], square, pieceBoards, a * PieceType.COUNT + PieceType.XIANGQI_KING.ordinal())
+				|| intersects(GUARD_ATTACKERS[a], square, pieceBoards, a * PieceType.COUNT + PieceType.GUARD.ordinal())
+				|| intersects(SOLDIER_ATTACKERS[a], square, pieceBoards, a * PieceType.COUNT + PieceType.SOLDIER.ordinal()))
+			return true;
+
+		// The horse attacks when its leg is free
+		int horses = a * PieceType.COUNT + PieceType.HORSE.ordinal();
+		for (int from : HORSE_SQUARES[square]) {
+			if (has(pieceBoards, horses, from) && !has(occupied, 0, HORSE_LEGS[from * SQUARES + square]))
+				return true;
+		}
+
+		// The elephant attacks on its own side of the river when its eye is free
+		int elephants = a * PieceType.COUNT + PieceType.ELEPHANT.ordinal();
+		for (int from : ELEPHANT_SQUARES[square]) {
+			if (has(pieceBoards, elephants, from) && has(ELEPHANT_MOVES[a], from, square)
+					&& !has(occupied, 0, ELEPHANT_EYES[from * SQUARES + square]))
+				return true;
+		}
+
+		// The rook attacks from the first piece along a line, and the cannon from the second
+		int row = square / COLUMNS;
+		int column = square % COLUMNS;
+		int rooks = a * PieceType.COUNT + PieceType.ROOK.ordinal();
+		int cannons = a * PieceType.COUNT + PieceType.CANNON.ordinal();
+		return anyInRow(pieceBoards, rooks, row, ROW_FIRST_PIECES[column][rowPieces[row]])
+				|| anyInColumn(pieceBoards, rooks, column, COLUMN_FIRST_PIECES[row][columnPieces[column]])
+				|| anyInRow(pieceBoards, cannons, row, ROW_SECOND_PIECES[column][rowPieces[row]])
+				|| anyInColumn(pieceBoards, cannons, column, COLUMN_SECOND_PIECES[row][columnPieces[column]]);
+	}
+
+	/**
+	 * Returns true if a rook or cannon of another side (or another king, along the column) would attack the square
+	 * along its row or column once a piece has moved: with the square it leaves emptied and the square it moves to filled
+	 * (a piece captured there no longer attacks). Only the lines through the square are looked at
+	 * @param side		the side whose piece is on the square
+	 * @param square	the square attacked
+	 * @param from		the square the move leaves
+	 * @param to		the square the move fills
+	 * @return true if the square is attacked along its row or column after the move
+	 */
+	public boolean isLineAttackedAfterMove(ChessGame.Side side, int square, int from, int to) {
+		int row = square / COLUMNS;
+		int column = square % COLUMNS;
+		int toRowBit = to / COLUMNS == row ? 1 << to % COLUMNS : 0;
+		int toColumnBit = to % COLUMNS == column ? 1 << to / COLUMNS : 0;
+
+		//The pieces on the lines after the move
+		int rowOccupancy = rowPieces[row] | toRowBit;
+		int columnOccupancy = columnPieces[column] | toColumnBit;
+		if (from / COLUMNS == row)
+			rowOccupancy &= ~(1 << from % COLUMNS);
+		if (from % COLUMNS == column)
+			columnOccupancy &= ~(1 << from / COLUMNS);
+
+		//The first and second pieces in each direction, apart from the moved piece
+		int rowFirsts = ROW_FIRST_PIECES[column][rowOccupancy] & ~toRowBit;
+		int columnFirsts = COLUMN_FIRST_PIECES[row][columnOccupancy] & ~toColumnBit;
+		int rowSeconds = ROW_SECOND_PIECES[column][rowOccupancy] & ~toRowBit;
+		int columnSeconds = COLUMN_SECOND_PIECES[row][columnOccupancy] & ~toColumnBit;
+		for (ChessGame.Side attacker : ChessGame.Side.values()) {
+			int a = attacker.ordinal();
+			if (attacker == side || (sideBoards[2 * a] | sideBoards[2 * a + 1]) == 0)
+				continue;
+			int rooks = a * PieceType.COUNT + PieceType.ROOK.ordinal();
+			int cannons = a * PieceType.COUNT + PieceType.CANNON.ordinal();
+			if (anyInRow(pieceBoards, rooks, row, rowFirsts) || anyInColumn(pieceBoards, rooks, column, columnFirsts)
+					|| anyInColumn(pieceBoards, a * PieceType.COUNT + PieceType.XIANGQI_KING.ordinal(), column, columnFirsts)
+					|| anyInRow(pieceBoards, cannons, row, rowSeconds) || anyInColumn(pieceBoards, cannons, column, columnSeconds))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the cannon of the side can legally move between the squares:
+	 * sliding along a row or column onto an empty square, or capturing the piece behind exactly one screen
+	 * @param side			the side the cannon belongs to
+	 * @param fromRow		the row the cannon is on
+	 * @param fromColumn	the column the cannon is on
+	 * @param toRow			the row the cannon moves to
+	 * @param toColumn		the column the cannon moves to
+	 * @return true if this is a legal cannon move
+	 */
+	public boolean isLegalCannonMove(ChessGame.Side side, int fromRow, int fromColumn, int toRow, int toColumn) {
+		int to = toRow * COLUMNS + toColumn;
+
+		//A cannon captures the piece behind the screen, as long as it belongs to another side
+		if (has(occupied, 0, to)) {
+			if (has(sideBoards, side.ordinal(), to))
+				return false;
+			if (fromRow == toRow)
+				return (cannonRowCaptures(fromRow, fromColumn) & 1 << toColumn) != 0;
+			return fromColumn == toColumn && (cannonColumnCaptures(fromRow, fromColumn) & 1 << toRow) != 0;
+		}
+
+		//Otherwise it slides like a rook
+		if (fromRow == toRow)
+			return (rowSlides(fromRow, fromColumn) & 1 << toColumn) != 0;
+		return fromColumn == toColumn && (columnSlides(fromRow, fromColumn) & 1 << toRow) != 0;
+	}
+
+	/**
+	 * Returns the empty squares a rook or cannon on the square can slide to along its row
+	 * @param row		the row of the piece
+	 * @param column	the column of the piece
+	 * @return a mask of the columns (bit column) it can slide to
+	 */
+	public int rowSlides(int row, int column) {
+		return ROW_SLIDES[column][rowPieces[row]];
+	}
+
+	/**
+	 * Returns the empty squares a rook or cannon on the square can slide to along its column
+	 * @param row		the row of the piece
+	 * @param column	the column of the piece
+	 * @return a mask of the rows (bit row) it can slide to
+	 */
+	public int columnSlides(int row, int column) {
+		return COLUMN_SLIDES[row][columnPieces[column]];
+	}
+
+	/**
+	 * Returns the first piece in each direction along the row of the square (the pieces a rook could capture)
+	 * @param row		the row of the piece
+	 * @param column	the column of the piece
+	 * @return a mask of the columns (bit column) of the first pieces
+	 */
+	public int rookRowCaptures(int row, int column) {
+		return ROW_FIRST_PIECES[column][rowPieces[row]];
+	}
+
+	/**
+	 * Returns the first piece in each direction along the column of the square (the pieces a rook could capture)
+	 * @param row		the row of the piece
+	 * @param column	the column of the piece
+	 * @return a mask of the rows (bit row) of the first pieces
+	 */
+	public int rookColumnCaptures(int row, int column) {
+		return COLUMN_FIRST_PIECES[row][columnPieces[column]];
+	}
+
+	/**
+	 * Returns the piece behind the first piece (the screen) in each direction along the row of the square
+	 * (the pieces a cannon could capture)
+	 * @param row		the row of the cannon
+	 * @param column	the column of the cannon
+	 * @return a mask of the columns (bit column) of the pieces behind the screens
+	 */
+	public int cannonRowCaptures(int row, int column) {
+		return ROW_SECOND_PIECES[column][rowPieces[row]];
+	}
+
+	/**
+	 * Returns the piece behind the first piece (the screen) in each direction along the column of the square
+	 * (the pieces a cannon could capture)
+	 * @param row		the row of the cannon
+	 * @param column	the column of the cannon
+	 * @return a mask of the rows (bit row) of the pieces behind the screens
+	 */
+	public int cannonColumnCaptures(int row, int column) {
+		return COLUMN_SECOND_PIECES[row][columnPieces[column]];
+	}
+
+	/**
+	 * Returns true if the king of the side can legally move between the squares
+	 * @param side			the side the king belongs to
+	 * @param fromRow		the row the king is on
+	 * @param fromColumn	the column the king is on
+	 * @param toRow			the row the king moves to
+	 * @param toColumn		the column the king moves to
+	 * @return true if the king can move to the square
+	 */
+	public boolean isLegalKingMove(ChessGame.Side side, int fromRow, int fromColumn, int toRow, int toColumn) {
+		return isLegalStep(KING_MOVES, side, fromRow * COLUMNS + fromColumn, toRow * COLUMNS + toColumn);
+	}
+
+	/**
+	 * Returns true if the guard of the side can legally move between the squares
+	 * @param side			the side the guard belongs to
+	 * @param fromRow		the row the guard is on
+	 * @param fromColumn	the column the guard is on
+	 * @param toRow			the row the guard moves to
+	 * @param toColumn		the column the guard moves to
+	 * @return true if the guard can move to the square
+	 */
+	public boolean isLegalGuardMove(ChessGame.Side side, int fromRow, int fromColumn, int toRow, int toColumn) {
+		return isLegalStep(GUARD_MOVES, side, fromRow * COLUMNS + fromColumn, toRow * COLUMNS + toColumn);
+	}
+
+	/**
+	 * Returns true if the soldier of the side can legally move between the squares
+	 * @param side			the side the soldier belongs to
+	 * @param fromRow		the row the soldier is on
+	 * @param fromColumn	the column the soldier is on
+	 * @param toRow			the row the soldier moves to
+	 * @param toColumn		the column the soldier moves to
+	 * @return true if the soldier can move to the square
+	 */
+	public boolean isLegalSoldierMove(ChessGame.Side side, int fromRow, int fromColumn, int toRow, int toColumn) {
+		return isLegalStep(SOLDIER_MOVES, side, fromRow * COLUMNS + fromColumn, toRow * COLUMNS + toColumn);
+	}
+
+	/**
+	 * Returns true if the elephant of the side can legally move between the squares
+	 * @param side			the side the elephant belongs to
+	 * @param fromRow		the row the elephant is on
+	 * @param fromColumn	the column the elephant is on
+	 * @param toRow			the row the elephant moves to
+	 * @param toColumn		the column the elephant moves to
+	 * @return true if the elephant can move to the square
+	 */
+	public boolean isLegalElephantMove(ChessGame.Side side, int fromRow, int fromColumn, int toRow, int toColumn) {
+		int from = fromRow * COLUMNS + fromColumn;
+		int to = toRow * COLUMNS + toColumn;
+		return isLegalStep(ELEPHANT_MOVES, side, from, to) && !has(occupied, 0, ELEPHANT_EYES[from * SQUARES + to]);
+	}
+
+	/**
+	 * Returns true if the move is one of the precomputed steps, and it does not land on a piece of the same side
+	 */
+	private boolean isLegalStep(long[][] moves, ChessGame.Side side, int from, int to) {
+		return has(moves[side.ordinal()], from, to) && !has(sideBoards, side.ordinal(), to);
+	}
+
+	/**
+	 * Returns the square that blocks a horse moving between the squares
+	 * @param from		the square the horse is on
+	 * @param to		the square the horse moves to
+	 * @return the horse leg square, or -1 if this is not a horse move
+	 */
+	public static int horseLeg(int from, int to) {
+		return HORSE_LEGS[from * SQUARES + to];
+	}
+
+	/**
+	 * Returns the square that blocks an elephant moving between the squares
+	 * @param from		the square the elephant is on
+	 * @param to		the square the elephant moves to
+	 * @return the elephant eye square, or -1 if the squares are not two diagonal steps apart
+	 */
+	public static int elephantEye(int from, int to) {
+		return ELEPHANT_EYES[from * SQUARES + to];
+	}
+
+	/**
+	 * Returns true if the square at the row and column is in the palace of the side
+	 * @param side		the side of the palace
+	 * @param row		the row of the square
+	 * @param column	the column of the square
+	 * @return true if the square is in the palace
+	 */
+	public static boolean palaceContains(ChessGame.Side side, int row, int column) {
+		return has(PALACE, side.ordinal(), row * COLUMNS + column);
+	}
+
+	/**
+	 * Returns true if the square at the row and column is on the side's half of the river
+	 * @param side		the side of the river
+	 * @param row		the row of the square
+	 * @param column	the column of the square
+	 * @return true if the square is on the side's half of the board
+	 */
+	public static boolean ownHalfContains(ChessGame.Side side, int row, int column) {
+		return has(OWN_HALF, side.ordinal(), row * COLUMNS + column);
+	}
+
+	/**
+	 * Fills the lookups for every position on a line and every set of pieces on the line
+	 * @param length			the number of squares on the line
+	 * @param slides			filled with the empty squares reached before the first piece in each direction
+	 * @param firstPieces		filled with the first piece in each direction
+	 * @param secondPieces		filled with the piece behind the first piece in each direction
+	 */
+	private static void fillLineLookups(int length, short[][] slides, short[][] firstPieces, short[][] secondPieces) {
+		for (int position = 0; position < length; position++) {
+			for (int pieces = 0; pieces < 1 << length; pieces++) {
+				for (int step = -1; step <= 1; step += 2) {
+					int piecesPassed = 0;
+					for (int i = position + step; i >= 0 && i < length && piecesPassed < 2; i += step) {
+						if ((pieces & 1 << i) == 0) {
+							if (piecesPassed == 0)
+								slides[position][pieces] |= 1 << i;
+						} else if (piecesPassed++ == 0) {
+							firstPieces[position][pieces] |= 1 << i;
+						} else {
+							secondPieces[position][pieces] |= 1 << i;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the mask at the index holds any of the columns of the row
+	 */
+	private static boolean anyInRow(long[] masks, int index, int row, int columns) {
+		int shift = row * COLUMNS;
+
+		//The row's nine bits, which may be split between the two longs
+		long bits;
+		if (shift >= 64)
+			bits = masks[2 * index + 1] >>> (shift - 64);
+		else if (shift + COLUMNS > 64)
+			bits = masks[2 * index] >>> shift | masks[2 * index + 1] << (64 - shift);
+		else
+			bits = masks[2 * index] >>> shift;
+		return ((int) bits & columns) != 0;
+	}
+
+	/**
+	 * Returns true if the mask at the index holds any of the rows of the column
+	 */
+	private static boolean anyInColumn(long[] masks, int index, int column, int rows) {
+		for (; rows != 0; rows &= rows - 1) {
+			if (has(masks, index, Integer.numberOfTrailingZeros(rows) * COLUMNS + column))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the squares two masks share to the set
+	 */
+	private static void addCommon(SquareSet set, long[] masks, int index, long[] otherMasks, int otherIndex) {
+		set.addAll(masks[2 * index] & otherMasks[2 * otherIndex], masks[2 * index + 1] & otherMasks[2 * otherIndex + 1]);
+	}
+
+	/**
+	 * Adds the columns of the row that the mask at the index holds to the set
+	 */
+	private static void addInRow(SquareSet set, long[] masks, int index, int row, int columns) {
+		for (; columns != 0; columns &= columns - 1) {
+			if (has(masks, index, row * COLUMNS + Integer.numberOfTrailingZeros(columns)))
+				set.add(row * COLUMNS + Integer.numberOfTrailingZeros(columns));
+		}
+	}
+
+	/**
+	 * Adds the rows of the column that the mask at the index holds to the set
+	 */
+	private static void addInColumn(SquareSet set, long[] masks, int index, int column, int rows) {
+		for (; rows != 0; rows &= rows - 1) {
+			if (has(masks, index, Integer.numberOfTrailingZeros(rows) * COLUMNS + column))
+				set.add(Integer.numberOfTrailingZeros(rows) * COLUMNS + column);
+		}
+	}
+
+	/**
+	 * Returns true if the mask at the index holds the square
+	 * @param masks		the masks, two longs each
+	 * @param index		the mask to look at
+	 * @param square	the square to look for
+	 * @return true if the square is in the mask
+	 */
+	public static boolean has(long[] masks, int index, int square) {
+		return square < 64 ? (masks[2 * index] & (1L << square)) != 0 : (masks[2 * index + 1] & (1L << (square - 64))) != 0;
+	}
+
+	/**
+	 * Adds the square to the mask at the index
+	 */
+	private static void set(long[] masks, int index, int square) {
+		if (square < 64)
+			masks[2 * index] |= 1L << square;
+		else
+			masks[2 * index + 1] |= 1L << (square - 64);
+	}
+
+	/**
+	 * Removes the square from the mask at the index
+	 */
+	private static void clear(long[] masks, int index, int square) {
+		if (square < 64)
+			masks[2 * index] &= ~(1L << square);
+		else
+			masks[2 * index + 1] &= ~(1L << (square - 64));
+	}
+
+	/**
+	 * Returns true if the two masks share a square
+	 */
+	private static boolean intersects(long[] masks, int index, long[] otherMasks, int otherIndex) {
+		return (masks[2 * index] & otherMasks[2 * otherIndex]) != 0 || (masks[2 * index + 1] & otherMasks[2 * otherIndex + 1]) != 0;
+	}
+
+	/**
+	 * Returns true if the piece type is played in Xiangqi
+	 */
+	private static boolean isXiangqiPiece(PieceType type) {
+		return type == PieceType.ROOK || type.ordinal() >= PieceType.CANNON.ordinal();
+	}
+
+	/**
+	 * Returns true if the row and column are in the palace of the side (the center three columns of the side's first three rows)
+	 */
+	private static boolean isInPalace(ChessGame.Side side, int row, int column) {
+		int rowStart = side == ChessGame.Side.NORTH ? 0 : ROWS - 3;
+		return row >= rowStart && row <= rowStart + 2 && column >= COLUMNS / 2 - 1 && column <= COLUMNS / 2 + 1;
+	}
+
+	/**
+	 * Returns true if the row is on the side's half of the river
+	 */
+	private static boolean isOnOwnHalf(ChessGame.Side side, int row) {
+		return side == ChessGame.Side.NORTH ? row < ROWS / 2 : row >= ROWS / 2;
+	}
+
+	/**
+	 * Returns true if a soldier of the side on the row has crossed the river
+	 */
+	private static boolean hasCrossedRiver(ChessGame.Side side, int row) {
+		return side == ChessGame.Side.SOUTH ? row < ROWS / 2 : row >= ROWS / 2;
+	}
+
+	/**
+	 * Returns true if the row and column are on the board
+	 */
+	private static boolean onBoard(int row, int column) {
+		return row >= 0 && row < ROWS && column >= 0 && column < COLUMNS;
+	}
+}
@@ -1,6 +1,8 @@
 package chess;
+import europeanpieces.PawnPiece;
 import graphics.ChessBoard;
 import piecetypes.ChessPiece;
+import piecetypes.PieceType;
 
 /**
  * Rules for how a version of chess should be played
@@ -63,6 +65,7 @@ public interface ChessGame {
 
 	/**
 	 * Moves the piece to the specified row and column, if this is a legal move
+	 * A move that leaves the mover's own king in check is not legal
 	 * @param piece    the piece to move
 	 * @param toRow    the row to move to
 	 * @param toColumn the column to move to
@@ -70,32 +73,191 @@ public interface ChessGame {
 	 */
 	public default boolean makeMove(ChessPiece piece, int toRow, int toColumn) {
 
+		// If this is a legal move for the piece, either the landing square is empty or
+		// it contains an opponent piece, and the mover's king is not left in check
+		if (legalPieceToPlay(piece, toRow, toColumn) && piece.isLegalMove(toRow, toColumn)
+				&& LegalMoveGenerator.isLegal(piece.getChessBoard(),
+						Move.encode(piece.getRow() * getNumColumns() + piece.getColumn(), toRow * getNumColumns() + toColumn))) {
+
+			// Move the piece, remembering how to take the move back
+			doMove(piece, toRow, toColumn);
+
+			// The move was made
+			return true;
+		}
+
+		// Else, this move must have been illegal
+		return false;
+	}
+	
+	/**
+	 * Fills the list with the pseudo-legal moves of the side to play: every move the pieces' rules allow,
+	 * without checking whether the move leaves the side's own king in danger
+	 * @param board	the board the game is played on
+	 * @param moves	the list to fill (anything already in it is removed)
+	 */
+	public default void generateMoves(ChessBoard board, MoveList moves) {
+		moves.clear();
+		MoveGenerator.generateMoves(board, getCurrentTurn(), moves);
+	}
+	
+	/**
+	 * Fills the list with the legal moves of the side to play: the pseudo-legal moves that do not leave
+	 * the side's own king in check
+	 * @param board	the board the game is played on
+	 * @param moves	the list to fill (anything already in it is removed)
+	 */
+	public default void generateLegalMoves(ChessBoard board, MoveList moves) {
+		moves.clear();
+		LegalMoveGenerator.generateLegalMoves(board, getCurrentTurn(), moves);
+	}
+	
+	/**
+	 * Returns true if a piece of another side can capture the side's king
+	 * @param board	the board the game is played on
+	 * @param side	the side whose king may be in check
+	 * @return true if the side's king is in check (false if the side does not have exactly one king)
+	 */
+	public default boolean isInCheck(ChessBoard board, ChessGame.Side side) {
+		int king = board.getKingSquare(side);
+		return king != -1 && board.squareThreated(king / getNumColumns(), king % getNumColumns(), board.getPiece(king));
+	}
+
+	/**
+	 * Returns true if the side to play has a legal move. The search stops at the first legal move it finds
+	 * @param board	the board the game is played on
+	 * @param moves	a list to work in (anything already in it is removed)
+	 * @return true if the side to play can move
+	 */
+	public default boolean hasLegalMove(ChessBoard board, MoveList moves) {
+		return LegalMoveGenerator.hasLegalMove(board, getCurrentTurn(), moves);
+	}
+	
+	/**
+	 * Returns where the game stands for the side to play: whether it is in check, and whether it has a legal move.
+	 * Only the first legal move is looked for, so a game that goes on costs one check test and a few move tests
+	 * @param board	the board the game is played on
+	 * @param moves	a list to work in (anything already in it is removed)
+	 * @return the status of the game
+	 */
+	public default GameStatus getStatus(ChessBoard board, MoveList moves) {
+		boolean inCheck = isInCheck(board, getCurrentTurn());
+		if (hasLegalMove(board, moves))
+			return inCheck ? GameStatus.CHECK : GameStatus.PLAYING;
+		return inCheck ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+	}
+	
+	/**
+	 * Returns true if a side with no legal move, but not in check, loses the game (it is a draw by default)
+	 * @return true if stalemate is a loss
+	 */
+	public default boolean stalemateIsLoss() {
+		return false;
+	}
+	
+	/**
+	 * Returns the side that has won a game with the given status, which is the side that is not to play
+	 * @param status	the status of the game (see getStatus)
+	 * @return the winning side, or null if the game is not over or is a draw
+	 */
+	public default ChessGame.Side getWinner(GameStatus status) {
+		if (status == GameStatus.CHECKMATE || (status == GameStatus.STALEMATE && stalemateIsLoss()))
+			return ChessGame.toggleTurn(getCurrentTurn());
+		return null;
+	}
+
+	/**
+	 * Moves the piece to the specified row and column without checking that the move is legal,
+	 * and pushes what is needed to take the move back onto the board's undo stack
+	 * @param piece    the piece to move
+	 * @param toRow    the row to move to
+	 * @param toColumn the column to move to
+	 */
+	public default void doMove(ChessPiece piece, int toRow, int toColumn) {
+
 		// The chess board this piece is on
 		ChessBoard board = piece.getChessBoard();
 
-		// If this is a legal move for the piece, either the landing square is empty or
-		// it contains an opponent piece
-		if (legalPieceToPlay(piece, toRow, toColumn) && piece.isLegalMove(toRow, toColumn)) {
+		// Remember everything the move is about to change
+		MoveUndo undo = board.getUndoStack().push();
+		undo.movedPiece = piece;
+		undo.fromRow = piece.getRow();
+		undo.fromColumn = piece.getColumn();
+		undo.toRow = toRow;
+		undo.toColumn = toColumn;
+		undo.capturedPiece = board.getPiece(toRow, toColumn);
+		undo.firstMove = piece.getType() == PieceType.PAWN && ((PawnPiece) piece).isFirstMove();
+		undo.previousTurn = getCurrentTurn();
+
+		// Remove the piece from its current position
+		board.removePiece(piece.getRow(), piece.getColumn());
 
-			// Remove the piece from its current position
-			board.removePiece(piece.getRow(), piece.getColumn());
+		// And put it where it's moving
+		board.addPiece(piece, toRow, toColumn);
+		/* If there was a piece on the landing square, then it is removed from the game*/
 
-			// And put it where it's moving
-			board.addPiece(piece, toRow, toColumn);
-			/* If there was a piece on the landing square, then it is removed from the game*/
+		// Handle post-move processing
+		piece.moveDone();
 
-			// Handle post-move processing
-			piece.moveDone();
+		// Change whose turn it is to play
+		setCurrentTurn(ChessGame.toggleTurn(getCurrentTurn()));
+	}
 
-			// Change whose turn it is to play
-			setCurrentTurn(ChessGame.toggleTurn(getCurrentTurn()));
+	/**
+	 * Makes a packed move (see Move) without checking that it is legal, so that it can be taken back with undoMove
+	 * A pawn reaching the last row is upgraded to the piece named by the move, without asking the user
+	 * @param board	the board to make the move on
+	 * @param move	the packed move, e.g. from generateMoves
+	 */
+	public default void doMove(ChessBoard board, int move) {
+		ChessPiece piece = board.getPiece(Move.from(move) / getNumColumns(), Move.from(move) % getNumColumns());
+		int toRow = Move.to(move) / getNumColumns();
+		int toColumn = Move.to(move) % getNumColumns();
 
-			// The move was made
-			return true;
+		// Moves that do not upgrade a pawn can be made as they are
+		char upgrade = Move.upgradeLabel(move);
+		if (upgrade == 0) {
+			doMove(piece, toRow, toColumn);
+			return;
 		}
 
-		// Else, this move must have been illegal
-		return false;
+		// Otherwise, choose the upgrade for the user just for this move
+		char promotionChoice = board.getStoredPromotionChoice();
+		board.setPromotionChoice(upgrade);
+		doMove(piece, toRow, toColumn);
+		board.setPromotionChoice(promotionChoice);
+	}
+
+	/**
+	 * Takes back the last move made on the board, putting back any captured piece,
+	 * the pawn's first move (and an upgraded pawn) and whose turn it was
+	 * @param board	the board to take the move back on
+	 * @return true if a move was taken back, false if there was no move to take back
+	 */
+	public default boolean undoMove(ChessBoard board) {
+		if (board.getUndoStack().isEmpty())
+			return false;
+		MoveUndo undo = board.getUndoStack().pop();
+
+		// Take the piece off its landing square (this is the new piece if a pawn was upgraded)
+		board.removePiece(undo.toRow, undo.toColumn);
+
+		// Put the moved piece back where it came from
+		board.addPiece(undo.movedPiece, undo.fromRow, undo.fromColumn);
+		if (undo.movedPiece.getType() == PieceType.PAWN)
+			((PawnPiece) undo.movedPiece).setFirstMove(undo.firstMove);
+
+		// And bring back the piece it captured
+		if (undo.capturedPiece != null)
+			board.addPiece(undo.capturedPiece, undo.toRow, undo.toColumn);
+
+		// It is the mover's turn again
+		setCurrentTurn(undo.previousTurn);
+
+		// Let go of the pieces so the record does not keep them alive
+		undo.movedPiece = null;
+		undo.capturedPiece = null;
+		return true;
 	}
 	
 	/**
@@ -0,0 +1,46 @@
+package chess;
+
+/**
+ * Where a game stands for the side to play, as reported by ChessGame.getStatus
+ * @author Phila Dlamini
+ *
+ */
+public enum GameStatus {
+
+	/* The side to play has a legal move and is not in check */
+	PLAYING,
+
+	/* The side to play is in check, but has a legal move */
+	CHECK,
+
+	/* The side to play is in check and has no legal move: the game is lost */
+	CHECKMATE,
+
+	/* The side to play is not in check but has no legal move: a draw in European chess and a loss in Xiangqi */
+	STALEMATE;
+
+	/**
+	 * Returns true if the side to play has no legal move, so the game is over
+	 * @return true for CHECKMATE and STALEMATE
+	 */
+	public boolean isOver() {
+		return this == CHECKMATE || this == STALEMATE;
+	}
+
+	/**
+	 * Returns a short description of the status, such as a GUI can show
+	 * @param game	the game the status is for
+	 * @return the description
+	 */
+	public String describe(ChessGame game) {
+		switch (this) {
+		case PLAYING:
+			return game.getCurrentTurn() + " to play";
+		case CHECK:
+			return game.getCurrentTurn() + " is in check";
+		default:
+			ChessGame.Side winner = game.getWinner(this);
+			return (this == CHECKMATE ? "Checkmate: " : "Stalemate: ") + (winner == null ? "draw" : winner + " wins");
+		}
+	}
+}
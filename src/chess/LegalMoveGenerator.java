@@ -0,0 +1,362 @@
+package chess;
+
+import bitboards.BitboardPosition;
+import bitboards.EuropeanBitboard;
+import bitboards.XiangqiBitboard;
+import graphics.ChessBoard;
+import piecetypes.ChessPiece;
+import piecetypes.PieceType;
+
+/**
+ * Lists and checks legal moves: the pseudo-legal moves of MoveGenerator that do not leave the mover's own king in check.
+ * What can put the king in check is worked out once per position, so most moves are kept or dropped without being made.
+ *
+ * On a European board the bitboards give the pieces checking the king and the pieces pinned to it by a rook, bishop or queen.
+ * In check, a move other than a king move must capture the only checker or block its line, and a pinned piece
+ * may only move along its pin. A king move is kept when no piece attacks its landing square once the king has left its square.
+ *
+ * In Xiangqi, cannons, horse legs and the facing kings make pins harder to describe, but a move can only change the attacks
+ * on the king if it empties or fills a square on the king's row or column, or one of the four squares diagonally next to the king
+ * (the legs of the horse moves onto the king; an elephant never reaches the other side's fortress). When the king is safe,
+ * such a move is checked with the row and column lookups of the bitboards (a rook attacks from the first piece along a line,
+ * a cannon from the second, and the other king from the first piece along the column), and by looking for a horse behind an emptied leg. King moves, and in check the moves on those squares and captures, are tried on the bitboards
+ * alone to see whether they leave the king attacked or facing the other king. Every other move is kept when the king is safe,
+ * and dropped when it is in check.
+ *
+ * Boards without bitboards that understand every piece make and take back every move.
+ * A side without exactly one king has no king to keep safe, so all of its pseudo-legal moves are legal
+ * @author Phila Dlamini
+ *
+ */
+public final class LegalMoveGenerator {
+
+	/**
+	 * There are no LegalMoveGenerator objects
+	 */
+	private LegalMoveGenerator() {
+	}
+
+	/**
+	 * Adds the legal moves of every piece of a side to the list
+	 * @param board		the board the pieces are on
+	 * @param side		the side whose moves are listed
+	 * @param moves		the list the moves are added to
+	 */
+	public static void generateLegalMoves(ChessBoard board, ChessGame.Side side, MoveList moves) {
+		addLegalMoves(board, side, moves, false);
+	}
+
+	/**
+	 * Returns true if a side has a legal move. The search stops at the first legal move found,
+	 * and on boards with bitboards the pieces after it are not even asked for their moves
+	 * @param board		the board the pieces are on
+	 * @param side		the side to look at
+	 * @param moves		a list to work in (anything already in it is removed)
+	 * @return true if the side has at least one legal move
+	 */
+	public static boolean hasLegalMove(ChessBoard board, ChessGame.Side side, MoveList moves) {
+		moves.clear();
+		return addLegalMoves(board, side, moves, true);
+	}
+
+	/**
+	 * Adds the legal moves of a side to the list, or only the first one found
+	 * @param board		the board the pieces are on
+	 * @param side		the side whose moves are listed
+	 * @param moves		the list the moves are added to
+	 * @param firstOnly	true to stop at the first legal move
+	 * @return true if a legal move was added
+	 */
+	private static boolean addLegalMoves(ChessBoard board, ChessGame.Side side, MoveList moves, boolean firstOnly) {
+		int start = moves.size();
+		int king = board.getKingSquare(side);
+		BitboardPosition bitboards = board.getBitboards();
+		boolean european = bitboards instanceof EuropeanBitboard && bitboards.canComputeAttacks();
+		boolean xiangqi = bitboards instanceof XiangqiBitboard && bitboards.canComputeAttacks();
+
+		//Without bitboards every move is made and taken back, which reorders the pieces of the side,
+		//so all of the moves are listed before any is tried
+		if (king == -1 || !(european || xiangqi)) {
+			MoveGenerator.generateMoves(board, side, moves);
+			if (king == -1)
+				return moves.size() > start;
+			int kept = start;
+			for (int i = start; i < moves.size() && !(firstOnly && kept > start); i++) {
+				if (leavesKingSafe(board, side, moves.get(i)))
+					moves.set(kept++, moves.get(i));
+			}
+			moves.truncate(kept);
+			return kept > start;
+		}
+
+		//What can check the king, worked out once for the position
+		EuropeanBitboard position = european ? (EuropeanBitboard) bitboards : null;
+		long checkers = 0;
+		long snipers = 0;
+		long pinned = 0;
+		boolean inCheck = false;
+		if (european) {
+			checkers = position.attackersTo(king, position.getOccupied()) & ~position.getSidePieces(side);
+			snipers = snipers(position, side, king);
+			pinned = pinned(position, king, snipers);
+		} else {
+			inCheck = board.getGameRules().isInCheck(board, side);
+		}
+
+		//List the moves piece by piece, keeping the legal ones at the front of the new moves
+		int kept = start;
+		for (int piece = 0; piece < board.getPieceCount(side); piece++) {
+			MoveGenerator.generatePieceMoves(board, board.getPiece(board.getPieceSquare(side, piece)), moves);
+			for (int i = kept; i < moves.size(); i++) {
+				int move = moves.get(i);
+				if (european ? isLegalEuropeanMove(position, side, king, checkers, snipers, pinned, move)
+						: isLegalXiangqiMove(board, side, king, inCheck, move))
+					moves.set(kept++, move);
+			}
+			moves.truncate(kept);
+			if (firstOnly && kept > start)
+				return true;
+		}
+		return kept > start;
+	}
+
+	/**
+	 * Returns true if a pseudo-legal move does not leave the mover's own king in check
+	 * @param board		the board the move is made on
+	 * @param move		the packed move (see Move) of a piece on the board
+	 * @return true if the move is legal
+	 */
+	public static boolean isLegal(ChessBoard board, int move) {
+		ChessGame.Side side = board.getPiece(Move.from(move)).getSide();
+		int king = board.getKingSquare(side);
+		if (king == -1)
+			return true;
+
+		BitboardPosition bitboards = board.getBitboards();
+		if (bitboards instanceof EuropeanBitboard && bitboards.canComputeAttacks()) {
+			EuropeanBitboard position = (EuropeanBitboard) bitboards;
+			long checkers = position.attackersTo(king, position.getOccupied()) & ~position.getSidePieces(side);
+			long snipers = snipers(position, side, king);
+			return isLegalEuropeanMove(position, side, king, checkers, snipers, pinned(position, king, snipers), move);
+		}
+		if (bitboards instanceof XiangqiBitboard && bitboards.canComputeAttacks())
+			return isLegalXiangqiMove(board, side, king, board.getGameRules().isInCheck(board, side), move);
+		return leavesKingSafe(board, side, move);
+	}
+
+	/**
+	 * Returns true if a move on a European board does not leave the king in check
+	 * @param position	the bitboards of the board
+	 * @param side		the side making the move
+	 * @param king		the square of the side's king
+	 * @param checkers	the pieces checking the king
+	 * @param snipers	the rooks, bishops and queens that would attack the king if the side's own pieces were not in the way
+	 * @param pinned	the pieces of the side pinned to the king
+	 * @param move		the packed move
+	 * @return true if the move is legal
+	 */
+	private static boolean isLegalEuropeanMove(EuropeanBitboard position, ChessGame.Side side, int king,
+			long checkers, long snipers, long pinned, int move) {
+		int from = Move.from(move);
+		int to = Move.to(move);
+
+		//The king may not step onto an attacked square (a slider checking it along the line it steps back on still attacks)
+		if (from == king)
+			return (position.attackersTo(to, position.getOccupied() & ~(1L << king)) & ~position.getSidePieces(side)) == 0;
+
+		//Only the king can get out of two checks at once
+		if (Long.bitCount(checkers) > 1)
+			return false;
+
+		//Otherwise the only checker must be captured or blocked, and a pinned piece must stay on its pin
+		long allowed = -1L;
+		if (checkers != 0)
+			allowed = checkers | EuropeanBitboard.between(king, Long.numberOfTrailingZeros(checkers));
+		if ((pinned & 1L << from) != 0)
+			allowed &= pinLine(king, snipers, from);
+		return (allowed & 1L << to) != 0;
+	}
+
+	/**
+	 * Returns the rooks, bishops and queens of the other sides that see the king along a line when only
+	 * the pieces of the other sides block them: each one either checks the king or pins the pieces between them
+	 * @param position	the bitboards of the board
+	 * @param side		the side the king belongs to
+	 * @param king		the square of the king
+	 * @return the squares of the sliders
+	 */
+	private static long snipers(EuropeanBitboard position, ChessGame.Side side, int king) {
+		long straightSliders = 0;
+		long diagonalSliders = 0;
+		for (ChessGame.Side other : ChessGame.Side.values()) {
+			if (other != side) {
+				long queens = position.getPieces(other, PieceType.QUEEN);
+				straightSliders |= position.getPieces(other, PieceType.ROOK) | queens;
+				diagonalSliders |= position.getPieces(other, PieceType.BISHOP) | queens;
+			}
+		}
+		long others = position.getOccupied() & ~position.getSidePieces(side);
+		return (EuropeanBitboard.rookAttacks(king, others) & straightSliders)
+				| (EuropeanBitboard.bishopAttacks(king, others) & diagonalSliders);
+	}
+
+	/**
+	 * Returns the pieces pinned to the king: the only piece between the king and one of the snipers
+	 * @param position	the bitboards of the board
+	 * @param king		the square of the king
+	 * @param snipers	the sliders that see the king through the side's own pieces
+	 * @return the squares of the pinned pieces
+	 */
+	private static long pinned(EuropeanBitboard position, int king, long snipers) {
+		long pinned = 0;
+		for (long rest = snipers; rest != 0; rest &= rest - 1) {
+			long between = EuropeanBitboard.between(king, Long.numberOfTrailingZeros(rest)) & position.getOccupied();
+			if (Long.bitCount(between) == 1)
+				pinned |= between;
+		}
+		return pinned;
+	}
+
+	/**
+	 * Returns the squares a pinned piece may move to: the squares between the king and the piece pinning it, and the pinning piece
+	 * @param king		the square of the king
+	 * @param snipers	the sliders that see the king through the side's own pieces
+	 * @param square	the square of the pinned piece
+	 * @return the squares the piece may move to
+	 */
+	private static long pinLine(int king, long snipers, int square) {
+		for (long rest = snipers; rest != 0; rest &= rest - 1) {
+			int sniper = Long.numberOfTrailingZeros(rest);
+			if ((EuropeanBitboard.between(king, sniper) & 1L << square) != 0)
+				return EuropeanBitboard.between(king, sniper) | 1L << sniper;
+		}
+		return -1L;
+	}
+
+	/**
+	 * Returns true if a move on a Xiangqi board does not leave the king in check
+	 * @param board		the board the move is made on
+	 * @param side		the side making the move
+	 * @param king		the square of the side's king
+	 * @param inCheck	true if the king is in check before the move
+	 * @param move		the packed move
+	 * @return true if the move is legal
+	 */
+	private static boolean isLegalXiangqiMove(ChessBoard board, ChessGame.Side side, int king, boolean inCheck, int move) {
+		int numColumns = board.getGameRules().getNumColumns();
+		int from = Move.from(move);
+		int to = Move.to(move);
+		if (from != king && !inCheck) {
+
+			//Only the attacks along the king's row and column, and of horses whose leg is emptied, can change
+			if ((sharesLine(numColumns, king, from) || sharesLine(numColumns, king, to))
+					&& ((XiangqiBitboard) board.getBitboards()).isLineAttackedAfterMove(side, king, from, to))
+				return false;
+			return !(nearKing(numColumns, king, from) && !sharesLine(numColumns, king, from) && horseBehind(board, side, king, from, to));
+		} else if (from != king && !nearKing(numColumns, king, from) && !nearKing(numColumns, king, to)) {
+
+			//The move does not change the attacks on the king, so it only gets out of check by capturing the checker (a horse)
+			if (board.getPiece(to) == null)
+				return false;
+		}
+
+		//Try the move on the bitboards alone
+		BitboardPosition position = board.getBitboards();
+		ChessPiece piece = board.getPiece(from);
+		ChessPiece captured = board.getPiece(to);
+		position.removePiece(piece, from / numColumns, from % numColumns);
+		if (captured != null)
+			position.removePiece(captured, to / numColumns, to % numColumns);
+		position.addPiece(piece, to / numColumns, to % numColumns);
+
+		int ownKing = from == king ? to : king;
+		boolean safe = !position.isAttacked(ownKing / numColumns, ownKing % numColumns, side);
+
+		//The kings may not face each other on an open column
+		int otherKing = board.getKingSquare(ChessGame.toggleTurn(side));
+		if (safe && otherKing != -1 && otherKing != to && otherKing % numColumns == ownKing % numColumns) {
+			int topRow = Math.min(ownKing, otherKing) / numColumns;
+			int bottomRow = Math.max(ownKing, otherKing) / numColumns;
+			safe = position.piecesInColumn(ownKing % numColumns, topRow + 1, bottomRow - 1) > 0;
+		}
+
+		position.removePiece(piece, to / numColumns, to % numColumns);
+		if (captured != null)
+			position.addPiece(captured, to / numColumns, to % numColumns);
+		position.addPiece(piece, from / numColumns, from % numColumns);
+		return safe;
+	}
+
+	/**
+	 * Returns true if the square is on the king's row or column
+	 * @param numColumns	the number of columns on the board
+	 * @param king			the square of the king
+	 * @param square		the square to look at
+	 * @return true if the square shares a row or column with the king (and is not the king's square)
+	 */
+	private static boolean sharesLine(int numColumns, int king, int square) {
+		return square != king && (square / numColumns == king / numColumns || square % numColumns == king % numColumns);
+	}
+
+	/**
+	 * Returns true if a horse of the other side can jump onto the king once its leg, a square diagonally next to the king, is emptied
+	 * @param board		the board the move is made on
+	 * @param side		the side the king belongs to
+	 * @param king		the square of the king
+	 * @param leg		the square diagonally next to the king that the move leaves
+	 * @param to		the square the move fills (a horse there is captured)
+	 * @return true if a horse attacks the king through the leg
+	 */
+	private static boolean horseBehind(ChessBoard board, ChessGame.Side side, int king, int leg, int to) {
+		int numRows = board.getGameRules().getNumRows();
+		int numColumns = board.getGameRules().getNumColumns();
+		int row = king / numColumns;
+		int column = king % numColumns;
+		int rowStep = leg / numColumns - row;
+		int columnStep = leg % numColumns - column;
+
+		//The two horse squares whose jump onto the king passes the leg
+		for (int i = 0; i < 2; i++) {
+			int horseRow = row + (i == 0 ? 2 * rowStep : rowStep);
+			int horseColumn = column + (i == 0 ? columnStep : 2 * columnStep);
+			if (horseRow < 0 || horseRow >= numRows || horseColumn < 0 || horseColumn >= numColumns || horseRow * numColumns + horseColumn == to)
+				continue;
+			ChessPiece piece = board.getPiece(horseRow, horseColumn);
+			if (piece != null && piece.getSide() != side && piece.getType() == PieceType.HORSE)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the square is on the king's row or column, or diagonally next to the king
+	 * @param numColumns	the number of columns on the board
+	 * @param king			the square of the king
+	 * @param square		the square to look at
+	 * @return true if a piece leaving or entering the square can change the attacks on the king
+	 */
+	private static boolean nearKing(int numColumns, int king, int square) {
+		int rows = Math.abs(square / numColumns - king / numColumns);
+		int columns = Math.abs(square % numColumns - king % numColumns);
+		return rows == 0 || columns == 0 || (rows == 1 && columns == 1);
+	}
+
+	/**
+	 * Makes the move, sees whether the side's king is in check and takes the move back
+	 * @param board		the board the move is made on
+	 * @param side		the side making the move
+	 * @param move		the packed move
+	 * @return true if the king is not in check after the move
+	 */
+	private static boolean leavesKingSafe(ChessBoard board, ChessGame.Side side, int move) {
+		ChessGame game = board.getGameRules();
+
+		//Name an upgrade, so the user is not asked for one while the move is tried
+		if (Move.upgrade(move) == null)
+			move = Move.encode(Move.from(move), Move.to(move), PieceType.QUEEN);
+		game.doMove(board, move);
+		boolean safe = !game.isInCheck(board, side);
+		game.undoMove(board);
+		return safe;
+	}
+}
@@ -0,0 +1,118 @@
+package chess;
+
+import piecetypes.PieceType;
+
+/**
+ * Moves packed into a single int, so lists of moves can be kept in primitive arrays.
+ * Bits 0-6 hold the square moved from, bits 7-13 the square moved to (row * columns + column)
+ * and bits 14-17 the type a pawn is upgraded to plus one (0 if the move is not an upgrade)
+ * @author Phila Dlamini
+ *
+ */
+public final class Move {
+
+	/**
+	 * No move (no piece moves from a square to itself)
+	 */
+	public static final int NONE = 0;
+
+	// The bits that hold a square
+	private static final int SQUARE_MASK = 0x7F;
+
+	// Where the square moved to starts
+	private static final int TO_SHIFT = 7;
+
+	// Where the upgrade type starts
+	private static final int UPGRADE_SHIFT = 14;
+
+	// The types, by ordinal
+	private static final PieceType[] TYPES = PieceType.values();
+
+	/**
+	 * There are no Move objects
+	 */
+	private Move() {
+	}
+
+	/**
+	 * Packs a move
+	 * @param from		the square moved from
+	 * @param to		the square moved to
+	 * @return the packed move
+	 */
+	public static int encode(int from, int to) {
+		return from | to << TO_SHIFT;
+	}
+
+	/**
+	 * Packs a move that upgrades a pawn
+	 * @param from		the square moved from
+	 * @param to		the square moved to
+	 * @param upgrade	the type the pawn is upgraded to
+	 * @return the packed move
+	 */
+	public static int encode(int from, int to, PieceType upgrade) {
+		return from | to << TO_SHIFT | (upgrade.ordinal() + 1) << UPGRADE_SHIFT;
+	}
+
+	/**
+	 * Returns the square a move is made from
+	 * @param move	the packed move
+	 * @return the square the move is made from
+	 */
+	public static int from(int move) {
+		return move & SQUARE_MASK;
+	}
+
+	/**
+	 * Returns the square a move is made to
+	 * @param move	the packed move
+	 * @return the square the move is made to
+	 */
+	public static int to(int move) {
+		return move >>> TO_SHIFT & SQUARE_MASK;
+	}
+
+	/**
+	 * Returns the type a pawn is upgraded to by the move
+	 * @param move	the packed move
+	 * @return the type the pawn is upgraded to, or null if the move is not an upgrade
+	 */
+	public static PieceType upgrade(int move) {
+		int upgrade = move >>> UPGRADE_SHIFT;
+		return upgrade == 0 ? null : TYPES[upgrade - 1];
+	}
+
+	/**
+	 * Returns the label of the piece a pawn is upgraded to by the move
+	 * @param move	the packed move
+	 * @return the label of the piece the pawn is upgraded to ('Q', 'R', 'B' or 'N'), or 0 if the move is not an upgrade
+	 */
+	public static char upgradeLabel(int move) {
+		PieceType upgrade = upgrade(move);
+		if (upgrade == null)
+			return 0;
+		return upgrade == PieceType.KNIGHT ? 'N' : upgrade.name().charAt(0);
+	}
+
+	/**
+	 * Returns a move as text, with columns as letters and rows counted from the bottom of the board (e.g. "e2e4")
+	 * @param move			the packed move
+	 * @param numRows		the number of rows on the board
+	 * @param numColumns	the number of columns on the board
+	 * @return the move as text
+	 */
+	public static String toString(int move, int numRows, int numColumns) {
+		String text = squareName(from(move), numRows, numColumns) + squareName(to(move), numRows, numColumns);
+		if (upgrade(move) != null)
+			text += Character.toLowerCase(upgradeLabel(move));
+		return text;
+	}
+
+	/**
+	 * Returns the name of a square
+	 */
+	private static String squareName(int square, int numRows, int numColumns) {
+		return (char) ('a' + square % numColumns) + Integer.toString(numRows - square / numColumns);
+	}
+}
@@ -0,0 +1,321 @@
+package chess;
+
+import bitboards.AttackTables;
+import bitboards.EuropeanBitboard;
+import bitboards.MagicAttacks;
+import bitboards.XiangqiBitboard;
+import graphics.ChessBoard;
+import piecetypes.ChessPiece;
+import piecetypes.PieceType;
+import piecetypes.SingleDirectionPiece;
+
+/**
+ * Lists the pseudo-legal moves of the pieces on a board: every move a piece's rules allow,
+ * without checking whether the move leaves its own king in danger.
+ * The moves are the same as asking isLegalMove for every square, but each piece only looks
+ * at the squares it can reach (leaping and stepping pieces read them from the board's AttackTables,
+ * sliding pieces on a European board from magic bitboards, and rooks and cannons on a Xiangqi board
+ * from the row and column lookups of its bitboards),
+ * and the moves are written into a reusable MoveList
+ * @author Phila Dlamini
+ *
+ */
+public final class MoveGenerator {
+
+	// The steps along a row or column (up, right, down, left)
+	private static final int[][] ORTHOGONAL_STEPS = {{-1, 0}, {0, 1}, {1, 0}, {0, -1}};
+
+	// The diagonal steps (up-right, down-right, down-left, up-left)
+	private static final int[][] DIAGONAL_STEPS = {{-1, 1}, {1, 1}, {1, -1}, {-1, -1}};
+
+	// The types a pawn can be upgraded to
+	private static final PieceType[] UPGRADES = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+
+	/**
+	 * There are no MoveGenerator objects
+	 */
+	private MoveGenerator() {
+	}
+
+	/**
+	 * Adds the pseudo-legal moves of every piece of a side to the list
+	 * @param board		the board the pieces are on
+	 * @param side		the side whose moves are listed
+	 * @param moves		the list the moves are added to
+	 */
+	public static void generateMoves(ChessBoard board, ChessGame.Side side, MoveList moves) {
+		for (int i = 0; i < board.getPieceCount(side); i++)
+			generatePieceMoves(board, board.getPiece(board.getPieceSquare(side, i)), moves);
+	}
+
+	/**
+	 * Adds the pseudo-legal moves of a piece to the list
+	 * @param board		the board the piece is on
+	 * @param piece		the piece to move
+	 * @param moves		the list the moves are added to
+	 */
+	public static void generatePieceMoves(ChessBoard board, ChessPiece piece, MoveList moves) {
+		AttackTables tables = board.getAttackTables();
+		EuropeanBitboard european = board.getBitboards() instanceof EuropeanBitboard ? (EuropeanBitboard) board.getBitboards() : null;
+		int from = square(board.getGameRules(), piece.getRow(), piece.getColumn());
+		switch (piece.getType()) {
+
+		case PAWN:
+			addPawnMoves(board, piece, moves);
+			break;
+
+		case KNIGHT:
+			addTargets(board, piece, from, tables.jumps(from), null, moves);
+			break;
+
+		case BISHOP:
+			if (european != null)
+				addAttacks(from, MagicAttacks.bishopAttacks(from, european.getOccupied()) & ~european.getSidePieces(piece.getSide()), moves);
+			else
+				addSlides(board, piece, DIAGONAL_STEPS, moves);
+			break;
+
+		case ROOK:
+			if (european != null)
+				addAttacks(from, MagicAttacks.rookAttacks(from, european.getOccupied()) & ~european.getSidePieces(piece.getSide()), moves);
+			else if (board.getBitboards() instanceof XiangqiBitboard)
+				addLineMoves(board, piece, from, (XiangqiBitboard) board.getBitboards(), false, moves);
+			else
+				addSlides(board, piece, ORTHOGONAL_STEPS, moves);
+			break;
+
+		case QUEEN:
+			if (european != null)
+				addAttacks(from, MagicAttacks.queenAttacks(from, european.getOccupied()) & ~european.getSidePieces(piece.getSide()), moves);
+			else {
+				addSlides(board, piece, ORTHOGONAL_STEPS, moves);
+				addSlides(board, piece, DIAGONAL_STEPS, moves);
+			}
+			break;
+
+		case KING:
+			addTargets(board, piece, from, tables.kingSteps(from), null, moves);
+			break;
+
+		case CANNON:
+			if (board.getBitboards() instanceof XiangqiBitboard)
+				addLineMoves(board, piece, from, (XiangqiBitboard) board.getBitboards(), true, moves);
+			else
+				addCannonMoves(board, piece, moves);
+			break;
+
+		case HORSE:
+			addTargets(board, piece, from, tables.jumps(from), tables.jumpLegs(from), moves);
+			break;
+
+		case ELEPHANT:
+			addTargets(board, piece, from, tables.elephantSteps(piece.getSide(), from), tables.elephantEyes(piece.getSide(), from), moves);
+			break;
+
+		case GUARD:
+			addTargets(board, piece, from, tables.guardSteps(piece.getSide(), from), null, moves);
+			break;
+
+		case SOLDIER:
+			addSoldierMoves(board, piece, moves);
+			break;
+
+		case XIANGQI_KING:
+			addTargets(board, piece, from, tables.xiangqiKingSteps(piece.getSide(), from), null, moves);
+			break;
+		}
+	}
+
+	/**
+	 * Adds the moves of a pawn: forward onto empty squares (two at once on its first move),
+	 * and one square diagonally forward to capture. A pawn reaching the last row is added once for each upgrade
+	 */
+	private static void addPawnMoves(ChessBoard board, ChessPiece pawn, MoveList moves) {
+		ChessGame game = board.getGameRules();
+		int forward = pawn.getSide() == ChessGame.Side.SOUTH ? -1 : 1;
+		int lastRow = pawn.getSide() == ChessGame.Side.SOUTH ? 0 : game.getNumRows() - 1;
+		int from = square(game, pawn.getRow(), pawn.getColumn());
+
+		//Forward, as far as the pawn is allowed and the squares are empty
+		int row = pawn.getRow();
+		for (int step = 0; step < ((SingleDirectionPiece) pawn).getNumberOfAllowedSteps(); step++) {
+			row += forward;
+			if (row < 0 || row >= game.getNumRows() || board.hasPiece(row, pawn.getColumn()))
+				break;
+			addPawnMove(moves, from, square(game, row, pawn.getColumn()), row == lastRow);
+		}
+
+		//Diagonally forward, capturing a piece of the other side
+		row = pawn.getRow() + forward;
+		if (row < 0 || row >= game.getNumRows())
+			return;
+		for (int column = pawn.getColumn() - 1; column <= pawn.getColumn() + 1; column += 2) {
+			if (column >= 0 && column < game.getNumColumns() && board.hasPiece(row, column)
+					&& board.getPiece(row, column).getSide() != pawn.getSide())
+				addPawnMove(moves, from, square(game, row, column), row == lastRow);
+		}
+	}
+
+	/**
+	 * Adds a pawn move, once for each upgrade if the pawn reaches the last row
+	 */
+	private static void addPawnMove(MoveList moves, int from, int to, boolean upgrade) {
+		if (!upgrade) {
+			moves.add(Move.encode(from, to));
+			return;
+		}
+		for (PieceType type : UPGRADES)
+			moves.add(Move.encode(from, to, type));
+	}
+
+	/**
+	 * Adds the moves of a leaping or stepping piece to the squares in its table that do not hold a piece of its side
+	 * @param blockers	the square that blocks each move when it holds a piece (a horse's leg or an elephant's eye), or null
+	 */
+	private static void addTargets(ChessBoard board, ChessPiece piece, int from, int[] targets, int[] blockers, MoveList moves) {
+		int numColumns = board.getGameRules().getNumColumns();
+		for (int i = 0; i < targets.length; i++) {
+			ChessPiece target = board.getPiece(targets[i] / numColumns, targets[i] % numColumns);
+			if (target != null && target.getSide() == piece.getSide())
+				continue;
+			if (blockers != null && board.hasPiece(blockers[i] / numColumns, blockers[i] % numColumns))
+				continue;
+			moves.add(Move.encode(from, targets[i]));
+		}
+	}
+
+	/**
+	 * Adds a move from the square to each square of a bitboard
+	 */
+	private static void addAttacks(int from, long targets, MoveList moves) {
+		while (targets != 0) {
+			moves.add(Move.encode(from, Long.numberOfTrailingZeros(targets)));
+			targets &= targets - 1;
+		}
+	}
+
+	/**
+	 * Adds the moves of a piece that slides any number of empty squares, capturing the first piece of the other side in its way
+	 */
+	private static void addSlides(ChessBoard board, ChessPiece piece, int[][] directions, MoveList moves) {
+		ChessGame game = board.getGameRules();
+		int from = square(game, piece.getRow(), piece.getColumn());
+		for (int[] direction : directions) {
+			int row = piece.getRow() + direction[0];
+			int column = piece.getColumn() + direction[1];
+			while (onBoard(game, row, column)) {
+				if (board.hasPiece(row, column)) {
+					if (board.getPiece(row, column).getSide() != piece.getSide())
+						moves.add(Move.encode(from, square(game, row, column)));
+					break;
+				}
+				moves.add(Move.encode(from, square(game, row, column)));
+				row += direction[0];
+				column += direction[1];
+			}
+		}
+	}
+
+	/**
+	 * Adds the moves of a rook or cannon on a Xiangqi board from the row and column lookups of its bitboards:
+	 * the empty squares it slides to, and the first piece in each direction (for a rook)
+	 * or the piece behind the screen in each direction (for a cannon) if it belongs to another side
+	 */
+	private static void addLineMoves(ChessBoard board, ChessPiece piece, int from, XiangqiBitboard bitboards, boolean cannon, MoveList moves) {
+		int numColumns = board.getGameRules().getNumColumns();
+		int row = piece.getRow();
+		int column = piece.getColumn();
+
+		//Along the row
+		int captures = cannon ? bitboards.cannonRowCaptures(row, column) : bitboards.rookRowCaptures(row, column);
+		for (int columns = bitboards.rowSlides(row, column) | captures; columns != 0; columns &= columns - 1) {
+			int toColumn = Integer.numberOfTrailingZeros(columns);
+			if ((captures & 1 << toColumn) == 0 || board.getPiece(row, toColumn).getSide() != piece.getSide())
+				moves.add(Move.encode(from, row * numColumns + toColumn));
+		}
+
+		//Along the column
+		captures = cannon ? bitboards.cannonColumnCaptures(row, column) : bitboards.rookColumnCaptures(row, column);
+		for (int rows = bitboards.columnSlides(row, column) | captures; rows != 0; rows &= rows - 1) {
+			int toRow = Integer.numberOfTrailingZeros(rows);
+			if ((captures & 1 << toRow) == 0 || board.getPiece(toRow, column).getSide() != piece.getSide())
+				moves.add(Move.encode(from, toRow * numColumns + column));
+		}
+	}
+
+	/**
+	 * Adds the moves of a cannon: it slides onto empty squares like a rook,
+	 * but captures by jumping over exactly one piece (the screen)
+	 */
+	private static void addCannonMoves(ChessBoard board, ChessPiece cannon, MoveList moves) {
+		ChessGame game = board.getGameRules();
+		int from = square(game, cannon.getRow(), cannon.getColumn());
+		for (int[] direction : ORTHOGONAL_STEPS) {
+			int row = cannon.getRow() + direction[0];
+			int column = cannon.getColumn() + direction[1];
+
+			//Slide until the screen
+			while (onBoard(game, row, column) && !board.hasPiece(row, column)) {
+				moves.add(Move.encode(from, square(game, row, column)));
+				row += direction[0];
+				column += direction[1];
+			}
+
+			//And capture the first piece behind it
+			row += direction[0];
+			column += direction[1];
+			while (onBoard(game, row, column)) {
+				if (board.hasPiece(row, column)) {
+					if (board.getPiece(row, column).getSide() != cannon.getSide())
+						moves.add(Move.encode(from, square(game, row, column)));
+					break;
+				}
+				row += direction[0];
+				column += direction[1];
+			}
+		}
+	}
+
+	/**
+	 * Adds the moves of a soldier: one step forward, or one step sideways once it has crossed the river
+	 */
+	private static void addSoldierMoves(ChessBoard board, ChessPiece soldier, MoveList moves) {
+		ChessGame game = board.getGameRules();
+		int from = square(game, soldier.getRow(), soldier.getColumn());
+		int forward = soldier.getSide() == ChessGame.Side.SOUTH ? -1 : 1;
+		if (canLandOn(board, soldier, soldier.getRow() + forward, soldier.getColumn()))
+			moves.add(Move.encode(from, square(game, soldier.getRow() + forward, soldier.getColumn())));
+
+		//The soldier has crossed the river if it is on the other side's half of the board
+		boolean crossedRiver = soldier.getSide() == ChessGame.Side.SOUTH ? soldier.getRow() <= game.getNumRows() / 2 - 1
+				: soldier.getRow() >= game.getNumRows() / 2;
+		if (!crossedRiver)
+			return;
+		for (int column = soldier.getColumn() - 1; column <= soldier.getColumn() + 1; column += 2) {
+			if (canLandOn(board, soldier, soldier.getRow(), column))
+				moves.add(Move.encode(from, square(game, soldier.getRow(), column)));
+		}
+	}
+
+	/**
+	 * Returns true if the square is on the board and does not hold a piece of the same side
+	 */
+	private static boolean canLandOn(ChessBoard board, ChessPiece piece, int row, int column) {
+		return onBoard(board.getGameRules(), row, column)
+				&& (!board.hasPiece(row, column) || board.getPiece(row, column).getSide() != piece.getSide());
+	}
+
+	/**
+	 * Returns true if the row and column are on the board
+	 */
+	private static boolean onBoard(ChessGame game, int row, int column) {
+		return row >= 0 && row < game.getNumRows() && column >= 0 && column < game.getNumColumns();
+	}
+
+	/**
+	 * Returns the square (row * columns + column) of a row and column
+	 */
+	private static int square(ChessGame game, int row, int column) {
+		return row * game.getNumColumns() + column;
+	}
+}
@@ -0,0 +1,89 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * A reusable list of packed moves (see Move) backed by an int array.
+ * Clearing the list keeps the array, so a list can be filled again and again without creating objects
+ * @author Phila Dlamini
+ *
+ */
+public final class MoveList {
+
+	// The moves, the first size of which are in the list
+	private int[] moves;
+
+	// The number of moves in the list
+	private int size;
+
+	/**
+	 * Constructs an empty MoveList with room for the moves of any normal position
+	 */
+	public MoveList() {
+		moves = new int[256];
+	}
+
+	/**
+	 * Adds a move to the end of the list
+	 * @param move	the packed move
+	 */
+	public void add(int move) {
+		if (size == moves.length)
+			moves = Arrays.copyOf(moves, size * 2);
+		moves[size++] = move;
+	}
+
+	/**
+	 * Returns the move at the index
+	 * @param index	the index of the move
+	 * @return the packed move at the index
+	 */
+	public int get(int index) {
+		return moves[index];
+	}
+
+	/**
+	 * Replaces the move at the index
+	 * @param index	the index of the move
+	 * @param move	the packed move to put there
+	 */
+	public void set(int index, int move) {
+		moves[index] = move;
+	}
+
+	/**
+	 * Returns the number of moves in the list
+	 * @return the number of moves in the list
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Shortens the list to its first moves
+	 * @param size	the number of moves to keep
+	 */
+	public void truncate(int size) {
+		this.size = size;
+	}
+
+	/**
+	 * Removes every move from the list
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Returns true if the list holds the move
+	 * @param move	the packed move
+	 * @return true if the list holds the move
+	 */
+	public boolean contains(int move) {
+		for (int i = 0; i < size; i++) {
+			if (moves[i] == move)
+				return true;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,95 @@
+package chess;
+
+import piecetypes.ChessPiece;
+
+/**
+ * What is needed to take back one move: the piece moved, where it came from and went to,
+ * the piece it captured, the pawn's first move state and whose turn it was.
+ * Records are kept in an UndoStack and reused, so making a move does not create any objects
+ * @author Phila Dlamini
+ *
+ */
+public final class MoveUndo {
+
+	// The piece that moved
+	ChessPiece movedPiece;
+
+	// The square the piece moved from
+	int fromRow;
+	int fromColumn;
+
+	// The square the piece moved to
+	int toRow;
+	int toColumn;
+
+	// The piece captured on the landing square (null if there was none)
+	ChessPiece capturedPiece;
+
+	// True if the moved piece was a pawn that had not moved before
+	boolean firstMove;
+
+	// Whose turn it was before the move
+	ChessGame.Side previousTurn;
+
+	/**
+	 * Records are only created by an UndoStack
+	 */
+	MoveUndo() {
+	}
+
+	/**
+	 * Returns the piece that moved
+	 * @return the piece that moved (the pawn, if the pawn was upgraded)
+	 */
+	public ChessPiece getMovedPiece() {
+		return movedPiece;
+	}
+
+	/**
+	 * Returns the row the piece moved from
+	 * @return the row the piece moved from
+	 */
+	public int getFromRow() {
+		return fromRow;
+	}
+
+	/**
+	 * Returns the column the piece moved from
+	 * @return the column the piece moved from
+	 */
+	public int getFromColumn() {
+		return fromColumn;
+	}
+
+	/**
+	 * Returns the row the piece moved to
+	 * @return the row the piece moved to
+	 */
+	public int getToRow() {
+		return toRow;
+	}
+
+	/**
+	 * Returns the column the piece moved to
+	 * @return the column the piece moved to
+	 */
+	public int getToColumn() {
+		return toColumn;
+	}
+
+	/**
+	 * Returns the piece captured by the move
+	 * @return the piece captured by the move, or null if the move captured nothing
+	 */
+	public ChessPiece getCapturedPiece() {
+		return capturedPiece;
+	}
+
+	/**
+	 * Returns whose turn it was before the move
+	 * @return whose turn it was before the move
+	 */
+	public ChessGame.Side getPreviousTurn() {
+		return previousTurn;
+	}
+}
@@ -0,0 +1,290 @@
+package chess;
+
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import graphics.ChessBoard;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Counts the positions reached by playing every legal move to a given depth ("perft").
+ * The counts from the start of a game are well known, so comparing them proves that move generation,
+ * doMove and undoMove agree with the rules, and timing them measures how fast the three are together.
+ * The last ply is not played: the number of legal moves there is the number of positions it reaches.
+ *
+ * Deep counts can be shared out between threads with parallelPerft: the moves near the top of the tree are split
+ * into tasks for a ForkJoinPool, each on its own board, and the tasks share a PerftTable so that a position
+ * reached by different move orders is only counted once.
+ *
+ * Run it as a program: Perft chess|xiangqi depth [divide] [parallel] ["position"]
+ * It counts every depth up to the one given, with the nodes per second and whether the count matches the reference
+ * (for the start of the game). With divide it also lists the count below each move from the position,
+ * and with parallel it counts on every processor with a shared table
+ * @author Phila Dlamini
+ *
+ */
+public final class Perft {
+
+	/**
+	 * The counts from the start of European chess for depths 0 to 5.
+	 * The game has no castling or en passant, so depth 5 is 258 en passant captures short of the usual 4865609
+	 */
+	public static final long[] EUROPEAN_COUNTS = {1, 20, 400, 8902, 197281, 4865351};
+
+	/**
+	 * The counts from the start of Xiangqi for depths 0 to 5
+	 */
+	public static final long[] XIANGQI_COUNTS = {1, 44, 1920, 79666, 3290240, 133312995};
+
+	// Tasks with at most this depth left are counted by one thread instead of being split further
+	private static final int SPLIT_DEPTH = 3;
+
+	/**
+	 * There are no Perft objects
+	 */
+	private Perft() {
+	}
+
+	/**
+	 * Counts the positions reached from the board's position by the side to play in the given number of moves
+	 * @param board		the board to count from (it is left as it was)
+	 * @param depth		the number of moves to play
+	 * @return the number of positions reached
+	 */
+	public static long perft(ChessBoard board, int depth) {
+		return perft(board, depth, newLists(depth));
+	}
+
+	/**
+	 * Counts the positions reached in the given number of moves, using a list of moves for each ply
+	 * @param board		the board to count from (it is left as it was)
+	 * @param depth		the number of moves to play
+	 * @param lists		a list for each ply (at least depth lists)
+	 * @return the number of positions reached
+	 */
+	public static long perft(ChessBoard board, int depth, MoveList[] lists) {
+		return perft(board, depth, lists, null);
+	}
+
+	/**
+	 * Counts the positions reached in the given number of moves, looking the counts below positions up in a table
+	 * and storing the new ones there
+	 * @param board		the board to count from (it is left as it was)
+	 * @param depth		the number of moves to play
+	 * @param lists		a list for each ply (at least depth lists)
+	 * @param table		the table of counts, or null to count every position
+	 * @return the number of positions reached
+	 */
+	public static long perft(ChessBoard board, int depth, MoveList[] lists, PerftTable table) {
+		if (depth == 0)
+			return 1;
+
+		//The last ply is only a move count, which is cheaper to find than to look up
+		long key = 0;
+		if (table != null && depth > 1) {
+			key = board.getZobristKey();
+			long count = table.get(key, depth);
+			if (count != -1)
+				return count;
+		}
+
+		ChessGame game = board.getGameRules();
+		MoveList moves = lists[depth - 1];
+		game.generateLegalMoves(board, moves);
+		if (depth == 1)
+			return moves.size();
+
+		long count = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			game.doMove(board, moves.get(i));
+			count += perft(board, depth - 1, lists, table);
+			game.undoMove(board);
+		}
+		if (table != null)
+			table.put(key, depth, count);
+		return count;
+	}
+
+	/**
+	 * Counts the positions reached in the given number of moves on several threads.
+	 * The count is the same as perft's
+	 * @param board		the board to count from (it is not changed)
+	 * @param depth		the number of moves to play
+	 * @param threads	the number of threads to count on
+	 * @param table		the table of counts shared by the threads, or null to count every position
+	 * @return the number of positions reached
+	 */
+	public static long parallelPerft(ChessBoard board, int depth, int threads, PerftTable table) {
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			return pool.invoke(new PerftTask(Position.copy(board), depth, table));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Counts the positions reached below each legal move from the board's position, and prints the counts
+	 * @param board		the board to count from (it is left as it was)
+	 * @param depth		the number of moves to play, counting the first
+	 * @param out		where each move and its count are printed
+	 * @return the number of positions reached
+	 */
+	public static long divide(ChessBoard board, int depth, PrintStream out) {
+		ChessGame game = board.getGameRules();
+		MoveList[] lists = newLists(depth);
+		MoveList moves = new MoveList();
+		game.generateLegalMoves(board, moves);
+
+		long count = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			game.doMove(board, moves.get(i));
+			long moveCount = perft(board, depth - 1, lists);
+			game.undoMove(board);
+			out.println(Move.toString(moves.get(i), game.getNumRows(), game.getNumColumns()) + ": " + moveCount);
+			count += moveCount;
+		}
+		out.println("Moves: " + moves.size() + ", positions: " + count);
+		return count;
+	}
+
+	/**
+	 * Returns the reference counts from the start of a game
+	 * @param game	the game
+	 * @return the counts for depths 0 and up, or null if there are none for the game
+	 */
+	public static long[] referenceCounts(ChessGame game) {
+		if (game instanceof EuropeanChess)
+			return EUROPEAN_COUNTS;
+		if (game instanceof Xiangqi)
+			return XIANGQI_COUNTS;
+		return null;
+	}
+
+	/**
+	 * Runs perft from the start of a game or from a position
+	 * @param args	the game ("chess" or "xiangqi"), the depth, and optionally "divide", "parallel" and a position (see Position)
+	 */
+	public static void main(String[] args) {
+		if (args.length < 2) {
+			System.out.println("Usage: Perft chess|xiangqi depth [divide] [parallel] [\"position\"]");
+			return;
+		}
+		ChessGame game = args[0].equalsIgnoreCase("xiangqi") ? new Xiangqi() : new EuropeanChess();
+		int depth = Integer.parseInt(args[1]);
+		boolean divide = false;
+		boolean parallel = false;
+		String position = null;
+		for (int i = 2; i < args.length; i++) {
+			if (args[i].equalsIgnoreCase("divide"))
+				divide = true;
+			else if (args[i].equalsIgnoreCase("parallel"))
+				parallel = true;
+			else
+				position = args[i];
+		}
+
+		HeadlessChessBoard board = new HeadlessChessBoard(game);
+		if (position == null)
+			game.startGame(board);
+		else
+			Position.setUp(board, position);
+		long[] references = position == null ? referenceCounts(game) : null;
+		System.out.println(Position.toText(board));
+
+		if (divide)
+			divide(board, depth, System.out);
+
+		//Count each depth in turn, timing it
+		MoveList[] lists = newLists(depth);
+		int threads = Runtime.getRuntime().availableProcessors();
+		PerftTable table = parallel ? new PerftTable(22) : null;
+		if (parallel)
+			System.out.println("Counting on " + threads + " threads");
+		for (int d = 1; d <= depth; d++) {
+			long start = System.nanoTime();
+			long count = parallel ? parallelPerft(board, d, threads, table) : perft(board, d, lists);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			String check = "";
+			if (references != null && d < references.length)
+				check = count == references[d] ? "  ok" : "  expected " + references[d];
+			System.out.printf("depth %d: %12d positions %8.3f s %12.0f positions/s%s%n", d, count, seconds, count / seconds, check);
+		}
+	}
+
+	/**
+	 * Creates a list of moves for each ply
+	 */
+	private static MoveList[] newLists(int depth) {
+		MoveList[] lists = new MoveList[Math.max(depth, 1)];
+		for (int i = 0; i < lists.length; i++)
+			lists[i] = new MoveList();
+		return lists;
+	}
+
+	/**
+	 * Counts the positions below one position for parallelPerft. A task with enough depth left
+	 * makes a task for each of its moves and runs them all; the rest are counted by perft on the task's own board
+	 */
+	private static class PerftTask extends RecursiveTask<Long> {
+
+		private static final long serialVersionUID = 1L;
+
+		// The board to count from, which is the task's own
+		private final ChessBoard board;
+
+		// The number of moves to play
+		private final int depth;
+
+		// The table shared by all of the tasks, or null
+		private final PerftTable table;
+
+		/**
+		 * Constructs a task
+		 * @param board		the board to count from, which no other task uses
+		 * @param depth		the number of moves to play
+		 * @param table		the shared table of counts, or null
+		 */
+		PerftTask(ChessBoard board, int depth, PerftTable table) {
+			this.board = board;
+			this.depth = depth;
+			this.table = table;
+		}
+
+		/**
+		 * Counts the positions below the task's position
+		 * @return the number of positions reached
+		 */
+		@Override
+		protected Long compute() {
+			ChessGame game = board.getGameRules();
+			if (depth <= SPLIT_DEPTH)
+				return perft(board, depth, newLists(depth), table);
+
+			//The position may already have been counted by a task that reached it by other moves
+			long key = board.getZobristKey();
+			long count = table == null ? -1 : table.get(key, depth);
+			if (count != -1)
+				return count;
+
+			//A task for each move, on a copy of the position it leads to
+			MoveList moves = new MoveList();
+			game.generateLegalMoves(board, moves);
+			PerftTask[] tasks = new PerftTask[moves.size()];
+			for (int i = 0; i < moves.size(); i++) {
+				game.doMove(board, moves.get(i));
+				tasks[i] = new PerftTask(Position.copy(board), depth - 1, table);
+				game.undoMove(board);
+			}
+			invokeAll(tasks);
+
+			count = 0;
+			for (PerftTask task : tasks)
+				count += task.join();
+			if (table != null)
+				table.put(key, depth, count);
+			return count;
+		}
+	}
+}
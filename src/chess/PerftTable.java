@@ -0,0 +1,69 @@
+package chess;
+
+/**
+ * A table of perft counts, keyed by the Zobrist key of a position and the depth counted below it,
+ * that many threads can read and write at once without locks.
+ * Each entry is two longs side by side in one array: the count and depth packed together,
+ * and the key exclusive-ored with them. A thread that reads an entry while another is writing it
+ * may see the new half of one long and the old half of the other, but then the key no longer matches
+ * and the entry is simply treated as missing, so a count is never taken from the wrong position
+ * @author Phila Dlamini
+ *
+ */
+public final class PerftTable {
+
+	// The number of bits the depth takes at the bottom of an entry's data
+	private static final int DEPTH_BITS = 8;
+
+	// The key ^ data and the data (count << DEPTH_BITS | depth) of each entry
+	private final long[] entries;
+
+	// The number of entries less one (the number of entries is a power of two)
+	private final int mask;
+
+	/**
+	 * Constructs an empty table
+	 * @param sizeBits	the table has 2 to the power of sizeBits entries, each taking 16 bytes
+	 */
+	public PerftTable(int sizeBits) {
+		entries = new long[2 << sizeBits];
+		mask = (1 << sizeBits) - 1;
+	}
+
+	/**
+	 * Returns the count stored for a position and depth
+	 * @param key		the Zobrist key of the position
+	 * @param depth		the depth counted below the position
+	 * @return the number of positions reached, or -1 if the table does not have it
+	 */
+	public long get(long key, int depth) {
+		int index = index(key, depth);
+		long data = entries[index + 1];
+		long check = entries[index];
+		if ((check ^ data) != key || (data & ((1 << DEPTH_BITS) - 1)) != depth)
+			return -1;
+		return data >>> DEPTH_BITS;
+	}
+
+	/**
+	 * Stores the count for a position and depth, in place of whatever the entry held
+	 * @param key		the Zobrist key of the position
+	 * @param depth		the depth counted below the position
+	 * @param count		the number of positions reached
+	 */
+	public void put(long key, int depth, long count) {
+		int index = index(key, depth);
+		long data = count << DEPTH_BITS | depth;
+		entries[index] = key ^ data;
+		entries[index + 1] = data;
+	}
+
+	/**
+	 * Returns the index of the first long of the entry for a position and depth
+	 */
+	private int index(long key, int depth) {
+		//Mix the depth in, so that the counts of a position at different depths do not push each other out
+		long hash = key ^ depth * 0x9E3779B97F4A7C15L;
+		return ((int) (hash >>> 32 ^ hash) & mask) << 1;
+	}
+}
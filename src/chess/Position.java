@@ -0,0 +1,151 @@
+package chess;
+
+import europeanpieces.BishopPiece;
+import europeanpieces.KingPiece;
+import europeanpieces.KnightPiece;
+import europeanpieces.PawnPiece;
+import europeanpieces.QueenPiece;
+import europeanpieces.RookPiece;
+import graphics.ChessBoard;
+import graphics.HeadlessChessBoard;
+import piecetypes.ChessPiece;
+import xiangqipieces.CannonPiece;
+import xiangqipieces.ElephantPiece;
+import xiangqipieces.GuardPiece;
+import xiangqipieces.HorsePiece;
+import xiangqipieces.SoldierPiece;
+import xiangqipieces.XiangqiKingPiece;
+
+/**
+ * Writes a position as a line of text and sets a board up from one, so that any position can be named in a test or a tool.
+ * The rows are written from the north edge of the board (row 0) to the south edge, separated by '/'.
+ * Each piece is written as its label (upper case for the SOUTH side, lower case for the NORTH side)
+ * and a run of empty squares as its length. The side to play follows after a space, as "s" or "n".
+ * The start of European chess is "rnbkqbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBKQBNR s"
+ * @author Phila Dlamini
+ *
+ */
+public final class Position {
+
+	/**
+	 * There are no Position objects
+	 */
+	private Position() {
+	}
+
+	/**
+	 * Places the pieces named by the text on an empty board, and sets the side to play.
+	 * A European pawn that is not on its side's starting row is taken to have moved already
+	 * @param board		the empty board to set up
+	 * @param text		the position, as written by toText
+	 * @throws IllegalArgumentException if the text does not describe a position of the board's game
+	 */
+	public static void setUp(ChessBoard board, String text) {
+		ChessGame game = board.getGameRules();
+		String[] parts = text.trim().split("\\s+");
+		String[] rows = parts[0].split("/");
+		if (rows.length != game.getNumRows())
+			throw new IllegalArgumentException("Expected " + game.getNumRows() + " rows: " + text);
+
+		for (int row = 0; row < rows.length; row++) {
+			int column = 0;
+			for (char c : rows[row].toCharArray()) {
+				if (Character.isDigit(c)) {
+					column += c - '0';
+				} else {
+					if (column >= game.getNumColumns())
+						throw new IllegalArgumentException("Row " + row + " has more than " + game.getNumColumns() + " squares: " + text);
+					ChessGame.Side side = Character.isUpperCase(c) ? ChessGame.Side.SOUTH : ChessGame.Side.NORTH;
+					ChessPiece piece = newPiece(game, board, Character.toUpperCase(c), side);
+					if (piece == null)
+						throw new IllegalArgumentException("Unknown piece " + c + ": " + text);
+					board.addPiece(piece, row, column++);
+
+					//Only a pawn on its starting row may still take two steps
+					if (piece instanceof PawnPiece)
+						((PawnPiece) piece).setFirstMove(row == (side == ChessGame.Side.NORTH ? 1 : game.getNumRows() - 2));
+				}
+			}
+			if (column != game.getNumColumns())
+				throw new IllegalArgumentException("Row " + row + " does not have " + game.getNumColumns() + " squares: " + text);
+		}
+
+		if (parts.length > 1)
+			game.setCurrentTurn(parts[1].equalsIgnoreCase("n") ? ChessGame.Side.NORTH : ChessGame.Side.SOUTH);
+	}
+
+	/**
+	 * Returns the position on a board as text
+	 * @param board		the board to write
+	 * @return the position, with the side to play
+	 */
+	public static String toText(ChessBoard board) {
+		ChessGame game = board.getGameRules();
+		StringBuilder text = new StringBuilder();
+		for (int row = 0; row < game.getNumRows(); row++) {
+			if (row > 0)
+				text.append('/');
+			int empty = 0;
+			for (int column = 0; column < game.getNumColumns(); column++) {
+				ChessPiece piece = board.getPiece(row, column);
+				if (piece == null) {
+					empty++;
+					continue;
+				}
+				if (empty > 0)
+					text.append(empty);
+				empty = 0;
+				String label = piece.getLabel();
+				text.append(piece.getSide() == ChessGame.Side.NORTH ? label.toLowerCase() : label.toUpperCase());
+			}
+			if (empty > 0)
+				text.append(empty);
+		}
+		return text.append(game.getCurrentTurn() == ChessGame.Side.NORTH ? " n" : " s").toString();
+	}
+
+	/**
+	 * Returns a copy of the position on a board, on a new board with a new game of the same kind,
+	 * so that another thread can play on it
+	 * @param board		the board to copy
+	 * @return the new board
+	 */
+	public static HeadlessChessBoard copy(ChessBoard board) {
+		ChessGame game = board.getGameRules() instanceof Xiangqi ? new Xiangqi() : new EuropeanChess();
+		HeadlessChessBoard copy = new HeadlessChessBoard(game);
+		setUp(copy, toText(board));
+		return copy;
+	}
+
+	/**
+	 * Creates the piece of the game with the label
+	 * @param game		the game being played
+	 * @param board		the board the piece is for
+	 * @param label		the upper case label of the piece
+	 * @param side		the side of the piece
+	 * @return the piece, or null if the game has no piece with the label
+	 */
+	private static ChessPiece newPiece(ChessGame game, ChessBoard board, char label, ChessGame.Side side) {
+		if (game instanceof Xiangqi) {
+			switch (label) {
+			case 'R': return new RookPiece(board, side, null);
+			case 'C': return new CannonPiece(board, side, null);
+			case 'H': return new HorsePiece(board, side, null);
+			case 'E': return new ElephantPiece(board, side, null);
+			case 'G': return new GuardPiece(board, side, null);
+			case 'S': return new SoldierPiece(board, side, null);
+			case 'X': return new XiangqiKingPiece(board, side, null);
+			default: return null;
+			}
+		}
+		switch (label) {
+		case 'P': return new PawnPiece(board, side, null);
+		case 'N': return new KnightPiece(board, side, null);
+		case 'B': return new BishopPiece(board, side, null);
+		case 'R': return new RookPiece(board, side, null);
+		case 'Q': return new QueenPiece(board, side, null);
+		case 'K': return new KingPiece(board, side, null);
+		default: return null;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * The moves made on a board that can still be taken back, most recent last.
+ * The records are kept after they are popped and reused by later moves,
+ * so making and taking back moves during a search does not create objects
+ * @author Phila Dlamini
+ *
+ */
+public final class UndoStack {
+
+	// The records, the first size of which hold moves that can be taken back
+	private MoveUndo[] records;
+
+	// The number of moves that can be taken back
+	private int size;
+
+	/**
+	 * Constructs an empty UndoStack
+	 */
+	public UndoStack() {
+		records = new MoveUndo[64];
+	}
+
+	/**
+	 * Returns the record for a new move, on top of the stack
+	 * @return the (reused) record to fill in for the move
+	 */
+	MoveUndo push() {
+		if (size == records.length)
+			records = Arrays.copyOf(records, size * 2);
+		if (records[size] == null)
+			records[size] = new MoveUndo();
+		return records[size++];
+	}
+
+	/**
+	 * Takes the record of the most recent move off the stack
+	 * The record stays valid until the next move is pushed
+	 * @return the record of the most recent move
+	 */
+	MoveUndo pop() {
+		return records[--size];
+	}
+
+	/**
+	 * Returns the record of the most recent move without taking it off the stack
+	 * @return the record of the most recent move, or null if there is none
+	 */
+	public MoveUndo peek() {
+		return size == 0 ? null : records[size - 1];
+	}
+
+	/**
+	 * Returns the number of moves that can be taken back
+	 * @return the number of moves that can be taken back
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if there are no moves to take back
+	 * @return true if there are no moves to take back
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Forgets every move, so none of them can be taken back
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			records[i].movedPiece = null;
+			records[i].capturedPiece = null;
+		}
+		size = 0;
+	}
+}
@@ -1,8 +1,5 @@
 package chess;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 import europeanpieces.RookPiece;
 import graphics.ChessBoard;
 import piecetypes.ChessPiece;
@@ -20,7 +17,6 @@ import xiangqipieces.XiangqiKingPiece;
  * @author Phila Dlamini
  *
  */
-//TODO: Your code is redundant. Simplify it (for the kings facing each other situation)
 public class Xiangqi implements ChessGame {
 
 	// Whose turn it is to play
@@ -55,187 +51,101 @@ public class Xiangqi implements ChessGame {
 	@Override
 	public boolean makeMove(ChessPiece piece, int toRow, int toColumn) {
 
-		// If this piece is moving to a different column, ensure the kings won't face each other
-		if (legalPieceToPlay(piece, toRow, toColumn) && piece.getColumn() != toColumn) {
-				
-			// If this piece is a king, then it shouldn't face the other king in the column moving to
-			if (piece instanceof XiangqiKingPiece) {
-
-				// If the king will face the other king, this move is not allowed
-				if (willFaceOtherKing(piece, toRow, toColumn))
-					return false;
-				else
-					return ChessGame.super.makeMove(piece, toRow, toColumn); // Ensure the move is legal
-			}
-
-			// If it is a regular piece, ensure it won't leave the kings facing each other on the column it is leaving
-			if (willLeaveKingsFacing(piece))
-				return false;
-			else
-				return ChessGame.super.makeMove(piece, toRow, toColumn); // Ensure the move is legal
-			
-		} else if (legalPieceToPlay(piece, toRow, toColumn) && piece.getColumn() == toColumn) {
-			//Else the piece is staying on this column
-			
-			//If the piece is a king capturing another on this column, ensure the two kings won't face each other after the capture
-			if(piece instanceof XiangqiKingPiece && piece.getChessBoard().hasPiece(toRow, toColumn)) {
-				
-				// If the king will face the other king, this move is not allowed
-				if (kingsWillFaceAfterCapture(piece))
-					return false;
-				else
-					return ChessGame.super.makeMove(piece, toRow, toColumn); // Ensure the move is legal
-			} else 														//Else the piece is not a king
-				return ChessGame.super.makeMove(piece, toRow, toColumn); 
-		}
+		// The move is not allowed if it leaves the kings facing each other
+		if (legalPieceToPlay(piece, toRow, toColumn) && kingsWillFace(piece, toRow, toColumn))
+			return false;
 
 		// Else, ensure the move is legal
 		return ChessGame.super.makeMove(piece, toRow, toColumn);
 	}
 
 	/**
-	 * Returns true if this king will face the other king when it enters it's new
-	 * column
+	 * Returns true if the kings will face each other on a column, with no pieces in-between, after the piece moves.
+	 * This happens when a king enters or captures along the column of the other king,
+	 * or when the only piece between the kings leaves their column
 	 * 
-	 * @param king     the king piece moving to a new column
-	 * @param toColumn the column this piece is moving to
-	 * @return if this king will face the other king when it enters it's new column
+	 * @param piece    the piece to move
+	 * @param toRow    the row the piece is moving to
+	 * @param toColumn the column the piece is moving to
+	 * @return true if the kings will face each other after the move
 	 */
-	private boolean willFaceOtherKing(ChessPiece king, int toRow, int toColumn) {
-		
-		//Analyze this column 
-		Map<String, Object> columnData = getColumnData(king.getChessBoard(), toColumn);
-		
-		//Extract the data 
-		boolean northKingOnColumn = (boolean) columnData.get("northKingOnColumn");
-		boolean southKingOnColumn = (boolean) columnData.get("southKingOnColumn");
-		int northKingRow = (int) columnData.get("northKingRow");
-		int southKingRow = (int) columnData.get("southKingRow");
-
-
-		// If the king is from the south enters this new column, and the north king is on this column with no other pieces
-		//in-between, they will face each other
-		if (king.getSide() == ChessGame.Side.SOUTH) {
-
-			if (northKingOnColumn) {
-				return VerticallyMovingPiece.piecesInRange(king.getChessBoard(), toColumn, northKingRow + 1, toRow - 1) == 0;
-			}
-		}
-
-		// If the king is from the north, and the south king is on this column, they
-		// will face each other if there are no pieces in-between
-		if (king.getSide() == ChessGame.Side.NORTH) {
-
-			if (southKingOnColumn) {
-				return VerticallyMovingPiece.piecesInRange(king.getChessBoard(), toColumn, toRow + 1, southKingRow - 1) == 0;
-			}
-		}
-
-		return false;
+	private boolean kingsWillFace(ChessPiece piece, int toRow, int toColumn) {
+		boolean isKing = piece instanceof XiangqiKingPiece;
+
+		// A piece other than a king that stays on its column stays between the kings, if it was there
+		if (!isKing && piece.getColumn() == toColumn)
+			return false;
+
+		// Find where the kings will be on the column that matters after the move
+		ChessBoard board = piece.getChessBoard();
+		int column = isKing ? toColumn : piece.getColumn();
+		int northRow = isKing && piece.getSide() == ChessGame.Side.NORTH ? toRow : kingRow(board, ChessGame.Side.NORTH, column);
+		int southRow = isKing && piece.getSide() == ChessGame.Side.SOUTH ? toRow : kingRow(board, ChessGame.Side.SOUTH, column);
+		if (northRow == -1 || southRow == -1)
+			return false;
+
+		// Count the pieces between the kings, leaving out the square the piece moves away from
+		int topRow = Math.min(northRow, southRow);
+		int bottomRow = Math.max(northRow, southRow);
+		int piecesBetween = VerticallyMovingPiece.piecesInRange(board, column, topRow + 1, bottomRow - 1);
+		if (piece.getColumn() == column && piece.getRow() > topRow && piece.getRow() < bottomRow)
+			piecesBetween--;
+		return piecesBetween == 0;
 	}
 
 	/**
-	 * Returns true if the specified piece will leave the kings facing each other
-	 * when it leaves it's current column
+	 * Returns the row of a side's king if it is on the specified column.
+	 * The board keeps the square of the king when the side has exactly one, so this is usually a single lookup.
+	 * Otherwise the side's fortress is searched, from the row nearest the river
 	 * 
-	 * @param piece the chess piece that is leaving this column
-	 * @return true if this piece leaves the kings facing each other when it leaves
-	 *         it's current column
+	 * @param board  the board the kings are on
+	 * @param side   the side the king belongs to
+	 * @param column the column to look on
+	 * @return the row of the king, or -1 if the king is not on the column
 	 */
-	private boolean willLeaveKingsFacing(ChessPiece piece) {
-		
-		//Analyze this column 
-		Map<String, Object> columnData = getColumnData(piece.getChessBoard(), piece.getColumn());
-		
-		//Extract the data 
-		boolean northKingOnColumn = (boolean) columnData.get("northKingOnColumn");
-		boolean southKingOnColumn = (boolean) columnData.get("southKingOnColumn");
-		int northKingRow = (int) columnData.get("northKingRow");
-		int southKingRow = (int) columnData.get("southKingRow");
+	private int kingRow(ChessBoard board, ChessGame.Side side, int column) {
+		int kingSquare = board.getKingSquare(side);
+		if (kingSquare != -1)
+			return kingSquare % getNumColumns() == column ? kingSquare / getNumColumns() : -1;
 
-		// If the kings are on the column and this piece is the only other one on the
-		// column, the kings will be exposed when it leaves
-		if (northKingOnColumn && southKingOnColumn) {
-			return VerticallyMovingPiece.piecesInRange(piece.getChessBoard(), 
-					piece.getColumn(), northKingRow + 1, southKingRow - 1) == 1;
+		for (int i = 0; i < 3; i++) {
+			int row = side == ChessGame.Side.NORTH ? 2 - i : getNumRows() - 3 + i;
+			ChessPiece piece = board.getPiece(row, column);
+			if (piece instanceof XiangqiKingPiece && piece.getSide() == side)
+				return row;
 		}
-		return false;
+		return -1;
 	}
-	
+
 	/**
-	 * Returns true if the two kings will be left facing each other one of them captures a piece on this column
-	 * @param piece			the king piece performing the capture
-	 * @return true if the two kings will be left facing each other one of them captures a piece on this column
+	 * Returns true if a piece of the other side can capture the side's king,
+	 * or if the two kings face each other on a column with no pieces in-between
+	 * 
+	 * @param board the board the game is played on
+	 * @param side  the side whose king may be in check
+	 * @return true if the side's king is in check
 	 */
-	private boolean kingsWillFaceAfterCapture(ChessPiece piece) {
-		
-		//Analyze this column and find out if both kings are on the column 
-		Map<String, Object> columnData = getColumnData(piece.getChessBoard(), piece.getColumn());
-		
-		//Extract the data 
-		boolean northKingOnColumn = (boolean) columnData.get("northKingOnColumn");
-		boolean southKingOnColumn = (boolean) columnData.get("southKingOnColumn");
-		int northKingRow = (int) columnData.get("northKingRow");
-		int southKingRow = (int) columnData.get("southKingRow");
-		
-		//If both kings are on this column and there is only one other piece on this column, 
-		//the kings will face each other after one of them captures the piece
-		if (northKingOnColumn && southKingOnColumn) {
-			return VerticallyMovingPiece.piecesInRange(piece.getChessBoard(), 
-					piece.getColumn(), northKingRow + 1, southKingRow - 1) == 1;
-		}
-
-		
-		return false;
+	@Override
+	public boolean isInCheck(ChessBoard board, ChessGame.Side side) {
+		if (ChessGame.super.isInCheck(board, side))
+			return true;
+
+		// The kings face each other when they share a column that is empty between them
+		int northKing = board.getKingSquare(ChessGame.Side.NORTH);
+		int southKing = board.getKingSquare(ChessGame.Side.SOUTH);
+		if (board.getKingSquare(side) == -1 || northKing == -1 || southKing == -1 || northKing % getNumColumns() != southKing % getNumColumns())
+			return false;
+		int topRow = Math.min(northKing, southKing) / getNumColumns();
+		int bottomRow = Math.max(northKing, southKing) / getNumColumns();
+		return VerticallyMovingPiece.piecesInRange(board, northKing % getNumColumns(), topRow + 1, bottomRow - 1) == 0;
 	}
-	
+
 	/**
-	 * Analyzes the specified column to see if either of the kings are on this column and if so, at what squares
-	 * @param board			the board to search on 
-	 * @param column		the column to analyze
-	 * @return information about whether or not the kings are on this column  
+	 * Returns true, since a player who cannot move loses in Xiangqi even when not in check
 	 */
-	private Map<String, Object> getColumnData(ChessBoard board, int column) {
-		
-		//A map to hold the data
-		LinkedHashMap<String, Object> columnData = new LinkedHashMap<String, Object>();
-		
-		// If the north king is on this column
-		boolean northKingOnColumn = false;
-
-		// If the south king is on this column
-		boolean southKingOnColumn = false;
-
-		// The row of the northKing on this column
-		int northKingRow = -1;
-
-		// The row of the southKing on this column
-		int southKingRow = -1;
-
-		// Check if the kings are on this column
-		for (int i = 0; i < 3; i++) {
-
-			// If the north king is on this column, save its row
-			if (board.hasPiece(i, column) && board.getPiece(i, column) instanceof XiangqiKingPiece) {
-				northKingOnColumn = true;
-				northKingRow = i;
-			}
-
-			// If the south king is on this column, save its row
-			int rowFromBottom = (getNumRows() - 1) - i;
-			if (board.hasPiece(rowFromBottom, column) && board.getPiece(rowFromBottom, column) instanceof XiangqiKingPiece) {
-				southKingOnColumn = true;
-				southKingRow = rowFromBottom;
-			}
-		}
-		
-		//Save the data and return it
-		columnData.put("northKingOnColumn", northKingOnColumn);
-		columnData.put("southKingOnColumn", southKingOnColumn);
-		columnData.put("northKingRow", northKingRow);
-		columnData.put("southKingRow", southKingRow);
-		
-		return columnData;
+	@Override
+	public boolean stalemateIsLoss() {
+		return true;
 	}
 
 	/**
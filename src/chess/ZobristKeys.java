@@ -0,0 +1,83 @@
+package chess;
+
+import java.util.Random;
+
+import graphics.ChessBoard;
+import piecetypes.ChessPiece;
+import piecetypes.PieceType;
+
+/**
+ * The random numbers used to give every position a 64-bit Zobrist key.
+ * A position's key is the exclusive or of the number of every piece (by side, type and square) with
+ * the number of the side to move, so adding or removing a piece changes the key with a single exclusive or
+ * @author Phila Dlamini
+ *
+ */
+public final class ZobristKeys {
+
+	// The largest number of squares on a board (the 10x9 Xiangqi board)
+	private static final int MAX_SQUARES = 90;
+
+	// The number of sides a piece can belong to
+	private static final int SIDES = ChessGame.Side.values().length;
+
+	// The number of each piece, indexed by (side * PieceType.COUNT + type) * MAX_SQUARES + square
+	private static final long[] PIECE_KEYS = new long[SIDES * PieceType.COUNT * MAX_SQUARES];
+
+	// The number of each side to move
+	private static final long[] TURN_KEYS = new long[SIDES];
+
+	static {
+		// A fixed seed gives the same keys on every run, so keys can be stored and compared between runs
+		Random random = new Random(0x5EED5EEDL);
+		for (int i = 0; i < PIECE_KEYS.length; i++)
+			PIECE_KEYS[i] = random.nextLong();
+
+		// The first side has no number, so a position's key only changes when the turn passes to another side
+		for (int i = 1; i < SIDES; i++)
+			TURN_KEYS[i] = random.nextLong();
+	}
+
+	/**
+	 * There are no ZobristKeys objects
+	 */
+	private ZobristKeys() {
+	}
+
+	/**
+	 * Returns the number of a piece standing on a square
+	 * @param piece		the piece
+	 * @param square	the square (row * columns + column) the piece stands on
+	 * @return the number of the piece on the square
+	 */
+	public static long pieceKey(ChessPiece piece, int square) {
+		return PIECE_KEYS[(piece.getSide().ordinal() * PieceType.COUNT + piece.getType().ordinal()) * MAX_SQUARES + square];
+	}
+
+	/**
+	 * Returns the number of the side to move
+	 * @param side		the side to move
+	 * @return the number of the side to move
+	 */
+	public static long turnKey(ChessGame.Side side) {
+		return TURN_KEYS[side.ordinal()];
+	}
+
+	/**
+	 * Computes the key of the position on the board from scratch, by looking at every square
+	 * The board keeps its key up to date as pieces move, so this is only needed to check that key
+	 * @param board		the board to compute the key of
+	 * @return the Zobrist key of the position on the board
+	 */
+	public static long computeKey(ChessBoard board) {
+		ChessGame game = board.getGameRules();
+		long key = turnKey(game.getCurrentTurn());
+		for (int row = 0; row < game.getNumRows(); row++) {
+			for (int column = 0; column < game.getNumColumns(); column++) {
+				if (board.hasPiece(row, column))
+					key ^= pieceKey(board.getPiece(row, column), row * game.getNumColumns() + column);
+			}
+		}
+		return key;
+	}
+}
@@ -0,0 +1,186 @@
+package engine;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import chess.ChessGame;
+import chess.Move;
+import chess.MoveList;
+import chess.Position;
+import graphics.ChessBoard;
+
+/**
+ * Plays one side of a game under a clock, thinking on the opponent's time as well as its own.
+ *
+ * Each move is searched on a copy of the board, under a TimeManager made from the time left on the clock.
+ * The table is kept from move to move, and after each move the player looks up the reply it expects
+ * (the best move the table holds for the position after its move). While the opponent thinks, the player
+ * ponders: it searches the position after the expected reply on a thread of its own. When the opponent plays
+ * that move, the pondering search carries on under the player's clock, and replies at once if it has
+ * already thought for as long as the move was due; when the opponent plays another move, the pondering
+ * is stopped, and the new search still finds much of what it needs in the table.
+ * A player is used from one thread at a time; call shutdown when done with it
+ * @author Phila Dlamini
+ *
+ */
+public class EnginePlayer {
+
+	// Makes the evaluator of each board searched
+	private final Function<ChessBoard, Evaluator> evaluators;
+
+	// What the searches have found, kept from move to move
+	private final TranspositionTable table;
+
+	// Runs the pondering search
+	private final ExecutorService ponderThread;
+
+	// The reply expected to the last move found, or Move.NONE if there is none
+	private int predictedMove = Move.NONE;
+
+	// The clock of the pondering search, the position it searches (see Position) and its result,
+	// while the player is pondering
+	private TimeManager ponderClock;
+	private String ponderPosition;
+	private Future<Integer> ponderResult;
+
+	// True if the last move was found by pondering on the move the opponent played
+	private boolean ponderHit;
+
+	/**
+	 * Constructs a player
+	 * @param evaluators		makes the evaluator of each board searched
+	 * @param tableMegabytes	the size of the transposition table
+	 */
+	public EnginePlayer(Function<ChessBoard, Evaluator> evaluators, int tableMegabytes) {
+		this.evaluators = evaluators;
+		table = new TranspositionTable(tableMegabytes);
+		ponderThread = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "EnginePlayer ponder");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Finds the move of the side to play on the board, taking the pondering search's move if the board
+	 * holds the position it was pondering on. The board is only read
+	 * @param board				the board to find a move on
+	 * @param remainingMillis	the milliseconds left on the clock of the side to play
+	 * @param incrementMillis	the milliseconds added to the clock after each move
+	 * @return the move to play, or Move.NONE if the side to play has no legal move
+	 */
+	public int think(ChessBoard board, long remainingMillis, long incrementMillis) {
+		int move = Move.NONE;
+		ponderHit = false;
+		if (ponderResult != null && Position.toText(board).equals(ponderPosition)) {
+			ponderClock.ponderHit();
+			move = waitForPonder();
+			ponderHit = move != Move.NONE;
+		}
+		stopPondering();
+
+		ChessBoard copy = Position.copy(board);
+		if (move == Move.NONE) {
+			Search search = new Search(copy, evaluators.apply(copy), table);
+			move = search.search(Search.MAX_PLY, new TimeManager(remainingMillis, incrementMillis, 0, false));
+		}
+		predictedMove = move == Move.NONE ? Move.NONE : predictReply(copy, move);
+		return move;
+	}
+
+	/**
+	 * Starts pondering on the opponent's time, on the position after the reply expected to the player's last move
+	 * (nothing is done if no reply is expected). The board is copied, so it may be used while the player ponders
+	 * @param board				the board after the player's last move, with the opponent to play
+	 * @param remainingMillis	the milliseconds left on the player's clock
+	 * @param incrementMillis	the milliseconds added to the player's clock after each move
+	 */
+	public void startPondering(ChessBoard board, long remainingMillis, long incrementMillis) {
+		stopPondering();
+		if (predictedMove == Move.NONE)
+			return;
+		ChessBoard copy = Position.copy(board);
+		MoveList moves = new MoveList();
+		copy.getGameRules().generateLegalMoves(copy, moves);
+		if (!moves.contains(predictedMove))
+			return;
+		copy.getGameRules().doMove(copy, predictedMove);
+
+		Search search = new Search(copy, evaluators.apply(copy), table);
+		TimeManager clock = new TimeManager(remainingMillis, incrementMillis, 0, true);
+		ponderClock = clock;
+		ponderPosition = Position.toText(copy);
+		ponderResult = ponderThread.submit(() -> search.search(Search.MAX_PLY, clock));
+	}
+
+	/**
+	 * Stops pondering, if the player is (for instance when the opponent played another move, or the game is over)
+	 */
+	public void stopPondering() {
+		if (ponderResult == null)
+			return;
+		ponderClock.stop();
+		waitForPonder();
+	}
+
+	/**
+	 * Stops the pondering thread; the player cannot be used after this
+	 */
+	public void shutdown() {
+		stopPondering();
+		ponderThread.shutdownNow();
+	}
+
+	/**
+	 * Returns the reply expected to the last move found
+	 * @return the expected reply, or Move.NONE if there is none
+	 */
+	public int getPredictedMove() {
+		return predictedMove;
+	}
+
+	/**
+	 * Returns true while the player is pondering
+	 * @return true while pondering
+	 */
+	public boolean isPondering() {
+		return ponderResult != null;
+	}
+
+	/**
+	 * Returns true if the last move was found by pondering, because the opponent played the expected move
+	 * @return true if the last move was a ponder hit
+	 */
+	public boolean wasPonderHit() {
+		return ponderHit;
+	}
+
+	/**
+	 * Waits for the pondering search to finish, and forgets it (see Tasks.join)
+	 * @return the move it found, or Move.NONE if it found none
+	 */
+	private int waitForPonder() {
+		try {
+			return Tasks.join(ponderResult);
+		} finally {
+			ponderClock = null;
+			ponderPosition = null;
+			ponderResult = null;
+		}
+	}
+
+	/**
+	 * Returns the best move the table holds for the opponent after a move, if it is legal
+	 */
+	private int predictReply(ChessBoard board, int move) {
+		ChessGame game = board.getGameRules();
+		game.doMove(board, move);
+		int reply = TranspositionTable.move(table.probe(board.getZobristKey()));
+		MoveList moves = new MoveList();
+		game.generateLegalMoves(board, moves);
+		game.undoMove(board);
+		return moves.contains(reply) ? reply : Move.NONE;
+	}
+}
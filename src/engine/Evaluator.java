@@ -0,0 +1,19 @@
+package engine;
+
+import graphics.ChessBoard;
+
+/**
+ * Scores positions for the search
+ * @author Phila Dlamini
+ *
+ */
+public interface Evaluator {
+
+	/**
+	 * Returns how good the position on the board is for the side to play, in hundredths of a pawn (or soldier).
+	 * The score must be well inside Search.MATE in both directions
+	 * @param board		the board to score
+	 * @return the score of the position for the side to play
+	 */
+	public int evaluate(ChessBoard board);
+}
@@ -0,0 +1,154 @@
+package engine;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import chess.Move;
+import chess.Position;
+import graphics.ChessBoard;
+
+/**
+ * Searches on several threads at once with Lazy SMP: every thread searches the same root with its own Search,
+ * on its own copy of the board, and all of them share one TranspositionTable. The threads do not divide the work
+ * between them; they speed each other up through the table, where each finds the scores and best moves the others
+ * have stored. The helper threads search only some of the depths, so they run ahead of the main search and
+ * fill the table with what it will need next.
+ *
+ * The main search runs on the thread that calls search, on the board given to the constructor. Every search keeps
+ * to the budget of nodes and time, and when the main search is done the helpers are stopped, and the move of
+ * whichever search finished the deepest depth is played (the main search's when there is a tie).
+ * The helpers run on platform threads that are kept between searches; call shutdown when done with the search
+ * @author Phila Dlamini
+ *
+ */
+public class LazySmpSearch {
+
+	// The main search, on the board the moves are wanted for
+	private final Search main;
+
+	// The board the search is for, which the helpers' boards are copied from
+	private final ChessBoard board;
+
+	// The table shared by all of the searches
+	private final TranspositionTable table;
+
+	// Makes the evaluator of each thread's board
+	private final Function<ChessBoard, Evaluator> evaluators;
+
+	// The helper searches, made afresh on a copy of the board for each search
+	private final Search[] helpers;
+
+	// Runs the helpers
+	private final ExecutorService pool;
+
+	// The best move found by the last search, and its score and depth
+	private int bestMove;
+	private int score;
+	private int depth;
+
+	// The number of positions all of the threads looked at in the last search
+	private long nodes;
+
+	/**
+	 * Constructs a search on a board
+	 * @param board				the board to search (see Search)
+	 * @param evaluators		makes the evaluator of each thread for the board the thread searches
+	 * @param threads			the number of threads to search on, counting the calling thread
+	 * @param tableMegabytes	the size of the shared transposition table
+	 */
+	public LazySmpSearch(ChessBoard board, Function<ChessBoard, Evaluator> evaluators, int threads, int tableMegabytes) {
+		this.board = board;
+		this.evaluators = evaluators;
+		table = new TranspositionTable(tableMegabytes);
+		main = new Search(board, evaluators.apply(board), table);
+		helpers = new Search[Math.max(threads, 1) - 1];
+		pool = helpers.length == 0 ? null : Executors.newFixedThreadPool(helpers.length, runnable -> {
+			Thread thread = new Thread(runnable, "LazySmpSearch helper");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Searches for the best move of the side to play on every thread (see Search.search)
+	 * @param maxDepth		the deepest depth to search
+	 * @param maxNodes		the most positions each thread looks at, or 0 for no limit
+	 * @param maxMillis		the most milliseconds to search for, or 0 for no limit
+	 * @return the best move found, or Move.NONE if the side to play has no legal move
+	 */
+	public int search(int maxDepth, long maxNodes, long maxMillis) {
+		Future<?>[] running = new Future<?>[helpers.length];
+		for (int i = 0; i < helpers.length; i++) {
+			ChessBoard copy = Position.copy(board);
+			Search helper = new Search(copy, evaluators.apply(copy), table);
+			helper.setHelper(i + 1);
+			helpers[i] = helper;
+			running[i] = pool.submit(() -> helper.search(maxDepth, maxNodes, maxMillis));
+		}
+
+		//The main search ages the table (the helpers do not), so a helper's first entries may look a search old
+		//A helper told to stop before it has started stops as soon as it starts
+		try {
+			bestMove = main.search(maxDepth, maxNodes, maxMillis);
+		} finally {
+			for (Search helper : helpers)
+				helper.stop();
+		}
+		score = main.getScore();
+		depth = main.getDepth();
+		nodes = main.getNodes();
+
+		for (int i = 0; i < helpers.length; i++) {
+			Tasks.join(running[i]);
+			if (helpers[i].getDepth() > depth && helpers[i].getBestMove() != Move.NONE) {
+				bestMove = helpers[i].getBestMove();
+				score = helpers[i].getScore();
+				depth = helpers[i].getDepth();
+			}
+			nodes += helpers[i].getNodes();
+		}
+		return bestMove;
+	}
+
+	/**
+	 * Stops the helper threads; the search cannot be used after this
+	 */
+	public void shutdown() {
+		if (pool != null)
+			pool.shutdownNow();
+	}
+
+	/**
+	 * Returns the best move found by the last search
+	 * @return the best move, or Move.NONE if there was none
+	 */
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * Returns the score of the best move found by the last search, for the side that was to play
+	 * @return the score, in hundredths of a pawn
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Returns the deepest depth a thread finished in the last search
+	 * @return the depth, in moves
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Returns the number of positions all of the threads looked at in the last search
+	 * @return the number of positions
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+}
@@ -0,0 +1,53 @@
+package engine;
+
+import chess.ChessGame;
+import chess.Xiangqi;
+import graphics.ChessBoard;
+import piecetypes.PieceType;
+
+/**
+ * Scores a position by the pieces each side has left
+ * @author Phila Dlamini
+ *
+ */
+public class MaterialEvaluator implements Evaluator {
+
+	// The value of each piece type (by ordinal) in European chess
+	private static final int[] EUROPEAN_VALUES = {100, 320, 330, 500, 900, 0, 0, 0, 0, 0, 0, 0};
+
+	// The value of each piece type in Xiangqi (the chariot is a ROOK)
+	private static final int[] XIANGQI_VALUES = {0, 0, 0, 900, 0, 0, 450, 400, 200, 200, 100, 0};
+
+	/**
+	 * Returns the material of the side to play less the material of the other side
+	 * @param board		the board to score
+	 * @return the score of the position for the side to play
+	 */
+	@Override
+	public int evaluate(ChessBoard board) {
+		ChessGame game = board.getGameRules();
+		int[] values = game instanceof Xiangqi ? XIANGQI_VALUES : EUROPEAN_VALUES;
+		ChessGame.Side side = game.getCurrentTurn();
+		return material(board, side, values) - material(board, ChessGame.toggleTurn(side), values);
+	}
+
+	/**
+	 * Returns the value of one piece type in a game
+	 * @param game	the game being played
+	 * @param type	the type of the piece
+	 * @return the value of the piece, in hundredths of a pawn
+	 */
+	public static int value(ChessGame game, PieceType type) {
+		return (game instanceof Xiangqi ? XIANGQI_VALUES : EUROPEAN_VALUES)[type.ordinal()];
+	}
+
+	/**
+	 * Adds up the values of the pieces of a side
+	 */
+	private static int material(ChessBoard board, ChessGame.Side side, int[] values) {
+		int material = 0;
+		for (int i = 0; i < board.getPieceCount(side); i++)
+			material += values[board.getPiece(board.getPieceSquare(side, i)).getType().ordinal()];
+		return material;
+	}
+}
@@ -0,0 +1,341 @@
+package engine;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+import chess.ChessGame;
+import chess.Move;
+import chess.MoveList;
+import chess.Position;
+import graphics.ChessBoard;
+
+/**
+ * Searches for the best move with Monte Carlo tree search, an alternative to the alpha-beta Search that copes
+ * better with many moves per position (as in Xiangqi). Every playout walks down the tree, picking the child
+ * with the best upper confidence bound (UCT), adds the children of the position it ends on once that position
+ * has been reached before, plays random moves from there, and adds the result to every node on the way back up.
+ * A playout that reaches its length without the game ending is scored by an Evaluator instead.
+ * The move played is the root's most visited child.
+ *
+ * The tree is kept in primitive arrays indexed by node (node 0 is the root), with the children of a node next to
+ * each other, so it makes no object per node. Any number of threads walk the tree at once, each on its own copy
+ * of the board. A thread counts its visit to a node on the way down (a virtual loss, until the result is added
+ * on the way back), so the threads spread out over the tree rather than all following the same line.
+ * A node's children are added by whichever thread claims it first; the others play out from the node meanwhile.
+ * The helpers run on platform threads that are kept between searches; call shutdown when done with the search
+ * @author Phila Dlamini
+ *
+ */
+public class MonteCarloSearch {
+
+	/**
+	 * The result of a won playout (a drawn one is half of this, and a lost one 0)
+	 */
+	public static final int WIN = 1000;
+
+	// The number of random moves in a playout before the evaluator scores it
+	private static final int PLAYOUT_LENGTH = 40;
+
+	// The number of visits a node needs before its children are added
+	private static final int EXPAND_VISITS = 2;
+
+	// How much the search explores moves it has visited less
+	private static final double EXPLORATION = 1.4;
+
+	// The score (in hundredths of a pawn) that is counted as three quarters of a win
+	private static final double EVALUATION_SCALE = 400 / Math.log(3);
+
+	// The first child of a node not yet given children, and of a node being given children or that has none
+	private static final int UNEXPANDED = 0;
+	private static final int LEAF = -1;
+
+	// The board the search is for, which the helpers' boards are copied from
+	private final ChessBoard board;
+
+	// Makes the evaluator of each thread's board
+	private final Function<ChessBoard, Evaluator> evaluators;
+
+	// The number of threads that search, counting the calling thread
+	private final int threads;
+
+	// Runs the helpers
+	private final ExecutorService pool;
+
+	// The move that leads to each node, and the number of children of each node
+	private final int[] moves;
+	private final int[] childCounts;
+
+	// The first child of each node (or UNEXPANDED or LEAF), set last so that the children are ready when it is seen
+	private final AtomicIntegerArray firstChildren;
+
+	// The visits of each node (counting visits whose results are not back yet) and the results of the
+	// playouts through each node, for the side that made the move leading to it
+	private final AtomicIntegerArray visits;
+	private final AtomicLongArray results;
+
+	// The number of nodes used
+	private final AtomicInteger nodeCount;
+
+	// The playouts finished in this search, and the most to finish
+	private final AtomicLong playouts;
+	private long maxPlayouts;
+
+	// When the search must stop (System.nanoTime), and whether it has been told to stop
+	private long deadline;
+	private volatile boolean stopped;
+
+	// The best move found by the last search
+	private int bestMove;
+
+	/**
+	 * Constructs a search on a board
+	 * @param board			the board to search (see Search)
+	 * @param evaluators	makes the evaluator of each thread for the board the thread searches
+	 * @param threads		the number of threads to search on, counting the calling thread
+	 * @param maxNodes		the most nodes the tree can hold
+	 */
+	public MonteCarloSearch(ChessBoard board, Function<ChessBoard, Evaluator> evaluators, int threads, int maxNodes) {
+		this.board = board;
+		this.evaluators = evaluators;
+		this.threads = Math.max(threads, 1);
+		pool = this.threads == 1 ? null : Executors.newFixedThreadPool(this.threads - 1, runnable -> {
+			Thread thread = new Thread(runnable, "MonteCarloSearch helper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		moves = new int[maxNodes];
+		childCounts = new int[maxNodes];
+		firstChildren = new AtomicIntegerArray(maxNodes);
+		visits = new AtomicIntegerArray(maxNodes);
+		results = new AtomicLongArray(maxNodes);
+		nodeCount = new AtomicInteger();
+		playouts = new AtomicLong();
+	}
+
+	/**
+	 * Searches for the best move of the side to play on every thread, with a new tree
+	 * @param maxPlayouts	the most playouts to play, or 0 for no limit
+	 * @param maxMillis		the most milliseconds to search for, or 0 for no limit
+	 * @return the best move found, or Move.NONE if the side to play has no legal move
+	 */
+	public int search(long maxPlayouts, long maxMillis) {
+		for (int node = 0; node < nodeCount.get(); node++) {
+			firstChildren.set(node, UNEXPANDED);
+			visits.set(node, 0);
+			results.set(node, 0);
+		}
+		nodeCount.set(1);
+		playouts.set(0);
+		this.maxPlayouts = maxPlayouts > 0 ? maxPlayouts : Long.MAX_VALUE;
+		deadline = maxMillis > 0 ? System.nanoTime() + maxMillis * 1000000 : Long.MAX_VALUE;
+		stopped = false;
+
+		Future<?>[] running = new Future<?>[threads - 1];
+		for (int i = 0; i < running.length; i++) {
+			ChessBoard copy = Position.copy(board);
+			Evaluator evaluator = evaluators.apply(copy);
+			Random random = new Random(i + 1);
+			running[i] = pool.submit(() -> run(copy, evaluator, random));
+		}
+		//The helpers stop with the calling thread, even if it fails
+		try {
+			run(board, evaluators.apply(board), new Random(0));
+		} finally {
+			stopped = true;
+		}
+		for (Future<?> helper : running)
+			Tasks.join(helper);
+
+		//Play the most visited move
+		bestMove = Move.NONE;
+		int first = firstChildren.get(0);
+		int mostVisits = -1;
+		for (int child = first; first > 0 && child < first + childCounts[0]; child++) {
+			if (visits.get(child) > mostVisits) {
+				mostVisits = visits.get(child);
+				bestMove = moves[child];
+			}
+		}
+		return bestMove;
+	}
+
+	/**
+	 * Stops the search (from another thread); the best move found so far is played
+	 */
+	public void stop() {
+		stopped = true;
+	}
+
+	/**
+	 * Stops the helper threads; the search cannot be used after this
+	 */
+	public void shutdown() {
+		if (pool != null)
+			pool.shutdownNow();
+	}
+
+	/**
+	 * Plays playouts on one thread until the search is stopped or its budget is used up
+	 * @param board			the thread's own board
+	 * @param evaluator		the evaluator of the thread's board
+	 * @param random		chooses the moves of the playouts
+	 */
+	private void run(ChessBoard board, Evaluator evaluator, Random random) {
+		ChessGame game = board.getGameRules();
+		MoveList moveList = new MoveList();
+		int[] path = new int[Search.MAX_PLY * 4];
+		while (!stopped) {
+			if (playouts.get() >= maxPlayouts || System.nanoTime() > deadline) {
+				stopped = true;
+				break;
+			}
+
+			//Walk down the tree, counting each visit now
+			int length = 0;
+			int node = 0;
+			visits.incrementAndGet(0);
+			while (length < path.length) {
+				int first = firstChildren.get(node);
+				if (first == UNEXPANDED && (node == 0 || visits.get(node) >= EXPAND_VISITS))
+					first = expand(board, node, moveList);
+				if (first <= 0)
+					break;
+				node = select(node, first);
+				game.doMove(board, moves[node]);
+				visits.incrementAndGet(node);
+				path[length++] = node;
+			}
+
+			//Add the result for the side that moved into each node, going back up
+			int result = playout(board, evaluator, random, moveList);
+			for (int i = length - 1; i >= 0; i--) {
+				result = WIN - result;
+				results.addAndGet(path[i], result);
+				game.undoMove(board);
+			}
+			playouts.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Adds the legal moves of the position on the board as the children of a node, if no other thread is
+	 * doing so and the tree has room
+	 * @return the first child of the node, or LEAF if it has no children
+	 */
+	private int expand(ChessBoard board, int node, MoveList moveList) {
+		if (!firstChildren.compareAndSet(node, UNEXPANDED, LEAF))
+			return firstChildren.get(node);
+		board.getGameRules().generateLegalMoves(board, moveList);
+		int count = moveList.size();
+		int first;
+		do {
+			first = nodeCount.get();
+			if (count == 0 || first + count > moves.length)
+				return LEAF;
+		} while (!nodeCount.compareAndSet(first, first + count));
+
+		for (int i = 0; i < count; i++)
+			moves[first + i] = moveList.get(i);
+		childCounts[node] = count;
+		firstChildren.set(node, first);
+		return first;
+	}
+
+	/**
+	 * Returns the child of a node with the best upper confidence bound, or the first child not yet visited
+	 */
+	private int select(int node, int first) {
+		double logVisits = Math.log(Math.max(visits.get(node), 1));
+		int best = first;
+		double bestBound = Double.NEGATIVE_INFINITY;
+		for (int child = first; child < first + childCounts[node]; child++) {
+			int childVisits = visits.get(child);
+			if (childVisits == 0)
+				return child;
+			double bound = results.get(child) / (childVisits * (double) WIN) + EXPLORATION * Math.sqrt(logVisits / childVisits);
+			if (bound > bestBound) {
+				bestBound = bound;
+				best = child;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Plays random moves from the position on the board until the game ends or the playout is long enough,
+	 * then takes them back. Of two moves picked at random, a capture is played before a quiet move
+	 * @return the result for the side to play at the start of the playout, from 0 to WIN
+	 */
+	private int playout(ChessBoard board, Evaluator evaluator, Random random, MoveList moveList) {
+		ChessGame game = board.getGameRules();
+		int result;
+		int played = 0;
+		while (true) {
+			game.generateLegalMoves(board, moveList);
+			if (moveList.size() == 0) {
+				boolean lost = game.stalemateIsLoss() || game.isInCheck(board, game.getCurrentTurn());
+				result = lost ? 0 : WIN / 2;
+				break;
+			}
+			if (played == PLAYOUT_LENGTH) {
+				result = (int) (WIN / (1 + Math.exp(-evaluator.evaluate(board) / EVALUATION_SCALE)));
+				break;
+			}
+			int move = moveList.get(random.nextInt(moveList.size()));
+			if (board.getPiece(Move.to(move)) == null) {
+				int other = moveList.get(random.nextInt(moveList.size()));
+				if (board.getPiece(Move.to(other)) != null)
+					move = other;
+			}
+			game.doMove(board, move);
+			played++;
+		}
+		for (int i = 0; i < played; i++)
+			game.undoMove(board);
+		return played % 2 == 0 ? result : WIN - result;
+	}
+
+	/**
+	 * Returns the best move found by the last search
+	 * @return the best move, or Move.NONE if there was none
+	 */
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * Returns how often the best move won its playouts in the last search, for the side that was to play
+	 * @return the share of WIN the best move's playouts scored, from 0 to WIN
+	 */
+	public int getResult() {
+		int first = firstChildren.get(0);
+		for (int child = first; first > 0 && child < first + childCounts[0]; child++) {
+			if (moves[child] == bestMove && visits.get(child) > 0)
+				return (int) (results.get(child) / visits.get(child));
+		}
+		return WIN / 2;
+	}
+
+	/**
+	 * Returns the number of playouts all of the threads finished in the last search
+	 * @return the number of playouts
+	 */
+	public long getPlayouts() {
+		return playouts.get();
+	}
+
+	/**
+	 * Returns the number of nodes in the tree of the last search
+	 * @return the number of nodes
+	 */
+	public int getNodes() {
+		return nodeCount.get();
+	}
+}
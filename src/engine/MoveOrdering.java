@@ -0,0 +1,176 @@
+package engine;
+
+import chess.ChessGame;
+import chess.Move;
+import chess.MoveList;
+import graphics.ChessBoard;
+import piecetypes.ChessPiece;
+import piecetypes.PieceType;
+
+/**
+ * Puts the moves of a position in the order the search should try them, so that a move good enough to cut the
+ * search off usually comes first. The order is: the move stored in the transposition table, captures and upgrades
+ * (the most valuable victim first, and of those the least valuable attacker first), the two killer moves of the ply
+ * (quiet moves that cut the search off at the same ply elsewhere in the tree), the countermove of the move just
+ * played (the quiet move that last cut off after it), and then the other quiet moves by their history
+ * (how often and how deep each from and to square pair has cut the search off for the side).
+ *
+ * Everything is kept in int arrays indexed by the low 14 bits of the packed move (the two squares),
+ * which fit both the 64 and the 90 square boards. Each Search keeps its own MoveOrdering,
+ * so threads searching at once never share one
+ * @author Phila Dlamini
+ *
+ */
+public class MoveOrdering {
+
+	// The score of the move from the transposition table
+	private static final int HASH_MOVE = 1 << 30;
+
+	// The score of a capture or upgrade, before its victim and attacker are added
+	private static final int CAPTURE = 1 << 28;
+
+	// The scores of the two killer moves and the countermove
+	private static final int KILLER = 1 << 27;
+	private static final int COUNTERMOVE = KILLER - 2;
+
+	// History scores are kept between -MAX_HISTORY and MAX_HISTORY, below the countermove
+	private static final int MAX_HISTORY = 1 << 20;
+
+	// The number of from and to square pairs
+	private static final int SQUARE_PAIRS = 1 << 14;
+
+	// The number of sides
+	private static final int SIDES = ChessGame.Side.values().length;
+
+	// The two killer moves of each ply
+	private final int[] killers = new int[Search.MAX_PLY * 2];
+
+	// The history of each side's moves, indexed by side * SQUARE_PAIRS + the move's squares
+	private final int[] history = new int[SIDES * SQUARE_PAIRS];
+
+	// The quiet move of each side that last cut off after the other side's move, indexed like history by the move it answers
+	private final int[] countermoves = new int[SIDES * SQUARE_PAIRS];
+
+	/**
+	 * Gets ready for a new search: the killers are forgotten, and the history counts for half
+	 */
+	public void newSearch() {
+		for (int i = 0; i < killers.length; i++)
+			killers[i] = Move.NONE;
+		for (int i = 0; i < history.length; i++)
+			history[i] /= 2;
+	}
+
+	/**
+	 * Scores each move of a list for ordering
+	 * @param board			the board the moves are for
+	 * @param moves			the moves of the side to play
+	 * @param scores		filled with the score of each move (it must be at least as long as the list)
+	 * @param hashMove		the move from the transposition table, or Move.NONE
+	 * @param ply			the number of moves from the root
+	 * @param lastMove		the move that led to the position, or Move.NONE
+	 */
+	public void score(ChessBoard board, MoveList moves, int[] scores, int hashMove, int ply, int lastMove) {
+		ChessGame game = board.getGameRules();
+		int side = game.getCurrentTurn().ordinal();
+		int countermove = lastMove == Move.NONE ? Move.NONE : countermoves[side * SQUARE_PAIRS + squares(lastMove)];
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			ChessPiece victim = board.getPiece(Move.to(move));
+			PieceType upgrade = Move.upgrade(move);
+			if (move == hashMove) {
+				scores[i] = HASH_MOVE;
+			} else if (victim != null || upgrade != null) {
+				int gain = (victim == null ? 0 : StaticExchange.value(game, victim))
+						+ (upgrade == null ? 0 : MaterialEvaluator.value(game, upgrade));
+				scores[i] = CAPTURE + 16 * gain - StaticExchange.value(game, board.getPiece(Move.from(move))) / 100;
+			} else if (move == killers[2 * ply]) {
+				scores[i] = KILLER;
+			} else if (move == killers[2 * ply + 1]) {
+				scores[i] = KILLER - 1;
+			} else if (move == countermove) {
+				scores[i] = COUNTERMOVE;
+			} else {
+				scores[i] = history[side * SQUARE_PAIRS + squares(move)];
+			}
+		}
+	}
+
+	/**
+	 * Moves the best scored move from the index on to the index, and returns it. Calling this for each index in turn
+	 * tries the moves in order while only sorting as far as the search gets
+	 * @param moves		the moves
+	 * @param scores	the scores of the moves (see score)
+	 * @param index		the index of the next move to try
+	 * @return the move to try next
+	 */
+	public int next(MoveList moves, int[] scores, int index) {
+		int best = index;
+		for (int i = index + 1; i < moves.size(); i++) {
+			if (scores[i] > scores[best])
+				best = i;
+		}
+		int move = moves.get(best);
+		if (best != index) {
+			moves.set(best, moves.get(index));
+			moves.set(index, move);
+			int score = scores[best];
+			scores[best] = scores[index];
+			scores[index] = score;
+		}
+		return move;
+	}
+
+	/**
+	 * Returns true if a move is a capture or upgrade, which are ordered by what they win rather than remembered
+	 * @param board		the board the move is for
+	 * @param move		the packed move
+	 * @return true if the move takes a piece or upgrades a pawn
+	 */
+	public static boolean isTactical(ChessBoard board, int move) {
+		return board.getPiece(Move.to(move)) != null || Move.upgrade(move) != null;
+	}
+
+	/**
+	 * Remembers a quiet move that cut the search off: it becomes the first killer of the ply and the countermove
+	 * of the last move, its history goes up, and the history of the quiet moves tried before it goes down
+	 * @param board		the board the move was made on
+	 * @param moves		the moves of the position, with the moves tried before the move at the front (see next)
+	 * @param index		the index of the move that cut off
+	 * @param depth		the depth that was left (deeper cutoffs count for more)
+	 * @param ply		the number of moves from the root
+	 * @param lastMove	the move that led to the position, or Move.NONE
+	 */
+	public void cutoff(ChessBoard board, MoveList moves, int index, int depth, int ply, int lastMove) {
+		int move = moves.get(index);
+		int side = board.getGameRules().getCurrentTurn().ordinal();
+		if (killers[2 * ply] != move) {
+			killers[2 * ply + 1] = killers[2 * ply];
+			killers[2 * ply] = move;
+		}
+		if (lastMove != Move.NONE)
+			countermoves[side * SQUARE_PAIRS + squares(lastMove)] = move;
+
+		int bonus = Math.min(depth * depth, 400);
+		addHistory(side * SQUARE_PAIRS + squares(move), bonus);
+		for (int i = 0; i < index; i++) {
+			if (!isTactical(board, moves.get(i)))
+				addHistory(side * SQUARE_PAIRS + squares(moves.get(i)), -bonus);
+		}
+	}
+
+	/**
+	 * Adds to a history score, pulling it back towards zero the nearer it is to its limit so it never passes it
+	 */
+	private void addHistory(int index, int bonus) {
+		history[index] += bonus * 1024 - history[index] * Math.abs(bonus) / 400;
+		history[index] = Math.max(-MAX_HISTORY, Math.min(MAX_HISTORY, history[index]));
+	}
+
+	/**
+	 * Returns the from and to squares of a move, as an index
+	 */
+	private static int squares(int move) {
+		return move & (SQUARE_PAIRS - 1);
+	}
+}
@@ -0,0 +1,163 @@
+package engine;
+
+import chess.ChessGame;
+import graphics.ChessBoard;
+import graphics.PieceListener;
+import piecetypes.ChessPiece;
+import piecetypes.PieceType;
+
+/**
+ * Scores positions with a NeuralNetwork, in place of the hand-written evaluators.
+ *
+ * The evaluator keeps the feature transformer's sums seen from each side (the accumulators) and listens to
+ * the pieces placed on and taken off its board, adding or taking away the weights of one feature per piece.
+ * Making or taking back a move therefore costs a few runs over the accumulators, and scoring a position only
+ * runs the small dense layers. The loops are plain runs over arrays, which the JIT compiler can turn into
+ * SIMD instructions itself. An evaluator belongs to one board, which it takes over as the board's PieceListener
+ * @author Phila Dlamini
+ *
+ */
+public class NeuralEvaluator implements Evaluator, PieceListener {
+
+	// The largest score the evaluator gives, well inside Search.MATE
+	private static final int MAX_SCORE = 10000;
+
+	// The network scoring the positions
+	private final NeuralNetwork network;
+
+	// The game being played on the board
+	private final ChessGame game;
+
+	// The number of rows and columns of the board
+	private final int rows;
+	private final int columns;
+
+	// The sums of the feature transformer seen from the south (0) and from the north (1)
+	private final short[][] accumulators;
+
+	// The clipped sums of the side to play and then the other side, and the hidden layer's sums and clipped outputs
+	private final int[] inputs;
+	private final int[] hiddenSums;
+	private final int[] hiddenOutputs;
+
+	/**
+	 * Constructs the evaluator for a board, adding up the pieces already on it
+	 * and listening to the board from then on
+	 * @param board		the board the evaluator scores
+	 * @param network	the network to score positions with
+	 * @throws IllegalArgumentException if the network is for a board with a different number of squares
+	 */
+	public NeuralEvaluator(ChessBoard board, NeuralNetwork network) {
+		game = board.getGameRules();
+		rows = game.getNumRows();
+		columns = game.getNumColumns();
+		if (network.getSquares() != rows * columns)
+			throw new IllegalArgumentException("The network is for a board of " + network.getSquares() + " squares");
+		this.network = network;
+		accumulators = new short[2][];
+		accumulators[0] = network.featureBiases.clone();
+		accumulators[1] = network.featureBiases.clone();
+		inputs = new int[2 * network.hidden];
+		hiddenSums = new int[network.hidden2];
+		hiddenOutputs = new int[network.hidden2];
+
+		for (ChessGame.Side side : ChessGame.Side.values()) {
+			for (int i = 0; i < board.getPieceCount(side); i++) {
+				int square = board.getPieceSquare(side, i);
+				pieceAdded(board.getPiece(square), square);
+			}
+		}
+		board.setPieceListener(this);
+	}
+
+	/**
+	 * Runs the dense layers of the network on the accumulators, the side to play's first
+	 * @param board		the board to score (the board the evaluator was made for)
+	 * @return the score of the position for the side to play
+	 */
+	@Override
+	public int evaluate(ChessBoard board) {
+		int hidden = network.hidden;
+		int own = perspective(game.getCurrentTurn());
+		clip(accumulators[own], inputs, 0, hidden);
+		clip(accumulators[1 - own], inputs, hidden, hidden);
+
+		//The hidden layer, skipping the inputs clipped to 0 (most of them), with the weights of each input together
+		byte[] weights = network.hiddenWeights;
+		int[] sums = hiddenSums;
+		System.arraycopy(network.hiddenBiases, 0, sums, 0, sums.length);
+		for (int i = 0, start = 0; i < inputs.length; i++, start += sums.length) {
+			int input = inputs[i];
+			if (input == 0)
+				continue;
+			for (int output = 0; output < sums.length; output++)
+				sums[output] += input * weights[start + output];
+		}
+		for (int output = 0; output < sums.length; output++)
+			hiddenOutputs[output] = Math.max(0, Math.min(NeuralNetwork.CLIP, sums[output] >> NeuralNetwork.WEIGHT_SHIFT));
+
+		//The output
+		int sum = network.outputBias;
+		for (int i = 0; i < hiddenOutputs.length; i++)
+			sum += hiddenOutputs[i] * network.outputWeights[i];
+		return Math.max(-MAX_SCORE, Math.min(MAX_SCORE, sum / NeuralNetwork.OUTPUT_DIVISOR));
+	}
+
+	/**
+	 * Adds the piece's feature to the accumulator of each side
+	 * @param piece		the piece placed
+	 * @param square	the square it was placed on
+	 */
+	@Override
+	public void pieceAdded(ChessPiece piece, int square) {
+		for (int perspective = 0; perspective < 2; perspective++) {
+			short[] accumulator = accumulators[perspective];
+			short[] weights = network.featureWeights;
+			int start = feature(piece, square, perspective) * accumulator.length;
+			for (int i = 0; i < accumulator.length; i++)
+				accumulator[i] += weights[start + i];
+		}
+	}
+
+	/**
+	 * Takes the piece's feature out of the accumulator of each side
+	 * @param piece		the piece taken off
+	 * @param square	the square it was taken from
+	 */
+	@Override
+	public void pieceRemoved(ChessPiece piece, int square) {
+		for (int perspective = 0; perspective < 2; perspective++) {
+			short[] accumulator = accumulators[perspective];
+			short[] weights = network.featureWeights;
+			int start = feature(piece, square, perspective) * accumulator.length;
+			for (int i = 0; i < accumulator.length; i++)
+				accumulator[i] -= weights[start + i];
+		}
+	}
+
+	/**
+	 * Returns the feature of a piece seen from one side: whether the piece is the side's own, its type,
+	 * and its square with the board turned over for the north, so both sides see their pieces the same way
+	 */
+	private int feature(ChessPiece piece, int square, int perspective) {
+		int other = perspective(piece.getSide()) == perspective ? 0 : 1;
+		if (perspective == 1)
+			square = (rows - 1 - square / columns) * columns + square % columns;
+		return (other * PieceType.COUNT + piece.getType().ordinal()) * network.squares + square;
+	}
+
+	/**
+	 * Returns the accumulator of a side (the north's, or the south's for any other side)
+	 */
+	private static int perspective(ChessGame.Side side) {
+		return side == ChessGame.Side.NORTH ? 1 : 0;
+	}
+
+	/**
+	 * Copies sums into the inputs, clipped to 0 to NeuralNetwork.CLIP
+	 */
+	private static void clip(short[] sums, int[] inputs, int start, int length) {
+		for (int i = 0; i < length; i++)
+			inputs[start + i] = Math.max(0, Math.min(NeuralNetwork.CLIP, sums[i]));
+	}
+}
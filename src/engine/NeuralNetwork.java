@@ -0,0 +1,201 @@
+package engine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import piecetypes.PieceType;
+
+/**
+ * The quantized weights of an efficiently updatable neural network, which NeuralEvaluator scores positions with.
+ *
+ * The input has one feature for every piece type of either side (the side the network looks from, or the other)
+ * on every square, seen from one side. The feature transformer turns the features into HIDDEN sums, and since only
+ * a few features change with a move, the sums are kept up to date by adding and taking away the weights of
+ * the pieces that moved. The sums seen from the side to play and from the other side are clipped to 0 to 127
+ * and fed to a dense layer of int8 weights, clipped again, and fed to the one output.
+ *
+ * The network is kept in a little-endian file: the header (the magic number, the version, the number of
+ * squares, the hidden sizes), the int16 feature weights (the weights of each feature together) and biases,
+ * then for each dense layer its int8 weights (the weights of each input together) and int32 biases
+ * @author Phila Dlamini
+ *
+ */
+public final class NeuralNetwork {
+
+	/**
+	 * The largest value of a clipped sum
+	 */
+	public static final int CLIP = 127;
+
+	/**
+	 * A dense layer's sums are shifted right by this many bits before they are clipped (its weights are in 64ths)
+	 */
+	public static final int WEIGHT_SHIFT = 6;
+
+	/**
+	 * The output is divided by this to give hundredths of a pawn
+	 */
+	public static final int OUTPUT_DIVISOR = 16;
+
+	// The first int of a network file ("NNUE") and the version of the file layout
+	private static final int MAGIC = 0x4E4E5545;
+	private static final int VERSION = 1;
+
+	// The number of squares of the board the network is for
+	final int squares;
+
+	// The number of features (two sides, every piece type, every square)
+	final int features;
+
+	// The number of sums of the feature transformer, and of the hidden dense layer
+	final int hidden;
+	final int hidden2;
+
+	// The feature transformer: the hidden weights of each feature, and the biases of the sums
+	final short[] featureWeights;
+	final short[] featureBiases;
+
+	// The hidden dense layer: the hidden2 weights of each of its 2 * hidden inputs, and the biases of its outputs
+	final byte[] hiddenWeights;
+	final int[] hiddenBiases;
+
+	// The output: the weight of each hidden2 output, and the bias
+	final byte[] outputWeights;
+	final int outputBias;
+
+	/**
+	 * Constructs a network from its weights
+	 */
+	private NeuralNetwork(int squares, int hidden, int hidden2, short[] featureWeights, short[] featureBiases,
+			byte[] hiddenWeights, int[] hiddenBiases, byte[] outputWeights, int outputBias) {
+		this.squares = squares;
+		this.features = featureCount(squares);
+		this.hidden = hidden;
+		this.hidden2 = hidden2;
+		this.featureWeights = featureWeights;
+		this.featureBiases = featureBiases;
+		this.hiddenWeights = hiddenWeights;
+		this.hiddenBiases = hiddenBiases;
+		this.outputWeights = outputWeights;
+		this.outputBias = outputBias;
+	}
+
+	/**
+	 * Loads a network from a file
+	 * @param fileName		the name of the network file
+	 * @return the network in the file
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if the file does not hold a network
+	 */
+	public static NeuralNetwork load(String fileName) throws IOException {
+		return read(Files.readAllBytes(Paths.get(fileName)));
+	}
+
+	/**
+	 * Reads a network from the bytes of a network file
+	 * @param bytes		the bytes of the file
+	 * @return the network the bytes hold
+	 * @throws IllegalArgumentException if the bytes do not hold a network
+	 */
+	public static NeuralNetwork read(byte[] bytes) {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+		if (bytes.length < 20 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+			throw new IllegalArgumentException("Not a version " + VERSION + " network file");
+		int squares = buffer.getInt();
+		int hidden = buffer.getInt();
+		int hidden2 = buffer.getInt();
+		if (squares <= 0 || squares > 128 || hidden <= 0 || hidden > 4096 || hidden2 <= 0 || hidden2 > 1024
+				|| bytes.length != fileSize(squares, hidden, hidden2))
+			throw new IllegalArgumentException("The network file has the wrong size for its header");
+
+		short[] featureWeights = new short[featureCount(squares) * hidden];
+		short[] featureBiases = new short[hidden];
+		byte[] hiddenWeights = new byte[2 * hidden * hidden2];
+		int[] hiddenBiases = new int[hidden2];
+		byte[] outputWeights = new byte[hidden2];
+		buffer.asShortBuffer().get(featureWeights);
+		buffer.position(buffer.position() + 2 * featureWeights.length);
+		buffer.asShortBuffer().get(featureBiases);
+		buffer.position(buffer.position() + 2 * featureBiases.length);
+		buffer.get(hiddenWeights);
+		buffer.asIntBuffer().get(hiddenBiases);
+		buffer.position(buffer.position() + 4 * hiddenBiases.length);
+		buffer.get(outputWeights);
+		int outputBias = buffer.getInt();
+		return new NeuralNetwork(squares, hidden, hidden2, featureWeights, featureBiases,
+				hiddenWeights, hiddenBiases, outputWeights, outputBias);
+	}
+
+	/**
+	 * Writes the network in the layout of a network file
+	 * @param out	where to write the network
+	 * @throws IOException if the network cannot be written
+	 */
+	public void write(OutputStream out) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(fileSize(squares, hidden, hidden2)).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(squares).putInt(hidden).putInt(hidden2);
+		for (short weight : featureWeights)
+			buffer.putShort(weight);
+		for (short bias : featureBiases)
+			buffer.putShort(bias);
+		buffer.put(hiddenWeights);
+		for (int bias : hiddenBiases)
+			buffer.putInt(bias);
+		buffer.put(outputWeights);
+		buffer.putInt(outputBias);
+		out.write(buffer.array());
+	}
+
+	/**
+	 * Makes a network of small random weights, for testing and timing the evaluator without a trained network
+	 * @param squares	the number of squares of the board the network is for
+	 * @param hidden	the number of sums of the feature transformer
+	 * @param hidden2	the number of outputs of the hidden dense layer
+	 * @param random	the source of the weights
+	 * @return the network
+	 */
+	public static NeuralNetwork random(int squares, int hidden, int hidden2, Random random) {
+		short[] featureWeights = new short[featureCount(squares) * hidden];
+		for (int i = 0; i < featureWeights.length; i++)
+			featureWeights[i] = (short) (random.nextInt(33) - 16);
+		short[] featureBiases = new short[hidden];
+		for (int i = 0; i < hidden; i++)
+			featureBiases[i] = (short) random.nextInt(64);
+		byte[] hiddenWeights = new byte[2 * hidden * hidden2];
+		random.nextBytes(hiddenWeights);
+		int[] hiddenBiases = new int[hidden2];
+		for (int i = 0; i < hidden2; i++)
+			hiddenBiases[i] = random.nextInt(1 << 12) - (1 << 11);
+		byte[] outputWeights = new byte[hidden2];
+		random.nextBytes(outputWeights);
+		return new NeuralNetwork(squares, hidden, hidden2, featureWeights, featureBiases,
+				hiddenWeights, hiddenBiases, outputWeights, 0);
+	}
+
+	/**
+	 * Returns the number of squares of the board the network is for
+	 * @return the number of squares
+	 */
+	public int getSquares() {
+		return squares;
+	}
+
+	/**
+	 * Returns the number of features of a network for a board of the given number of squares
+	 */
+	private static int featureCount(int squares) {
+		return 2 * PieceType.COUNT * squares;
+	}
+
+	/**
+	 * Returns the number of bytes in the file of a network of the given sizes
+	 */
+	private static int fileSize(int squares, int hidden, int hidden2) {
+		return 5 * 4 + 2 * (featureCount(squares) * hidden + hidden) + 2 * hidden * hidden2 + 4 * hidden2 + hidden2 + 4;
+	}
+}
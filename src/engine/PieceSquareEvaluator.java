@@ -0,0 +1,384 @@
+package engine;
+
+import chess.ChessGame;
+import chess.Xiangqi;
+import graphics.ChessBoard;
+import graphics.PieceListener;
+import piecetypes.ChessPiece;
+import piecetypes.PieceType;
+
+/**
+ * Scores a position by the material of each side and where its pieces stand, with a middlegame and an
+ * endgame value for every piece on every square. The two scores are blended by the game phase, worked out
+ * from the pieces left: in European chess the pawns and king, and in Xiangqi the cannons and horses
+ * (cannons want screens, horses want open lines), are worth different amounts as the board empties.
+ * A Xiangqi soldier gains a bonus once it has crossed the river.
+ *
+ * The evaluator listens to the pieces placed on and taken off its board, so the sums are kept up to
+ * date while moves are made and taken back, and scoring a position takes constant time.
+ * An evaluator belongs to one board, which it takes over as the board's PieceListener
+ * @author Phila Dlamini
+ *
+ */
+public class PieceSquareEvaluator implements Evaluator, PieceListener {
+
+	// The middlegame and endgame value of each piece type (by ordinal) in European chess
+	private static final int[] EUROPEAN_MIDDLEGAME_VALUES = {100, 320, 330, 500, 900, 0, 0, 0, 0, 0, 0, 0};
+	private static final int[] EUROPEAN_ENDGAME_VALUES = {120, 300, 320, 520, 900, 0, 0, 0, 0, 0, 0, 0};
+
+	// The middlegame and endgame value of each piece type in Xiangqi (the chariot is a ROOK)
+	private static final int[] XIANGQI_MIDDLEGAME_VALUES = {0, 0, 0, 900, 0, 0, 450, 400, 200, 200, 100, 0};
+	private static final int[] XIANGQI_ENDGAME_VALUES = {0, 0, 0, 900, 0, 0, 400, 450, 200, 200, 100, 0};
+
+	// What a soldier gains once it has crossed the river (it can then also move sideways)
+	private static final int SOLDIER_CROSSED_MIDDLEGAME = 70;
+	private static final int SOLDIER_CROSSED_ENDGAME = 110;
+
+	// How much each piece type counts towards the middlegame, and the count at the start of each game
+	private static final int[] EUROPEAN_PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0, 0, 0, 0, 0, 0, 0};
+	private static final int[] XIANGQI_PHASE_WEIGHTS = {0, 0, 0, 4, 0, 0, 2, 2, 0, 0, 0, 0};
+	private static final int EUROPEAN_MAX_PHASE = 24;
+	private static final int XIANGQI_MAX_PHASE = 32;
+
+	/* The tables below are seen from the south, so row 0 is the far side of the board. They are turned
+	 * over for the north. A type without a table only counts its material */
+
+	private static final int[] PAWN_MIDDLEGAME = {
+		  0,   0,   0,   0,   0,   0,   0,   0,
+		 50,  50,  50,  50,  50,  50,  50,  50,
+		 10,  10,  20,  30,  30,  20,  10,  10,
+		  5,   5,  10,  25,  25,  10,   5,   5,
+		  0,   0,   0,  20,  20,   0,   0,   0,
+		  5,  -5, -10,   0,   0, -10,  -5,   5,
+		  5,  10,  10, -20, -20,  10,  10,   5,
+		  0,   0,   0,   0,   0,   0,   0,   0
+	};
+
+	private static final int[] PAWN_ENDGAME = {
+		  0,   0,   0,   0,   0,   0,   0,   0,
+		 80,  80,  80,  80,  80,  80,  80,  80,
+		 50,  50,  50,  50,  50,  50,  50,  50,
+		 30,  30,  30,  30,  30,  30,  30,  30,
+		 20,  20,  20,  20,  20,  20,  20,  20,
+		 10,  10,  10,  10,  10,  10,  10,  10,
+		 10,  10,  10,  10,  10,  10,  10,  10,
+		  0,   0,   0,   0,   0,   0,   0,   0
+	};
+
+	private static final int[] KNIGHT = {
+		-50, -40, -30, -30, -30, -30, -40, -50,
+		-40, -20,   0,   0,   0,   0, -20, -40,
+		-30,   0,  10,  15,  15,  10,   0, -30,
+		-30,   5,  15,  20,  20,  15,   5, -30,
+		-30,   0,  15,  20,  20,  15,   0, -30,
+		-30,   5,  10,  15,  15,  10,   5, -30,
+		-40, -20,   0,   5,   5,   0, -20, -40,
+		-50, -40, -30, -30, -30, -30, -40, -50
+	};
+
+	private static final int[] BISHOP = {
+		-20, -10, -10, -10, -10, -10, -10, -20,
+		-10,   0,   0,   0,   0,   0,   0, -10,
+		-10,   0,   5,  10,  10,   5,   0, -10,
+		-10,   5,   5,  10,  10,   5,   5, -10,
+		-10,   0,  10,  10,  10,  10,   0, -10,
+		-10,  10,  10,  10,  10,  10,  10, -10,
+		-10,   5,   0,   0,   0,   0,   5, -10,
+		-20, -10, -10, -10, -10, -10, -10, -20
+	};
+
+	private static final int[] ROOK = {
+		  0,   0,   0,   0,   0,   0,   0,   0,
+		  5,  10,  10,  10,  10,  10,  10,   5,
+		 -5,   0,   0,   0,   0,   0,   0,  -5,
+		 -5,   0,   0,   0,   0,   0,   0,  -5,
+		 -5,   0,   0,   0,   0,   0,   0,  -5,
+		 -5,   0,   0,   0,   0,   0,   0,  -5,
+		 -5,   0,   0,   0,   0,   0,   0,  -5,
+		  0,   0,   0,   5,   5,   0,   0,   0
+	};
+
+	private static final int[] QUEEN = {
+		-20, -10, -10,  -5,  -5, -10, -10, -20,
+		-10,   0,   0,   0,   0,   0,   0, -10,
+		-10,   0,   5,   5,   5,   5,   0, -10,
+		 -5,   0,   5,   5,   5,   5,   0,  -5,
+		 -5,   0,   5,   5,   5,   5,   0,  -5,
+		-10,   5,   5,   5,   5,   5,   0, -10,
+		-10,   0,   5,   0,   0,   0,   0, -10,
+		-20, -10, -10,  -5,  -5, -10, -10, -20
+	};
+
+	private static final int[] KING_MIDDLEGAME = {
+		-30, -40, -40, -50, -50, -40, -40, -30,
+		-30, -40, -40, -50, -50, -40, -40, -30,
+		-30, -40, -40, -50, -50, -40, -40, -30,
+		-30, -40, -40, -50, -50, -40, -40, -30,
+		-20, -30, -30, -40, -40, -30, -30, -20,
+		-10, -20, -20, -20, -20, -20, -20, -10,
+		 20,  20,   0,   0,   0,   0,  20,  20,
+		 20,  30,  10,   0,   0,  10,  30,  20
+	};
+
+	private static final int[] KING_ENDGAME = {
+		-50, -40, -30, -20, -20, -30, -40, -50,
+		-30, -20, -10,   0,   0, -10, -20, -30,
+		-30, -10,  20,  30,  30,  20, -10, -30,
+		-30, -10,  30,  40,  40,  30, -10, -30,
+		-30, -10,  30,  40,  40,  30, -10, -30,
+		-30, -10,  20,  30,  30,  20, -10, -30,
+		-30, -30,   0,   0,   0,   0, -30, -30,
+		-50, -30, -30, -30, -30, -30, -30, -50
+	};
+
+	private static final int[] CHARIOT = {
+		 14,  14,  12,  18,  16,  18,  12,  14,  14,
+		 16,  20,  18,  24,  26,  24,  18,  20,  16,
+		 12,  12,  12,  18,  18,  18,  12,  12,  12,
+		 12,  18,  16,  22,  22,  22,  16,  18,  12,
+		 12,  14,  12,  18,  18,  18,  12,  14,  12,
+		 12,  16,  14,  20,  20,  20,  14,  16,  12,
+		  6,  10,   8,  14,  14,  14,   8,  10,   6,
+		  4,   8,   6,  14,  12,  14,   6,   8,   4,
+		  8,   4,   8,  16,   8,  16,   8,   4,   8,
+		 -2,  10,   6,  14,  12,  14,   6,  10,  -2
+	};
+
+	private static final int[] CANNON = {
+		  6,   4,   0, -10, -12, -10,   0,   4,   6,
+		  2,   2,   0,  -4, -14,  -4,   0,   2,   2,
+		  2,   2,   0, -10,  -8, -10,   0,   2,   2,
+		  0,   0,  -2,   4,  10,   4,  -2,   0,   0,
+		  0,   0,   0,   2,   8,   2,   0,   0,   0,
+		 -2,   0,   4,   2,   6,   2,   4,   0,  -2,
+		  0,   0,   0,   2,   4,   2,   0,   0,   0,
+		  4,   0,   8,   6,  10,   6,   8,   0,   4,
+		  0,   2,   4,   6,   6,   6,   4,   2,   0,
+		  0,   0,   2,   6,   6,   6,   2,   0,   0
+	};
+
+	private static final int[] HORSE = {
+		  4,   8,  16,  12,   4,  12,  16,   8,   4,
+		  4,  10,  28,  16,   8,  16,  28,  10,   4,
+		 12,  14,  16,  20,  18,  20,  16,  14,  12,
+		  8,  24,  18,  24,  20,  24,  18,  24,   8,
+		  6,  16,  14,  18,  16,  18,  14,  16,   6,
+		  4,  12,  16,  14,  12,  14,  16,  12,   4,
+		  2,   6,   8,   6,  10,   6,   8,   6,   2,
+		  4,   2,   8,   8,   4,   8,   8,   2,   4,
+		  0,   2,   4,   4,  -2,   4,   4,   2,   0,
+		  0,  -4,   0,   0,   0,   0,   0,  -4,   0
+	};
+
+	private static final int[] ELEPHANT = {
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,  -2,   0,   0,   0,  -2,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		 -2,   0,   0,   0,   3,   0,   0,   0,  -2,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0
+	};
+
+	private static final int[] GUARD = {
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   3,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0
+	};
+
+	private static final int[] SOLDIER = {
+		  0,   3,   6,   9,  12,   9,   6,   3,   0,
+		 18,  36,  56,  80, 120,  80,  56,  36,  18,
+		 14,  26,  42,  60,  80,  60,  42,  26,  14,
+		 10,  20,  30,  34,  40,  34,  30,  20,  10,
+		  6,  12,  18,  18,  20,  18,  18,  12,   6,
+		  0,   0,  -2,   0,   4,   0,  -2,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0
+	};
+
+	private static final int[] XIANGQI_KING = {
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0, -18, -16, -18,   0,   0,   0,
+		  0,   0,   0, -10,  -8, -10,   0,   0,   0,
+		  0,   0,   0,  -2,   0,  -2,   0,   0,   0
+	};
+
+	// The value (material and square) of every piece on every square, by side * PieceType.COUNT + type
+	private static final int[][] EUROPEAN_MIDDLEGAME = europeanTable(EUROPEAN_MIDDLEGAME_VALUES,
+			PAWN_MIDDLEGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_MIDDLEGAME);
+	private static final int[][] EUROPEAN_ENDGAME = europeanTable(EUROPEAN_ENDGAME_VALUES,
+			PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME);
+	private static final int[][] XIANGQI_MIDDLEGAME = xiangqiTable(XIANGQI_MIDDLEGAME_VALUES, SOLDIER_CROSSED_MIDDLEGAME);
+	private static final int[][] XIANGQI_ENDGAME = xiangqiTable(XIANGQI_ENDGAME_VALUES, SOLDIER_CROSSED_ENDGAME);
+
+	// The game being played on the board
+	private final ChessGame game;
+
+	// The tables of the game
+	private final int[][] middlegameTable;
+	private final int[][] endgameTable;
+	private final int[] phaseWeights;
+	private final int maxPhase;
+
+	// The middlegame and endgame sums of each side's pieces (by side ordinal)
+	private final int[] middlegame;
+	private final int[] endgame;
+
+	// The phase weights of the pieces on the board (maxPhase or more is a full middlegame)
+	private int phase;
+
+	/**
+	 * Constructs the evaluator for a board, adding up the pieces already on it
+	 * and listening to the board from then on
+	 * @param board		the board the evaluator scores
+	 */
+	public PieceSquareEvaluator(ChessBoard board) {
+		game = board.getGameRules();
+		boolean xiangqi = game instanceof Xiangqi;
+		middlegameTable = xiangqi ? XIANGQI_MIDDLEGAME : EUROPEAN_MIDDLEGAME;
+		endgameTable = xiangqi ? XIANGQI_ENDGAME : EUROPEAN_ENDGAME;
+		phaseWeights = xiangqi ? XIANGQI_PHASE_WEIGHTS : EUROPEAN_PHASE_WEIGHTS;
+		maxPhase = xiangqi ? XIANGQI_MAX_PHASE : EUROPEAN_MAX_PHASE;
+		int numSides = ChessGame.Side.values().length;
+		middlegame = new int[numSides];
+		endgame = new int[numSides];
+
+		for (ChessGame.Side side : ChessGame.Side.values()) {
+			for (int i = 0; i < board.getPieceCount(side); i++) {
+				int square = board.getPieceSquare(side, i);
+				pieceAdded(board.getPiece(square), square);
+			}
+		}
+		board.setPieceListener(this);
+	}
+
+	/**
+	 * Returns the score of the side to play less the score of the other side, blended between the
+	 * middlegame and the endgame by the phase
+	 * @param board		the board to score (the board the evaluator was made for)
+	 * @return the score of the position for the side to play
+	 */
+	@Override
+	public int evaluate(ChessBoard board) {
+		int side = game.getCurrentTurn().ordinal();
+		int other = ChessGame.toggleTurn(game.getCurrentTurn()).ordinal();
+		int middlegamePhase = Math.min(phase, maxPhase);
+		return ((middlegame[side] - middlegame[other]) * middlegamePhase
+				+ (endgame[side] - endgame[other]) * (maxPhase - middlegamePhase)) / maxPhase;
+	}
+
+	/**
+	 * Adds a piece placed on the board to its side's sums
+	 * @param piece		the piece placed
+	 * @param square	the square it was placed on
+	 */
+	@Override
+	public void pieceAdded(ChessPiece piece, int square) {
+		int side = piece.getSide().ordinal();
+		int index = side * PieceType.COUNT + piece.getType().ordinal();
+		middlegame[side] += middlegameTable[index][square];
+		endgame[side] += endgameTable[index][square];
+		phase += phaseWeights[piece.getType().ordinal()];
+	}
+
+	/**
+	 * Takes a piece taken off the board out of its side's sums
+	 * @param piece		the piece taken off
+	 * @param square	the square it was taken from
+	 */
+	@Override
+	public void pieceRemoved(ChessPiece piece, int square) {
+		int side = piece.getSide().ordinal();
+		int index = side * PieceType.COUNT + piece.getType().ordinal();
+		middlegame[side] -= middlegameTable[index][square];
+		endgame[side] -= endgameTable[index][square];
+		phase -= phaseWeights[piece.getType().ordinal()];
+	}
+
+	/**
+	 * Returns the game phase, from 0 (only kings and pawns or soldiers) to the phase of a full board
+	 * @return the game phase
+	 */
+	public int getPhase() {
+		return Math.min(phase, maxPhase);
+	}
+
+	/**
+	 * Builds the European chess value of every piece on every square
+	 */
+	private static int[][] europeanTable(int[] values, int[] pawn, int[] knight, int[] bishop, int[] rook, int[] queen, int[] king) {
+		int[][] squares = new int[PieceType.COUNT][];
+		squares[PieceType.PAWN.ordinal()] = pawn;
+		squares[PieceType.KNIGHT.ordinal()] = knight;
+		squares[PieceType.BISHOP.ordinal()] = bishop;
+		squares[PieceType.ROOK.ordinal()] = rook;
+		squares[PieceType.QUEEN.ordinal()] = queen;
+		squares[PieceType.KING.ordinal()] = king;
+		return buildTable(values, squares, 8, 8, 0);
+	}
+
+	/**
+	 * Builds the Xiangqi value of every piece on every square
+	 */
+	private static int[][] xiangqiTable(int[] values, int soldierCrossed) {
+		int[][] squares = new int[PieceType.COUNT][];
+		squares[PieceType.ROOK.ordinal()] = CHARIOT;
+		squares[PieceType.CANNON.ordinal()] = CANNON;
+		squares[PieceType.HORSE.ordinal()] = HORSE;
+		squares[PieceType.ELEPHANT.ordinal()] = ELEPHANT;
+		squares[PieceType.GUARD.ordinal()] = GUARD;
+		squares[PieceType.SOLDIER.ordinal()] = SOLDIER;
+		squares[PieceType.XIANGQI_KING.ordinal()] = XIANGQI_KING;
+		return buildTable(values, squares, 10, 9, soldierCrossed);
+	}
+
+	/**
+	 * Adds the material to the square tables for every side, turning the tables over for the north
+	 * @param values			the material of each piece type
+	 * @param squares			the square table of each piece type seen from the south (null for none)
+	 * @param rows				the number of rows of the board
+	 * @param columns			the number of columns of the board
+	 * @param soldierCrossed	the bonus of a soldier on the far side of the river
+	 * @return the value of each piece on each square, by side * PieceType.COUNT + type
+	 */
+	private static int[][] buildTable(int[] values, int[][] squares, int rows, int columns, int soldierCrossed) {
+		ChessGame.Side[] sides = ChessGame.Side.values();
+		int[][] table = new int[sides.length * PieceType.COUNT][rows * columns];
+		for (ChessGame.Side side : sides) {
+			for (int type = 0; type < PieceType.COUNT; type++) {
+				int[] pieceTable = table[side.ordinal() * PieceType.COUNT + type];
+				for (int row = 0; row < rows; row++) {
+					int southRow = side == ChessGame.Side.NORTH ? rows - 1 - row : row;
+					for (int column = 0; column < columns; column++) {
+						int value = values[type];
+						if (squares[type] != null)
+							value += squares[type][southRow * columns + column];
+						if (type == PieceType.SOLDIER.ordinal() && southRow < rows / 2)
+							value += soldierCrossed;
+						pieceTable[row * columns + column] = value;
+					}
+				}
+			}
+		}
+		return table;
+	}
+}
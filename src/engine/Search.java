@@ -0,0 +1,613 @@
+package engine;
+
+import java.util.Arrays;
+
+import chess.ChessGame;
+import chess.LegalMoveGenerator;
+import chess.Move;
+import chess.MoveList;
+import graphics.ChessBoard;
+
+/**
+ * Finds a good move for the side to play on a board, for either game, by looking ahead through ChessGame's own
+ * legal moves, doMove and undoMove.
+ *
+ * The search deepens one move at a time (iterative deepening), so a move is ready whenever the budget of nodes
+ * or time runs out. Each depth is an alpha-beta search written as negamax: every score is from the point of view
+ * of the side to play, and a child's score is negated for its parent. After the first move of a position,
+ * the other moves are searched with a null window (principal variation search), just to prove that they are
+ * no better, and only searched again with the full window if they are. From the third depth on, the root is
+ * searched with a narrow window around the score of the last depth (an aspiration window), which is widened
+ * until the score falls inside it.
+ *
+ * At the end of the search, captures are searched on until the position is quiet (quiescence search), so a position
+ * is never scored in the middle of an exchange. The side to play may stand pat on the score of the position instead
+ * of capturing, and captures that lose material by static exchange evaluation are not searched at all.
+ * In check, every move is searched, and optionally moves that give check are searched at the first ply too.
+ *
+ * What is found about each position is kept in a TranspositionTable. A position reached again (by other moves,
+ * or at the next depth) searches the move stored for it first, and does not need searching at all when the stored
+ * score was searched deep enough and settles the question the window asks.
+ *
+ * A Search plays moves on its board while it runs and takes them all back before it returns,
+ * so the board must not be used by anything else in the meantime
+ * @author Phila Dlamini
+ *
+ */
+public class Search {
+
+	/**
+	 * The score of a side that has lost, less the number of moves (plies) until it loses
+	 */
+	public static final int MATE = 30000;
+
+	/**
+	 * A score larger than any position can have
+	 */
+	public static final int INFINITY = 32000;
+
+	/**
+	 * The most moves the search looks ahead
+	 */
+	public static final int MAX_PLY = 64;
+
+	// The width on either side of the last score of the first aspiration window
+	private static final int ASPIRATION_WINDOW = 50;
+
+	// The clock is looked at once every this many nodes (plus one)
+	private static final int CLOCK_INTERVAL = 1023;
+
+	// The size of the table a Search makes for itself, in megabytes
+	private static final int TABLE_MEGABYTES = 16;
+
+	// The board the search plays on
+	private final ChessBoard board;
+
+	// The rules of the game on the board
+	private final ChessGame game;
+
+	// Scores the positions at the end of the search
+	private final Evaluator evaluator;
+
+	// What has been found about positions, by this search and any others sharing the table
+	private final TranspositionTable table;
+
+	// The moves from the root, with the best move of the last depth first
+	private final MoveList rootMoves = new MoveList();
+
+	// The moves of the position at each ply
+	private final MoveList[] lists = new MoveList[MAX_PLY];
+
+	// The ordering scores of the moves at each ply (the static exchange scores of the captures in the quiescence search)
+	private final int[][] moveScores = new int[MAX_PLY][];
+
+	// The move made at each ply
+	private final int[] playedMoves = new int[MAX_PLY];
+
+	// Orders the moves
+	private final MoveOrdering ordering = new MoveOrdering();
+
+	// Scores captures for the quiescence search
+	private final StaticExchange exchange = new StaticExchange();
+
+	// True if the quiescence search also tries the moves that give check at its first ply
+	private boolean quiescenceChecks;
+
+	// The number of positions searched
+	private long nodes;
+
+	// The search stops once it has searched this many positions
+	private long maxNodes;
+
+	// The search stops once System.nanoTime passes this
+	private long deadline;
+
+	// True once the search should stop (set by another thread with stop())
+	private volatile boolean stopped;
+
+	// The clock the search plays under, or null for a search to a depth or a budget
+	private TimeManager clock;
+
+	// How much the best move has been changing from depth to depth (each change counts half as much a depth later)
+	private double instability;
+
+	// The best move found at the last depth searched to the end
+	private int bestMove;
+
+	// The score of the best move
+	private int score;
+
+	// The last depth searched to the end
+	private int depth;
+
+	// 0 for a search on its own or the main search of a LazySmpSearch, and the number of the helper otherwise
+	private int helper;
+
+	/**
+	 * Constructs a search on a board, with a transposition table of its own
+	 * @param board			the board to search (see the class comment)
+	 * @param evaluator		scores positions at the end of the search
+	 */
+	public Search(ChessBoard board, Evaluator evaluator) {
+		this(board, evaluator, new TranspositionTable(TABLE_MEGABYTES));
+	}
+
+	/**
+	 * Constructs a search on a board that keeps what it finds in the given table
+	 * @param board			the board to search (see the class comment)
+	 * @param evaluator		scores positions at the end of the search
+	 * @param table			the transposition table, which may be shared with searches on other threads
+	 */
+	public Search(ChessBoard board, Evaluator evaluator, TranspositionTable table) {
+		this.board = board;
+		this.game = board.getGameRules();
+		this.evaluator = evaluator;
+		this.table = table;
+		for (int i = 0; i < MAX_PLY; i++) {
+			lists[i] = new MoveList();
+			moveScores[i] = new int[256];
+		}
+	}
+
+	/**
+	 * Searches for the best move of the side to play, a depth at a time, until the depth is reached or
+	 * the budget is spent. Only depths searched to the end count: a depth stopped part way is thrown away,
+	 * except that the first legal move is returned if not even the first depth was finished
+	 * @param maxDepth		the deepest depth to search
+	 * @param maxNodes		the most positions to search, or 0 for no limit
+	 * @param maxMillis		the most milliseconds to search for, or 0 for no limit
+	 * @return the best move found, or Move.NONE if the side to play has no legal move
+	 */
+	public int search(int maxDepth, long maxNodes, long maxMillis) {
+
+		//The stop is cleared once the search is over rather than as it starts, so a stop that comes
+		//before the search has started is not lost
+		try {
+			return deepen(maxDepth, maxNodes, maxMillis);
+		} finally {
+			stopped = false;
+		}
+	}
+
+	/**
+	 * Searches a depth at a time, for search
+	 */
+	private int deepen(int maxDepth, long maxNodes, long maxMillis) {
+		nodes = 0;
+		instability = 0;
+		this.maxNodes = maxNodes > 0 ? maxNodes : Long.MAX_VALUE;
+		deadline = maxMillis > 0 ? System.nanoTime() + maxMillis * 1000000L : Long.MAX_VALUE;
+		depth = 0;
+		score = 0;
+		bestMove = Move.NONE;
+		if (helper == 0)
+			table.newSearch();
+
+		game.generateLegalMoves(board, rootMoves);
+		if (rootMoves.size() == 0) {
+			score = noMovesScore(0);
+			return Move.NONE;
+		}
+		ordering.newSearch();
+		int[] scores = scores(0, rootMoves.size());
+		ordering.score(board, rootMoves, scores, TranspositionTable.move(table.probe(board.getZobristKey())), 0, Move.NONE);
+		for (int i = 0; i < rootMoves.size(); i++)
+			ordering.next(rootMoves, scores, i);
+		bestMove = rootMoves.get(0);
+
+		for (int d = 1; d <= maxDepth && d < MAX_PLY; d++) {
+
+			//Half of the helpers skip the odd depths and half the even ones, so they spread out over the depths
+			if (helper > 0 && d > 1 && d < maxDepth && (d + helper) % 2 == 0)
+				continue;
+			int result = aspirationSearch(d, score);
+			if (stopped)
+				break;
+			score = result;
+			depth = d;
+			instability = instability / 2 + (rootMoves.get(0) != bestMove ? 1 : 0);
+			bestMove = rootMoves.get(0);
+
+			//Looking deeper cannot find a quicker mate
+			if (Math.abs(score) >= MATE - MAX_PLY)
+				break;
+
+			//Under a clock, a forced move is played at once, and a depth is only started if it is likely to finish
+			if (clock != null && (rootMoves.size() == 1 || !clock.startNextDepth(instability)))
+				break;
+		}
+		return bestMove;
+	}
+
+	/**
+	 * Searches for the best move of the side to play under a clock (see TimeManager), a depth at a time,
+	 * until the clock says to stop
+	 * @param maxDepth		the deepest depth to search
+	 * @param clock			the clock of the move, which may be pondering
+	 * @return the best move found, or Move.NONE if the side to play has no legal move
+	 */
+	public int search(int maxDepth, TimeManager clock) {
+		this.clock = clock;
+		try {
+			return search(maxDepth, 0, 0);
+		} finally {
+			this.clock = null;
+		}
+	}
+
+	/**
+	 * Makes the search a helper of a LazySmpSearch, which searches only some of the depths
+	 * @param helper	the number of the helper, from 1 (or 0 to search every depth)
+	 */
+	public void setHelper(int helper) {
+		this.helper = helper;
+	}
+
+	/**
+	 * Sets whether the quiescence search also tries the moves that give check, at its first ply
+	 * @param quiescenceChecks	true to try checks (false by default)
+	 */
+	public void setQuiescenceChecks(boolean quiescenceChecks) {
+		this.quiescenceChecks = quiescenceChecks;
+	}
+
+	/**
+	 * Asks a running search to stop as soon as it can, or the next search to stop at once if none is running
+	 * (it can be called from any thread)
+	 */
+	public void stop() {
+		stopped = true;
+	}
+
+	/**
+	 * Returns the best move found by the last search
+	 * @return the best move, or Move.NONE if there was none
+	 */
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * Returns the score of the best move found by the last search, for the side that was to play
+	 * @return the score, in hundredths of a pawn (near MATE or -MATE when a side can be mated)
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Returns the last depth the last search finished
+	 * @return the depth, in moves
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Returns the number of positions the last search looked at
+	 * @return the number of positions
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns true once the search's time is up
+	 */
+	private boolean outOfTime() {
+		return System.nanoTime() > deadline || clock != null && clock.isOutOfTime();
+	}
+
+	/**
+	 * Searches the root to a depth with an aspiration window around the last score,
+	 * widening the window on the side the score fell out of until the score is inside it
+	 * @param depth		the depth to search
+	 * @param last		the score of the last depth
+	 * @return the score of the root
+	 */
+	private int aspirationSearch(int depth, int last) {
+		if (depth < 3)
+			return searchRoot(depth, -INFINITY, INFINITY);
+
+		int delta = ASPIRATION_WINDOW;
+		int alpha = Math.max(last - delta, -INFINITY);
+		int beta = Math.min(last + delta, INFINITY);
+		while (true) {
+			int result = searchRoot(depth, alpha, beta);
+			if (stopped)
+				return result;
+			if (result <= alpha)
+				alpha = Math.max(alpha - delta, -INFINITY);
+			else if (result >= beta)
+				beta = Math.min(beta + delta, INFINITY);
+			else
+				return result;
+			delta *= 2;
+		}
+	}
+
+	/**
+	 * Searches each move from the root, and moves the best one to the front of the root moves
+	 * @param depth		the depth to search
+	 * @param alpha		the score the side to play is already sure of
+	 * @param beta		the score the other side is already sure of
+	 * @return the score of the root
+	 */
+	private int searchRoot(int depth, int alpha, int beta) {
+		int best = -INFINITY;
+		int bestIndex = -1;
+		for (int i = 0; i < rootMoves.size(); i++) {
+			int result = searchMove(rootMoves.get(i), i == 0, depth, alpha, beta, 0);
+			if (stopped)
+				return best;
+			if (result > best) {
+				best = result;
+				if (result > alpha) {
+					alpha = result;
+					bestIndex = i;
+					if (alpha >= beta)
+						break;
+				}
+			}
+		}
+
+		//Search the best move first at the next depth (it stays where it is if every move failed low)
+		if (bestIndex > 0) {
+			int move = rootMoves.get(bestIndex);
+			for (int i = bestIndex; i > 0; i--)
+				rootMoves.set(i, rootMoves.get(i - 1));
+			rootMoves.set(0, move);
+		}
+		table.store(board.getZobristKey(), bestIndex == -1 ? Move.NONE : rootMoves.get(0), toTable(best, 0), depth,
+				bestIndex == -1 ? TranspositionTable.UPPER : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT);
+		return best;
+	}
+
+	/**
+	 * Returns the score of a position for the side to play, looking the given number of moves ahead
+	 * @param depth		the number of moves left to look ahead
+	 * @param alpha		the score the side to play is already sure of
+	 * @param beta		the score the other side is already sure of
+	 * @param ply		the number of moves from the root
+	 * @return the score (at most alpha if the side to play can do no better than alpha,
+	 * and at least beta if the other side would not allow the position)
+	 */
+	private int negamax(int depth, int alpha, int beta, int ply) {
+		if (stopped || (++nodes & CLOCK_INTERVAL) == 0 && outOfTime() || nodes >= maxNodes) {
+			stopped = true;
+			return 0;
+		}
+		if (depth <= 0 || ply >= MAX_PLY - 1)
+			return quiesce(alpha, beta, ply, 0);
+
+		//A stored score searched deep enough may answer the question without a search (except on the principal
+		//variation, where the exact score and moves are wanted)
+		long key = board.getZobristKey();
+		long entry = table.probe(key);
+		int hashMove = TranspositionTable.move(entry);
+		if (entry != 0 && TranspositionTable.depth(entry) >= depth && beta - alpha == 1) {
+			int stored = fromTable(TranspositionTable.score(entry), ply);
+			int bound = TranspositionTable.bound(entry);
+			if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER ? stored >= beta : stored <= alpha))
+				return stored;
+		}
+
+		MoveList moves = lists[ply];
+		game.generateLegalMoves(board, moves);
+		if (moves.size() == 0)
+			return noMovesScore(ply);
+		int lastMove = ply > 0 ? playedMoves[ply - 1] : Move.NONE;
+		int[] scores = scores(ply, moves.size());
+		ordering.score(board, moves, scores, hashMove, ply, lastMove);
+
+		int originalAlpha = alpha;
+		int best = -INFINITY;
+		int bestMove = Move.NONE;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = ordering.next(moves, scores, i);
+			int result = searchMove(move, i == 0, depth, alpha, beta, ply);
+			if (stopped)
+				return 0;
+			if (result > best) {
+				best = result;
+				if (result > alpha) {
+					alpha = result;
+					bestMove = move;
+					if (alpha >= beta) {
+						if (!MoveOrdering.isTactical(board, move))
+							ordering.cutoff(board, moves, i, depth, ply, lastMove);
+						break;
+					}
+				}
+			}
+		}
+
+		table.store(key, bestMove, toTable(best, ply), depth, best <= originalAlpha ? TranspositionTable.UPPER
+				: best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT);
+		return best;
+	}
+
+	/**
+	 * Searches the captures of a position (all moves in check) until the position is quiet
+	 * @param alpha		the score the side to play is already sure of
+	 * @param beta		the score the other side is already sure of
+	 * @param ply		the number of moves from the root
+	 * @param qply		the number of moves made by the quiescence search so far
+	 * @return the score of the position for the side to play
+	 */
+	private int quiesce(int alpha, int beta, int ply, int qply) {
+		if (qply > 0 && (stopped || (++nodes & CLOCK_INTERVAL) == 0 && outOfTime() || nodes >= maxNodes)) {
+			stopped = true;
+			return 0;
+		}
+		if (ply >= MAX_PLY - 1)
+			return evaluator.evaluate(board);
+
+		//In check, every move out of it is searched
+		MoveList moves = lists[ply];
+		if (game.isInCheck(board, game.getCurrentTurn())) {
+			game.generateLegalMoves(board, moves);
+			if (moves.size() == 0)
+				return noMovesScore(ply);
+			int best = -INFINITY;
+			for (int i = 0; i < moves.size(); i++) {
+				game.doMove(board, moves.get(i));
+				int result = -quiesce(-beta, -alpha, ply + 1, qply + 1);
+				game.undoMove(board);
+				if (stopped)
+					return 0;
+				if (result > best) {
+					best = result;
+					if (result > alpha) {
+						alpha = result;
+						if (alpha >= beta)
+							break;
+					}
+				}
+			}
+			return best;
+		}
+
+		//Otherwise the side to play can stand pat instead of capturing
+		int best = evaluator.evaluate(board);
+		if (best >= beta)
+			return best;
+		if (best > alpha)
+			alpha = best;
+
+		//Keep the legal captures that do not lose material, best first (and the checks if they are wanted)
+		game.generateMoves(board, moves);
+		int[] scores = moveScores[ply];
+		int kept = 0;
+		boolean checks = quiescenceChecks && qply == 0;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			boolean capture = board.getPiece(Move.to(move)) != null;
+			if (!capture && !checks)
+				continue;
+			int score = capture ? exchange.evaluate(board, move) : 0;
+			if (score < 0 || !LegalMoveGenerator.isLegal(board, move))
+				continue;
+			if (!capture && !givesCheck(move))
+				continue;
+			if (kept == scores.length)
+				scores = moveScores[ply] = Arrays.copyOf(scores, kept * 2);
+
+			//Insert the move by its score
+			int j = kept++;
+			for (; j > 0 && scores[j - 1] < score; j--) {
+				moves.set(j, moves.get(j - 1));
+				scores[j] = scores[j - 1];
+			}
+			moves.set(j, move);
+			scores[j] = score;
+		}
+		moves.truncate(kept);
+
+		for (int i = 0; i < moves.size(); i++) {
+			game.doMove(board, moves.get(i));
+			int result = -quiesce(-beta, -alpha, ply + 1, qply + 1);
+			game.undoMove(board);
+			if (stopped)
+				return 0;
+			if (result > best) {
+				best = result;
+				if (result > alpha) {
+					alpha = result;
+					if (alpha >= beta)
+						break;
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns true if a move puts the other side in check
+	 * @param move	the packed move of the side to play
+	 * @return true if the move gives check
+	 */
+	private boolean givesCheck(int move) {
+		ChessGame.Side other = ChessGame.toggleTurn(game.getCurrentTurn());
+		game.doMove(board, move);
+		boolean check = game.isInCheck(board, other);
+		game.undoMove(board);
+		return check;
+	}
+
+	/**
+	 * Makes a move, scores it with principal variation search and takes it back.
+	 * The first move gets the full window; the others a null window, and the full window only if they beat alpha
+	 * @param move		the move to search
+	 * @param first		true for the first move of the position
+	 * @param depth		the depth left before the move
+	 * @param alpha		the score the side to play is already sure of
+	 * @param beta		the score the other side is already sure of
+	 * @param ply		the number of moves from the root before the move
+	 * @return the score of the move for the side making it
+	 */
+	private int searchMove(int move, boolean first, int depth, int alpha, int beta, int ply) {
+		playedMoves[ply] = move;
+		game.doMove(board, move);
+		int result;
+		if (first) {
+			result = -negamax(depth - 1, -beta, -alpha, ply + 1);
+		} else {
+			result = -negamax(depth - 1, -alpha - 1, -alpha, ply + 1);
+			if (result > alpha && result < beta && !stopped)
+				result = -negamax(depth - 1, -beta, -alpha, ply + 1);
+		}
+		game.undoMove(board);
+		return result;
+	}
+
+	/**
+	 * Returns the score of a position in which the side to play has no legal move:
+	 * a loss when it is in check (or in Xiangqi, always), and a draw otherwise
+	 * @param ply	the number of moves from the root (a quicker mate scores higher)
+	 * @return the score for the side to play
+	 */
+	private int noMovesScore(int ply) {
+		if (game.isInCheck(board, game.getCurrentTurn()) || game.stalemateIsLoss())
+			return -MATE + ply;
+		return 0;
+	}
+
+	/**
+	 * Returns the array for the scores of the moves at a ply, making it larger if it is too small for them
+	 */
+	private int[] scores(int ply, int size) {
+		if (moveScores[ply].length < size)
+			moveScores[ply] = new int[size * 2];
+		return moveScores[ply];
+	}
+
+	/**
+	 * Returns a score to store in the table. Mate scores count the moves from the root,
+	 * so they are stored counting from the position instead, to be right wherever the position is reached
+	 * @param score		the score
+	 * @param ply		the number of moves from the root to the position
+	 * @return the score to store
+	 */
+	private static int toTable(int score, int ply) {
+		if (score >= MATE - MAX_PLY)
+			return score + ply;
+		if (score <= -MATE + MAX_PLY)
+			return score - ply;
+		return score;
+	}
+
+	/**
+	 * Returns the score of a position from a score stored in the table (see toTable)
+	 * @param score		the stored score
+	 * @param ply		the number of moves from the root to the position
+	 * @return the score
+	 */
+	private static int fromTable(int score, int ply) {
+		if (score >= MATE - MAX_PLY)
+			return score - ply;
+		if (score <= -MATE + MAX_PLY)
+			return score + ply;
+		return score;
+	}
+}
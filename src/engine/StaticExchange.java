@@ -0,0 +1,170 @@
+package engine;
+
+import bitboards.BitboardPosition;
+import bitboards.SquareSet;
+import chess.ChessGame;
+import chess.Move;
+import graphics.ChessBoard;
+import piecetypes.ChessPiece;
+import piecetypes.PieceType;
+
+/**
+ * Works out what a capture wins or loses once both sides have captured on its square as long as it pays them
+ * (static exchange evaluation), without searching.
+ *
+ * Each side captures with its least valuable attacker in turn. The pieces are really moved on the board's bitboards
+ * while the exchange is worked out (and put back afterwards), and the attackers are found again after each capture
+ * with the bitboards' attackersTo. So a rook or queen behind a capturing piece joins in, a cannon whose screen
+ * captures loses its screen (while a piece captured onto the square can become the screen of a cannon behind it),
+ * and a horse whose leg is left empty by a capturing piece starts to attack. Pins are not looked at.
+ *
+ * A StaticExchange keeps its working space between calls, so each thread needs its own
+ * @author Phila Dlamini
+ *
+ */
+public class StaticExchange {
+
+	// The value of a king in an exchange: it can only capture last
+	private static final int KING_VALUE = 10000;
+
+	// The most captures an exchange can have
+	private static final int MAX_CAPTURES = 40;
+
+	// The attackers of the square
+	private final SquareSet attackers = new SquareSet();
+
+	// What each side has gained after each capture
+	private final int[] gains = new int[MAX_CAPTURES];
+
+	// The pieces moved on the bitboards, and the squares they came from, to put them back
+	private final ChessPiece[] movedPieces = new ChessPiece[MAX_CAPTURES];
+	private final int[] movedFrom = new int[MAX_CAPTURES];
+
+	// The piece first found on the captured square
+	private ChessPiece capturedPiece;
+
+	/**
+	 * Returns what a capture wins for the side making it, in the values of MaterialEvaluator,
+	 * once every capture on its square that pays is made. Boards without bitboards that understand every piece
+	 * get the value of the captured piece, so no capture looks losing there
+	 * @param board		the board the capture is made on
+	 * @param move		the packed capture (see Move); a move that captures nothing scores what it loses
+	 * @return the material won (negative if the capture loses material)
+	 */
+	public int evaluate(ChessBoard board, int move) {
+		ChessGame game = board.getGameRules();
+		int numColumns = game.getNumColumns();
+		int to = Move.to(move);
+		int toRow = to / numColumns;
+		int toColumn = to % numColumns;
+		ChessPiece piece = board.getPiece(Move.from(move));
+		ChessPiece victim = board.getPiece(to);
+		BitboardPosition bitboards = board.getBitboards();
+		if (bitboards == null || !bitboards.canComputeAttacks())
+			return victim == null ? 0 : value(game, victim);
+
+		//Make the capture on the bitboards
+		capturedPiece = victim;
+		if (victim != null)
+			bitboards.removePiece(victim, toRow, toColumn);
+		int moves = 0;
+		gains[0] = victim == null ? 0 : value(game, victim);
+		movePiece(bitboards, piece, Move.from(move), toRow, toColumn, numColumns, moves++);
+
+		//Each side in turn captures the piece on the square with its least valuable attacker
+		ChessPiece onSquare = piece;
+		int captures = 0;
+		while (captures < MAX_CAPTURES - 1) {
+			bitboards.attackersTo(toRow, toColumn, onSquare.getSide(), attackers);
+			int from = leastValuable(board, game);
+			if (from == -1)
+				break;
+			ChessPiece capturer = board.getPiece(from);
+
+			//A king may only capture last
+			if (capturer.getType() == PieceType.KING || capturer.getType() == PieceType.XIANGQI_KING) {
+				if (defended(bitboards, board, capturer, toRow, toColumn, onSquare, from, numColumns))
+					break;
+			}
+
+			captures++;
+			gains[captures] = value(game, onSquare) - gains[captures - 1];
+			bitboards.removePiece(onSquare, toRow, toColumn);
+			movePiece(bitboards, capturer, from, toRow, toColumn, numColumns, moves++);
+			onSquare = capturer;
+		}
+
+		//Each side stops capturing once it would lose by going on
+		while (captures > 0) {
+			gains[captures - 1] = -Math.max(-gains[captures - 1], gains[captures]);
+			captures--;
+		}
+
+		//Put the pieces back
+		for (int i = moves - 1; i >= 0; i--) {
+			bitboards.removePiece(movedPieces[i], toRow, toColumn);
+			bitboards.addPiece(movedPieces[i], movedFrom[i] / numColumns, movedFrom[i] % numColumns);
+			movedPieces[i] = null;
+			if (i > 0)
+				bitboards.addPiece(movedPieces[i - 1], toRow, toColumn);
+		}
+		if (capturedPiece != null)
+			bitboards.addPiece(capturedPiece, toRow, toColumn);
+		capturedPiece = null;
+		return gains[0];
+	}
+
+	/**
+	 * Returns the value of a piece in an exchange
+	 * @param game		the game being played
+	 * @param piece		the piece
+	 * @return the value of the piece (MaterialEvaluator's value, and a large value for a king)
+	 */
+	public static int value(ChessGame game, ChessPiece piece) {
+		PieceType type = piece.getType();
+		if (type == PieceType.KING || type == PieceType.XIANGQI_KING)
+			return KING_VALUE;
+		return MaterialEvaluator.value(game, type);
+	}
+
+	/**
+	 * Moves a piece from its square to the captured square on the bitboards, remembering where it came from
+	 */
+	private void movePiece(BitboardPosition bitboards, ChessPiece piece, int from, int toRow, int toColumn, int numColumns, int index) {
+		bitboards.removePiece(piece, from / numColumns, from % numColumns);
+		bitboards.addPiece(piece, toRow, toColumn);
+		movedPieces[index] = piece;
+		movedFrom[index] = from;
+	}
+
+	/**
+	 * Returns the square of the least valuable attacker in the set, or -1 if the set is empty
+	 */
+	private int leastValuable(ChessBoard board, ChessGame game) {
+		int least = -1;
+		int leastValue = Integer.MAX_VALUE;
+		for (int square = attackers.first(); square != -1; square = attackers.next(square)) {
+			int value = value(game, board.getPiece(square));
+			if (value < leastValue) {
+				least = square;
+				leastValue = value;
+			}
+		}
+		return least;
+	}
+
+	/**
+	 * Returns true if the other side would still attack the square after the king captured on it
+	 */
+	private boolean defended(BitboardPosition bitboards, ChessBoard board, ChessPiece king, int toRow, int toColumn,
+			ChessPiece onSquare, int from, int numColumns) {
+		bitboards.removePiece(onSquare, toRow, toColumn);
+		bitboards.removePiece(king, from / numColumns, from % numColumns);
+		bitboards.addPiece(king, toRow, toColumn);
+		boolean defended = bitboards.isAttacked(toRow, toColumn, king.getSide());
+		bitboards.removePiece(king, toRow, toColumn);
+		bitboards.addPiece(king, from / numColumns, from % numColumns);
+		bitboards.addPiece(onSquare, toRow, toColumn);
+		return defended;
+	}
+}
@@ -0,0 +1,48 @@
+package engine;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Waits for the tasks the searches run on threads of their own
+ * @author Phila Dlamini
+ *
+ */
+final class Tasks {
+
+	/**
+	 * There are no Tasks objects
+	 */
+	private Tasks() {
+	}
+
+	/**
+	 * Waits for a task that has been told to stop, and returns its result. An interrupt does not cut the wait
+	 * short, since the task is about to finish, but is kept for the caller to see
+	 * @param task	the task to wait for
+	 * @return the task's result
+	 * @throws RuntimeException or Error if the task threw one (any other failure is wrapped in an IllegalStateException)
+	 */
+	static <T> T join(Future<T> task) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return task.get();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException)
+						throw (RuntimeException) cause;
+					if (cause instanceof Error)
+						throw (Error) cause;
+					throw new IllegalStateException(cause);
+				}
+			}
+		} finally {
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+}
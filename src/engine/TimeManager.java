@@ -0,0 +1,134 @@
+package engine;
+
+/**
+ * Shares out a clock between the moves of a game, for a Search playing under a clock rather than to a depth.
+ *
+ * From the time left and the increment, each move is given an optimum time, which the search aims for, and a
+ * maximum, at which it is stopped wherever it is. A new depth is only started while it is likely to finish
+ * inside the optimum time, which is stretched (up to the maximum) while the best move keeps changing from
+ * depth to depth. The search plays a forced move at once.
+ *
+ * A clock can also be made for pondering: searching on the opponent's time, after the move the opponent is
+ * expected to play. It does not run out until ponderHit is called, when the opponent has played that move;
+ * from then on the search's own clock runs, but the time already spent pondering counts towards the optimum,
+ * so a search that has pondered for longer than the optimum stops at once.
+ * A clock may be read by the search thread and told of the ponder hit by another thread
+ * @author Phila Dlamini
+ *
+ */
+public final class TimeManager {
+
+	// The number of moves the time left is shared between, when the clock does not say
+	private static final int DEFAULT_MOVES_TO_GO = 30;
+
+	// The time kept back from the clock for making the move once it is found
+	private static final long OVERHEAD_MILLIS = 50;
+
+	// The most times the optimum time the maximum time may be
+	private static final int MAXIMUM_FACTOR = 5;
+
+	// The time the search aims for, and the time it must not go over, in nanoseconds
+	private final long optimum;
+	private final long maximum;
+
+	// When the search started (System.nanoTime), and when it must stop
+	private final long start;
+	private volatile long deadline;
+
+	// True while the search is on the opponent's time
+	private volatile boolean pondering;
+
+	/**
+	 * Constructs the clock of one move, starting now
+	 * @param remainingMillis	the milliseconds left on the clock of the side to play
+	 * @param incrementMillis	the milliseconds added to the clock after each move
+	 * @param movesToGo			the moves to play before more time is added, or 0 if no more time is added
+	 * @param ponder			true if the search is pondering on the opponent's time
+	 */
+	public TimeManager(long remainingMillis, long incrementMillis, int movesToGo, boolean ponder) {
+		long usable = Math.max(remainingMillis - OVERHEAD_MILLIS, 1);
+		int moves = movesToGo > 0 ? movesToGo : DEFAULT_MOVES_TO_GO;
+
+		//Aim for an even share of the time left plus most of the increment, and never use more than a share of the
+		//time left (all of it but the overhead when this is the last move before more time is added)
+		long maximumMillis = Math.min(usable / moves * MAXIMUM_FACTOR + incrementMillis, usable * 2 / Math.min(moves + 1, 6));
+		long optimumMillis = Math.min(usable / moves + incrementMillis * 3 / 4, maximumMillis);
+		optimum = Math.max(optimumMillis, 1) * 1000000L;
+		maximum = Math.max(maximumMillis, 1) * 1000000L;
+		start = System.nanoTime();
+		pondering = ponder;
+		deadline = ponder ? Long.MAX_VALUE : start + maximum;
+	}
+
+	/**
+	 * Tells a pondering search that the opponent played the expected move, so its own clock runs from now.
+	 * If it has already pondered for the optimum time it stops at once
+	 */
+	public void ponderHit() {
+		long now = System.nanoTime();
+		deadline = now - start >= optimum ? now : now + maximum;
+		pondering = false;
+	}
+
+	/**
+	 * Stops the search under this clock as soon as it looks at the clock, even if it has not started yet
+	 * (for instance a pondering search when the opponent did not play the expected move)
+	 */
+	public void stop() {
+		deadline = Long.MIN_VALUE;
+		pondering = false;
+	}
+
+	/**
+	 * Returns true while the search is pondering on the opponent's time
+	 * @return true while pondering
+	 */
+	public boolean isPondering() {
+		return pondering;
+	}
+
+	/**
+	 * Returns true once the search must stop where it is
+	 * @return true once the maximum time is up (never while pondering)
+	 */
+	public boolean isOutOfTime() {
+		return System.nanoTime() >= deadline;
+	}
+
+	/**
+	 * Returns true if the search should start another depth, which takes longer than all of the depths before it:
+	 * while less than half of the optimum time is used, with the optimum stretched by the instability of the best move
+	 * @param instability	how much the best move has been changing, from 0 (not at all) up
+	 * @return true to search another depth
+	 */
+	public boolean startNextDepth(double instability) {
+		if (pondering)
+			return true;
+		double limit = Math.min(optimum * (1 + instability), maximum);
+		return System.nanoTime() - start < limit / 2;
+	}
+
+	/**
+	 * Returns the time the search aims for
+	 * @return the optimum time, in milliseconds
+	 */
+	public long getOptimumMillis() {
+		return optimum / 1000000L;
+	}
+
+	/**
+	 * Returns the most time the search may take
+	 * @return the maximum time, in milliseconds
+	 */
+	public long getMaximumMillis() {
+		return maximum / 1000000L;
+	}
+
+	/**
+	 * Returns the time since the search started, pondering included
+	 * @return the elapsed time, in milliseconds
+	 */
+	public long getElapsedMillis() {
+		return (System.nanoTime() - start) / 1000000L;
+	}
+}
@@ -0,0 +1,198 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size table of what the search has learned about positions, shared without locks by any number of threads.
+ *
+ * Each entry is two longs in one long array, so the table makes no objects: the data (the best move, the score,
+ * the depth it was searched to, whether the score is exact or a bound, and the search it was stored in) packed into
+ * one long, and the Zobrist key of the position exclusive-ored with the data. Two threads writing the same entry
+ * at once can leave one thread's key with the other's data, but then the key no longer matches and the entry is
+ * treated as empty, so a thread never uses data stored for another position.
+ *
+ * The entries are grouped into buckets of four (64 bytes, one cache line). A position can be stored in any entry
+ * of its bucket: the entry already holding it, or else the one with the least to lose, which is the one with the
+ * lowest depth, counting entries from earlier searches as shallower the older they are
+ * @author Phila Dlamini
+ *
+ */
+public final class TranspositionTable {
+
+	/**
+	 * The score is exact
+	 */
+	public static final int EXACT = 1;
+
+	/**
+	 * The score is at most the stored score (no move reached alpha)
+	 */
+	public static final int UPPER = 2;
+
+	/**
+	 * The score is at least the stored score (a move reached beta)
+	 */
+	public static final int LOWER = 3;
+
+	// The number of entries in a bucket
+	private static final int BUCKET_ENTRIES = 4;
+
+	// Where each field starts in the data, and the bits it takes
+	private static final int MOVE_BITS = 18;
+	private static final int SCORE_SHIFT = 18;
+	private static final int DEPTH_SHIFT = 34;
+	private static final int BOUND_SHIFT = 42;
+	private static final int AGE_SHIFT = 44;
+	private static final int AGE_BITS = 6;
+
+	// The key ^ data and the data of each entry
+	private final long[] entries;
+
+	// The number of buckets less one (the number of buckets is a power of two)
+	private final long bucketMask;
+
+	// The age of the current search, which wraps around after 63
+	private int age;
+
+	/**
+	 * Constructs an empty table that takes at most the given size
+	 * @param megabytes		the size of the table in megabytes (at least one bucket is made)
+	 */
+	public TranspositionTable(int megabytes) {
+		long bytes = Math.max(megabytes, 0) * 1024L * 1024L;
+		long buckets = Math.max(Long.highestOneBit(bytes / (BUCKET_ENTRIES * 16)), 1);
+		buckets = Math.min(buckets, 1L << 26); //An array holds at most 2^31 longs
+		entries = new long[(int) (buckets * BUCKET_ENTRIES * 2)];
+		bucketMask = buckets - 1;
+	}
+
+	/**
+	 * Starts a new search, so the entries of earlier searches are replaced first
+	 */
+	public void newSearch() {
+		age = (age + 1) & ((1 << AGE_BITS) - 1);
+	}
+
+	/**
+	 * Empties the table
+	 */
+	public void clear() {
+		Arrays.fill(entries, 0);
+	}
+
+	/**
+	 * Looks a position up
+	 * @param key	the Zobrist key of the position
+	 * @return the packed data of the position (read it with move, score, depth and bound), or 0 if it is not in the table
+	 */
+	public long probe(long key) {
+		int bucket = bucket(key);
+		for (int i = bucket; i < bucket + BUCKET_ENTRIES * 2; i += 2) {
+			long data = entries[i + 1];
+			if ((entries[i] ^ data) == key && data != 0)
+				return data;
+		}
+		return 0;
+	}
+
+	/**
+	 * Stores what a search found about a position
+	 * @param key		the Zobrist key of the position
+	 * @param move		the best move (Move.NONE keeps the move already stored for the position)
+	 * @param score		the score, between -Search.INFINITY and Search.INFINITY
+	 * @param depth		the depth searched, from 0 to 255
+	 * @param bound		EXACT, UPPER or LOWER
+	 */
+	public void store(long key, int move, int score, int depth, int bound) {
+		int bucket = bucket(key);
+		int replace = bucket;
+		int lowestWorth = Integer.MAX_VALUE;
+		for (int i = bucket; i < bucket + BUCKET_ENTRIES * 2; i += 2) {
+			long data = entries[i + 1];
+			if ((entries[i] ^ data) == key && data != 0) {
+
+				//A deeper result from this search is worth more than a shallow bound
+				if (depth < depth(data) - 2 && bound != EXACT && age(data) == age)
+					return;
+				if (move == 0)
+					move = move(data);
+				replace = i;
+				break;
+			}
+
+			int worth = depth(data) - 8 * ((age - age(data)) & ((1 << AGE_BITS) - 1));
+			if (data == 0)
+				worth = Integer.MIN_VALUE;
+			if (worth < lowestWorth) {
+				lowestWorth = worth;
+				replace = i;
+			}
+		}
+
+		long data = move
+				| (long) (score & 0xFFFF) << SCORE_SHIFT
+				| (long) depth << DEPTH_SHIFT
+				| (long) bound << BOUND_SHIFT
+				| (long) age << AGE_SHIFT;
+		entries[replace] = key ^ data;
+		entries[replace + 1] = data;
+	}
+
+	/**
+	 * Returns the best move of packed data
+	 * @param data	the data returned by probe
+	 * @return the packed move (see Move), or Move.NONE
+	 */
+	public static int move(long data) {
+		return (int) data & ((1 << MOVE_BITS) - 1);
+	}
+
+	/**
+	 * Returns the score of packed data
+	 * @param data	the data returned by probe
+	 * @return the score
+	 */
+	public static int score(long data) {
+		return (short) (data >>> SCORE_SHIFT);
+	}
+
+	/**
+	 * Returns the depth of packed data
+	 * @param data	the data returned by probe
+	 * @return the depth the score was searched to
+	 */
+	public static int depth(long data) {
+		return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+	}
+
+	/**
+	 * Returns the bound of packed data
+	 * @param data	the data returned by probe
+	 * @return EXACT, UPPER or LOWER
+	 */
+	public static int bound(long data) {
+		return (int) (data >>> BOUND_SHIFT) & 3;
+	}
+
+	/**
+	 * Returns the number of entries the table can hold
+	 * @return the number of entries
+	 */
+	public int size() {
+		return entries.length / 2;
+	}
+
+	/**
+	 * Returns the age of the search packed data was stored in
+	 */
+	private static int age(long data) {
+		return (int) (data >>> AGE_SHIFT) & ((1 << AGE_BITS) - 1);
+	}
+
+	/**
+	 * Returns the index of the first long of the bucket of a position
+	 */
+	private int bucket(long key) {
+		return (int) ((key ^ key >>> 32) & bucketMask) * BUCKET_ENTRIES * 2;
+	}
+}
@@ -1,5 +1,6 @@
 package europeanpieces;
 import piecetypes.DiagonallyMovingPiece;
+import piecetypes.PieceType;
 import piecetypes.SingleDirectionPiece;
 import chess.ChessGame;
 import graphics.ChessBoard;
@@ -21,4 +22,12 @@ public class BishopPiece extends SingleDirectionPiece implements DiagonallyMovin
 		super(board, "B", side, icon, SingleDirectionPiece.UNLIMITED_STEPS_IN_DIRECTION);
 	}
 
+	/**
+	 * Returns the type of this piece
+	 * @return the type of this piece (BISHOP)
+	 */
+	@Override
+	public PieceType getType() {
+		return PieceType.BISHOP;
+	}
 }
@@ -1,8 +1,10 @@
 package europeanpieces;
+import bitboards.AttackTables;
 import chess.ChessGame;
 import graphics.ChessBoard;
 import piecetypes.DiagonallyMovingPiece;
 import piecetypes.HorizontallyMovingPiece;
+import piecetypes.PieceType;
 import piecetypes.SingleDirectionPiece;
 import piecetypes.VerticallyMovingPiece;
 
@@ -38,6 +40,14 @@ public class KingPiece extends SingleDirectionPiece implements HorizontallyMovin
 			return true;
 		}
 		
+		//A king taking one step looks the step up in the board's attack tables
+		if (getNumberOfAllowedSteps() == 1 && getChessBoard().getAttackTables() != null) {
+			int numColumns = getChessBoard().getGameRules().getNumColumns();
+			int relation = getChessBoard().getAttackTables().relation(getRow() * numColumns + getColumn(), toRow * numColumns + toColumn);
+			return (relation & (AttackTables.ORTHOGONAL_STEP | AttackTables.DIAGONAL_STEP)) != 0
+					&& !(getChessBoard().hasPiece(toRow, toColumn) && getChessBoard().getPiece(toRow, toColumn).getSide() == getSide());
+		}
+		
 		return super.isLegalMove(toRow, toColumn);
 	}
 	
@@ -53,4 +63,13 @@ public class KingPiece extends SingleDirectionPiece implements HorizontallyMovin
 		return false;
 		//TODO: Implement method 
 	}
+
+	/**
+	 * Returns the type of this piece
+	 * @return the type of this piece (KING)
+	 */
+	@Override
+	public PieceType getType() {
+		return PieceType.KING;
+	}
 }
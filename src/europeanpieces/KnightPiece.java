@@ -2,6 +2,7 @@ package europeanpieces;
 
 import chess.ChessGame;
 import graphics.ChessBoard;
+import piecetypes.PieceType;
 import piecetypes.TwoDirectionPiece;
 
 /**
@@ -20,5 +21,14 @@ public class KnightPiece extends TwoDirectionPiece {
 	public KnightPiece(ChessBoard board, ChessGame.Side side, Object icon) {
 		super(board, "N", side, icon, 2); //The distance ratio for a KnightPiece is 2 
 	}
+
+	/**
+	 * Returns the type of this piece
+	 * @return the type of this piece (KNIGHT)
+	 */
+	@Override
+	public PieceType getType() {
+		return PieceType.KNIGHT;
+	}
 }
 
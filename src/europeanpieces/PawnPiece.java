@@ -1,10 +1,9 @@
 package europeanpieces;
-import javax.swing.JOptionPane;
-
 import chess.ChessGame;
 import graphics.ChessBoard;
 import piecetypes.ChessPiece;
 import piecetypes.DiagonallyMovingPiece;
+import piecetypes.PieceType;
 import piecetypes.SingleDirectionPiece;
 import piecetypes.VerticallyMovingPiece;
 
@@ -99,6 +98,17 @@ public class PawnPiece extends SingleDirectionPiece implements VerticallyMovingP
 	}
 	
 	
+	/**
+	 * Sets whether or not this pawn has moved before, along with the number of steps it may take
+	 * Used when a move is taken back
+	 * @param firstMove		true if this pawn has not moved before
+	 */
+	public void setFirstMove(boolean firstMove) {
+		this.firstMove = firstMove;
+		setAllowedStepsInDirection(firstMove ? 2 : 1);
+	}
+	
+	
 	/**
 	 * Upgrades this pawn to another of the users's choosing (except a King)
 	 * @param row 		the row the was was at (the upgraded piece is placed on this row)
@@ -106,8 +116,8 @@ public class PawnPiece extends SingleDirectionPiece implements VerticallyMovingP
 
 	 */
 	private void upgradePiece(int row, int column) {
-		//Ask the user which piece they want to upgrade to 
-		char pieceWanted = JOptionPane.showInputDialog("Which piece do you want? You are not allowed to choose a King").charAt(0);
+		//Ask the board which piece the user wants to upgrade to 
+		char pieceWanted = getChessBoard().getPromotionChoice();
 		
 		//Holds the piece to upgrade
 		ChessPiece piece;
@@ -131,12 +141,8 @@ public class PawnPiece extends SingleDirectionPiece implements VerticallyMovingP
 			piece = new KnightPiece(getChessBoard(), getSide(), null);
 			break;
 			
-		case 'P':
-			piece = new PawnPiece(getChessBoard(), getSide(), null);
-			break;
-			
 		default:
-			piece = new PawnPiece(getChessBoard(), getSide(), null); //By default (e.g the user chooses a King, we put a Pawn)
+			piece = new QueenPiece(getChessBoard(), getSide(), null); //By default (e.g the user chooses a King or a Pawn, we put a Queen)
 		}
 		
 		getChessBoard().addPiece(piece, row, column);
@@ -154,6 +160,14 @@ public class PawnPiece extends SingleDirectionPiece implements VerticallyMovingP
 			setAllowedStepsInDirection(1); //The pawn should now only move one step at a time
 		}
 	}
-	
+
+	/**
+	 * Returns the type of this piece
+	 * @return the type of this piece (PAWN)
+	 */
+	@Override
+	public PieceType getType() {
+		return PieceType.PAWN;
+	}
 }
 
@@ -3,6 +3,7 @@ import chess.ChessGame;
 import graphics.ChessBoard;
 import piecetypes.DiagonallyMovingPiece;
 import piecetypes.HorizontallyMovingPiece;
+import piecetypes.PieceType;
 import piecetypes.SingleDirectionPiece;
 import piecetypes.VerticallyMovingPiece;
 
@@ -28,5 +29,13 @@ public class QueenPiece extends SingleDirectionPiece
 		super(chessBoard, "Q", side, icon, SingleDirectionPiece.UNLIMITED_STEPS_IN_DIRECTION);
 	}
 
+	/**
+	 * Returns the type of this piece
+	 * @return the type of this piece (QUEEN)
+	 */
+	@Override
+	public PieceType getType() {
+		return PieceType.QUEEN;
+	}
 }
 
@@ -2,6 +2,7 @@ package europeanpieces;
 import chess.ChessGame;
 import graphics.ChessBoard;
 import piecetypes.HorizontallyMovingPiece;
+import piecetypes.PieceType;
 import piecetypes.SingleDirectionPiece;
 import piecetypes.VerticallyMovingPiece;
 
@@ -20,4 +21,13 @@ public class RookPiece extends SingleDirectionPiece implements HorizontallyMovin
 	public RookPiece(ChessBoard board, ChessGame.Side side, Object icon) {
 		super(board, "R", side, icon, SingleDirectionPiece.UNLIMITED_STEPS_IN_DIRECTION);
 	}
+
+	/**
+	 * Returns the type of this piece
+	 * @return the type of this piece (ROOK)
+	 */
+	@Override
+	public PieceType getType() {
+		return PieceType.ROOK;
+	}
 }
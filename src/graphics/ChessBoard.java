@@ -1,8 +1,17 @@
 package graphics;
+import java.util.Arrays;
+
+import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 
+import bitboards.AttackTables;
+import bitboards.BitboardPosition;
+import bitboards.SquareSet;
 import chess.ChessGame;
+import chess.UndoStack;
+import chess.ZobristKeys;
 import piecetypes.ChessPiece;
+import piecetypes.PieceType;
 
 /**
  * An arbitrary chess board on which the game of chess is played
@@ -17,6 +26,35 @@ public abstract class ChessBoard {
 	//The chess game being played on this board
 	private ChessGame gameRules;
 	
+	//The label of the piece pawns are upgraded to (0 if the user should be asked)
+	private char promotionChoice;
+	
+	//The bitboard representation of the pieces (null if this board has none)
+	private BitboardPosition bitboards;
+	
+	//The squares leaping and stepping pieces can reach on a board of this size
+	private AttackTables attackTables;
+	
+	//The Zobrist key of the pieces on the board (without the side to move)
+	private long piecesKey;
+	
+	//The moves made on this board that can be taken back
+	private UndoStack undoStack;
+	
+	//The squares (row * columns + column) of each side's pieces, the first pieceCounts of which are used
+	private int[][] pieceSquares;
+	private int[] pieceCounts;
+	
+	//Where each square is kept in its side's list of squares (-1 if the square is empty)
+	private int[] pieceIndexes;
+	
+	//The number of kings each side has, and the square of the last king placed
+	private int[] kingCounts;
+	private int[] kingSquares;
+	
+	//Told of every piece placed on or taken off the board (null if there is none)
+	private PieceListener pieceListener;
+	
 	/**
 	 * Constructs the ChessBoard
 	 * @param gameRules 	the chess game being played on this board
@@ -24,6 +62,18 @@ public abstract class ChessBoard {
 	public ChessBoard(ChessGame gameRules) {
 		pieces = new ChessPiece[gameRules.getNumRows()][gameRules.getNumColumns()];
 		this.gameRules = gameRules;
+		bitboards = BitboardPosition.forGame(gameRules);
+		attackTables = AttackTables.forGame(gameRules);
+		undoStack = new UndoStack();
+		
+		int numSquares = gameRules.getNumRows() * gameRules.getNumColumns();
+		int numSides = ChessGame.Side.values().length;
+		pieceSquares = new int[numSides][numSquares];
+		pieceCounts = new int[numSides];
+		pieceIndexes = new int[numSquares];
+		Arrays.fill(pieceIndexes, -1);
+		kingCounts = new int[numSides];
+		kingSquares = new int[numSides];
 	}
 
 	/**
@@ -33,7 +83,12 @@ public abstract class ChessBoard {
 	 * @param column	the column to place this piece on 
 	 */
 	public void addPiece(ChessPiece piece, int row, int column) {
+		
+		//The piece being replaced (if any) is captured
+		if (pieces[row][column] != null)
+			pieceRemoved(pieces[row][column], row, column);
 		pieces[row][column] = piece;
+		pieceAdded(piece, row, column);
 		piece.setLocation(row, column);
 	}
 	
@@ -45,10 +100,75 @@ public abstract class ChessBoard {
 	 */
 	public ChessPiece removePiece(int row, int column) {
 		ChessPiece piece = getPiece(row, column);
+		if (piece != null)
+			pieceRemoved(piece, row, column);
 		pieces[row][column] = null;
 		return piece;
 	}
 	
+	/**
+	 * Updates the bitboards, the Zobrist key, the piece lists and the listener for a piece placed on the board
+	 * @param piece		the piece placed on the board
+	 * @param row		the row the piece was placed on
+	 * @param column	the column the piece was placed on
+	 */
+	private void pieceAdded(ChessPiece piece, int row, int column) {
+		int square = row * gameRules.getNumColumns() + column;
+		if (bitboards != null)
+			bitboards.addPiece(piece, row, column);
+		piecesKey ^= ZobristKeys.pieceKey(piece, square);
+		
+		//Add the square to the end of the side's list
+		int side = piece.getSide().ordinal();
+		pieceIndexes[square] = pieceCounts[side];
+		pieceSquares[side][pieceCounts[side]++] = square;
+		if (isKing(piece)) {
+			kingCounts[side]++;
+			kingSquares[side] = square;
+		}
+		if (pieceListener != null)
+			pieceListener.pieceAdded(piece, square);
+	}
+	
+	/**
+	 * Updates the bitboards, the Zobrist key, the piece lists and the listener for a piece taken off the board
+	 * @param piece		the piece taken off the board
+	 * @param row		the row the piece was taken from
+	 * @param column	the column the piece was taken from
+	 */
+	private void pieceRemoved(ChessPiece piece, int row, int column) {
+		int square = row * gameRules.getNumColumns() + column;
+		if (bitboards != null)
+			bitboards.removePiece(piece, row, column);
+		piecesKey ^= ZobristKeys.pieceKey(piece, square);
+		
+		//Fill the gap in the side's list with its last square
+		int side = piece.getSide().ordinal();
+		int index = pieceIndexes[square];
+		int lastSquare = pieceSquares[side][--pieceCounts[side]];
+		pieceSquares[side][index] = lastSquare;
+		pieceIndexes[lastSquare] = index;
+		pieceIndexes[square] = -1;
+		
+		//If the side is left with one king, find where it is
+		if (isKing(piece) && --kingCounts[side] == 1) {
+			for (int i = 0; i < pieceCounts[side]; i++) {
+				ChessPiece other = getPiece(pieceSquares[side][i]);
+				if (other != piece && isKing(other))
+					kingSquares[side] = pieceSquares[side][i];
+			}
+		}
+		if (pieceListener != null)
+			pieceListener.pieceRemoved(piece, square);
+	}
+	
+	/**
+	 * Returns true if the piece is a king of either game
+	 */
+	private static boolean isKing(ChessPiece piece) {
+		return piece.getType() == PieceType.KING || piece.getType() == PieceType.XIANGQI_KING;
+	}
+	
 	/**
 	 * Returns true if there is a piece at the specified row and column
 	 * @param row		the row to look at 
@@ -69,16 +189,99 @@ public abstract class ChessBoard {
 		return pieces[row][column];
 	}
 	
+	/**
+	 * Returns the piece on the specified square
+	 * @param square	the square (row * columns + column) to look at
+	 * @return the piece on the square, or null if the square is empty
+	 */
+	public ChessPiece getPiece(int square) {
+		return pieces[square / gameRules.getNumColumns()][square % gameRules.getNumColumns()];
+	}
+	
+	/**
+	 * Returns the number of pieces the side has on the board
+	 * @param side	the side whose pieces to count
+	 * @return the number of pieces the side has on the board
+	 */
+	public int getPieceCount(ChessGame.Side side) {
+		return pieceCounts[side.ordinal()];
+	}
+	
+	/**
+	 * Returns the square of one of the side's pieces. The pieces are numbered from 0 to getPieceCount(side) - 1,
+	 * so every piece of a side is visited, without creating any objects, with
+	 * for (int i = 0; i < board.getPieceCount(side); i++) board.getPieceSquare(side, i)
+	 * Adding or removing a piece changes the numbering
+	 * @param side	the side the piece belongs to
+	 * @param index	the number of the piece
+	 * @return the square (row * columns + column) of the piece
+	 */
+	public int getPieceSquare(ChessGame.Side side, int index) {
+		return pieceSquares[side.ordinal()][index];
+	}
+	
+	/**
+	 * Returns the square of the side's king
+	 * @param side	the side the king belongs to
+	 * @return the square (row * columns + column) of the king, or -1 if the side does not have exactly one king
+	 */
+	public int getKingSquare(ChessGame.Side side) {
+		return kingCounts[side.ordinal()] == 1 ? kingSquares[side.ordinal()] : -1;
+	}
+	
 	/**
 	 * Returns true if a piece of the opponent player can make a legal move and
 	 * capture the piece the specified piece
+	 * When the board has bitboards that understand every piece on it, the answer comes from attack masks,
+	 * working outward from the square. Otherwise every opponent piece in the piece lists is asked
 	 * 
 	 * @param row    the row this piece is on
 	 * @param column the column this piece is on
 	 * @param piece  the piece at this row and column
 	 * @return true if an opponent piece can move to this square and capture the piece here
 	 */
-	public abstract boolean squareThreated(int row, int column, ChessPiece piece);
+	public boolean squareThreated(int row, int column, ChessPiece piece) {
+		if (getBitboards() != null && getBitboards().canComputeAttacks())
+			return hasPiece(row, column) && getBitboards().isAttacked(row, column, piece.getSide());
+		
+		for (ChessGame.Side side : ChessGame.Side.values()) {
+			if (side == piece.getSide())
+				continue;
+			for (int i = 0; i < getPieceCount(side); i++) {
+				if (getPiece(getPieceSquare(side, i)).isLegalCaptureMove(row, column))
+					return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Fills the set with the squares (row * columns + column) of the pieces that do not belong to the side
+	 * and can capture a piece of the side on the specified square.
+	 * When the board has bitboards that understand every piece on it, the attackers are found by working outward
+	 * from the square with each piece type's attack pattern turned around (including cannon screens).
+	 * Otherwise every opponent piece is asked, which only finds attackers of a square that holds a piece
+	 * @param row		the row of the square
+	 * @param column	the column of the square
+	 * @param side		the side whose piece would be captured
+	 * @param attackers	the set to fill (anything already in it is removed)
+	 */
+	public void attackersTo(int row, int column, ChessGame.Side side, SquareSet attackers) {
+		if (getBitboards() != null && getBitboards().canComputeAttacks()) {
+			getBitboards().attackersTo(row, column, side, attackers);
+			return;
+		}
+		
+		attackers.clear();
+		for (ChessGame.Side attacker : ChessGame.Side.values()) {
+			if (attacker == side)
+				continue;
+			for (int i = 0; i < getPieceCount(attacker); i++) {
+				if (getPiece(getPieceSquare(attacker, i)).isLegalCaptureMove(row, column))
+					attackers.add(getPieceSquare(attacker, i));
+			}
+		}
+	}
 	
 	/**
 	 * Returns the ChessGame being displayed on this board
@@ -88,6 +291,78 @@ public abstract class ChessBoard {
 		return gameRules;
 	}
 	
+	/**
+	 * Returns the bitboard representation of the pieces on this board 
+	 * @return the bitboard representation of the pieces, or null if this board has none
+	 */
+	public BitboardPosition getBitboards() {
+		return bitboards;
+	}
+	
+	/**
+	 * Returns the squares leaping and stepping pieces can reach on this board
+	 * @return the attack tables for a board of this size
+	 */
+	public AttackTables getAttackTables() {
+		return attackTables;
+	}
+	
+	/**
+	 * Returns the 64-bit Zobrist key of the position: the pieces on the board and the side to move
+	 * The key is updated as pieces are added and removed, so it costs nothing to ask for it
+	 * @return the Zobrist key of the position
+	 */
+	public long getZobristKey() {
+		return piecesKey ^ ZobristKeys.turnKey(gameRules.getCurrentTurn());
+	}
+	
+	/**
+	 * Returns the moves made on this board that can be taken back
+	 * @return the moves made on this board that can be taken back
+	 */
+	public UndoStack getUndoStack() {
+		return undoStack;
+	}
+	
+	/**
+	 * Sets the listener told of every piece placed on or taken off the board, including by moves
+	 * made and taken back. A board has at most one listener, which replaces any earlier one
+	 * @param pieceListener		the listener, or null for none
+	 */
+	public void setPieceListener(PieceListener pieceListener) {
+		this.pieceListener = pieceListener;
+	}
+	
+	/**
+	 * Returns the label of the piece a pawn reaching the last row is upgraded to
+	 * If no choice was set on this board, the user is asked for one
+	 * @return the label of the piece a pawn is upgraded to
+	 */
+	public char getPromotionChoice() {
+		if (promotionChoice == 0)
+			return JOptionPane.showInputDialog("Which piece do you want? You are not allowed to choose a King").charAt(0);
+		return promotionChoice;
+	}
+	
+	/**
+	 * Returns the label set with setPromotionChoice, without asking the user
+	 * @return the label of the piece pawns are upgraded to, or 0 if the user is asked
+	 */
+	public char getStoredPromotionChoice() {
+		return promotionChoice;
+	}
+	
+	/**
+	 * Sets the label of the piece pawns are upgraded to without asking the user
+	 * @param promotionChoice	the label of the piece to upgrade to (Q, R, B or N), or 0 to ask the user
+	 * @throws IllegalArgumentException if the label is not one a pawn can be upgraded to
+	 */
+	public void setPromotionChoice(char promotionChoice) {
+		if (promotionChoice != 0 && "QRBN".indexOf(promotionChoice) < 0)
+			throw new IllegalArgumentException("A pawn cannot be upgraded to " + promotionChoice);
+		this.promotionChoice = promotionChoice;
+	}
+	
 	
 	
  }
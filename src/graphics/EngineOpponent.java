@@ -0,0 +1,83 @@
+package graphics;
+
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+import chess.ChessGame;
+import chess.Move;
+import chess.MoveList;
+import engine.EnginePlayer;
+
+/**
+ * An EnginePlayer playing one side against the user on a displayed board, with a clock of its own.
+ * The engine thinks on a thread of its own so the display stays live, and its move is handed back to be made
+ * on the display's thread. While the user thinks, the engine ponders, so when the user plays the move it
+ * expected, the reply comes at once
+ * @author Phila Dlamini
+ *
+ */
+public class EngineOpponent {
+
+	// The engine
+	private final EnginePlayer player;
+
+	// The side the engine plays
+	private final ChessGame.Side side;
+
+	// The milliseconds left on the engine's clock, and the milliseconds added after each of its moves
+	private long remainingMillis;
+	private final long incrementMillis;
+
+	/**
+	 * Constructs the opponent
+	 * @param player			the engine
+	 * @param side				the side the engine plays
+	 * @param gameMillis		the milliseconds on the engine's clock at the start of the game
+	 * @param incrementMillis	the milliseconds added to the engine's clock after each of its moves
+	 */
+	public EngineOpponent(EnginePlayer player, ChessGame.Side side, long gameMillis, long incrementMillis) {
+		this.player = player;
+		this.side = side;
+		this.remainingMillis = gameMillis;
+		this.incrementMillis = incrementMillis;
+	}
+
+	/**
+	 * Returns the side the engine plays (the user may not move while it is this side's turn)
+	 * @return the engine's side
+	 */
+	public ChessGame.Side getSide() {
+		return side;
+	}
+
+	/**
+	 * Finds the engine's move on a thread of its own, then makes it on the display's thread with the given
+	 * action, and starts pondering on the user's time if the game goes on
+	 * @param board			the board being played on, which must not change until the move is made
+	 * @param uiThread		runs code on the display's thread (such as SwingUtilities::invokeLater)
+	 * @param play			makes the move on the board and shows it
+	 */
+	public void reply(ChessBoard board, Consumer<Runnable> uiThread, IntConsumer play) {
+		Thread thread = new Thread(() -> {
+			long start = System.currentTimeMillis();
+			int move = player.think(board, remainingMillis, incrementMillis);
+			remainingMillis += incrementMillis - (System.currentTimeMillis() - start);
+			uiThread.accept(() -> {
+				if (move != Move.NONE) {
+					play.accept(move);
+					if (!board.getGameRules().getStatus(board, new MoveList()).isOver())
+						player.startPondering(board, remainingMillis, incrementMillis);
+				}
+			});
+		}, "EngineOpponent");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stops the engine's pondering thread, when the game is closed
+	 */
+	public void shutdown() {
+		player.shutdown();
+	}
+}
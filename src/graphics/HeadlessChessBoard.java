@@ -0,0 +1,24 @@
+package graphics;
+
+import chess.ChessGame;
+
+/**
+ * A ChessBoard that only holds the game model and is never displayed.
+ * It has no Swing or JavaFX dependencies, so games can be hosted, validated and tested on machines without a display
+ *
+ * @author Phila Dlamini
+ *
+ */
+public class HeadlessChessBoard extends ChessBoard {
+
+	/**
+	 * Constructs the HeadlessChessBoard
+	 * Since there is no user to ask, pawns reaching the last row are upgraded to a queen
+	 *
+	 * @param gameRules the chess game being played on this board
+	 */
+	public HeadlessChessBoard(ChessGame gameRules) {
+		super(gameRules);
+		setPromotionChoice('Q');
+	}
+}
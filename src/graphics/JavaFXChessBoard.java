@@ -7,7 +7,12 @@ import java.util.List;
 
 import chess.ChessGame;
 import chess.EuropeanChess;
+import chess.GameStatus;
+import chess.Move;
+import chess.MoveList;
 import chess.Xiangqi;
+import engine.EnginePlayer;
+import engine.PieceSquareEvaluator;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
@@ -31,6 +36,13 @@ public class JavaFXChessBoard extends Application {
 	// The chess being played on the
 	private ChessGame chessGame;
 
+	// The engine's clock at the start of the game, and the time added after each of its moves
+	private static final long ENGINE_GAME_MILLIS = 5 * 60 * 1000;
+	private static final long ENGINE_INCREMENT_MILLIS = 3000;
+
+	// The size of the engine's transposition table, in megabytes
+	private static final int ENGINE_TABLE_MEGABYTES = 64;
+
 	/**
 	 * Displays the board and starts the game of chess
 	 * @param primaryStage the primary display stage for the board
@@ -38,8 +50,9 @@ public class JavaFXChessBoard extends Application {
 	@Override
 	public void start(Stage primaryStage) throws Exception {
 
-		// Get the command line arguments
+		// Get the command line arguments ("engine" has the engine play the north against the user)
 		List<String> args = getParameters().getRaw();
+		boolean engine = args.contains("engine");
 		args = new ArrayList<>();
 		args.add("chess");
 
@@ -72,6 +85,9 @@ public class JavaFXChessBoard extends Application {
 			// Display the board
 			Board board = new Board(primaryStage);
 			chessGame.startGame(board);
+			if (engine)
+				board.setEngineOpponent(new EngineOpponent(new EnginePlayer(PieceSquareEvaluator::new, ENGINE_TABLE_MEGABYTES),
+						ChessGame.Side.NORTH, ENGINE_GAME_MILLIS, ENGINE_INCREMENT_MILLIS));
 
 		} else {
 			System.out.println("Specify which game of chess you want to play: \"chess\" or \"xiangqi\"");
@@ -87,6 +103,15 @@ public class JavaFXChessBoard extends Application {
 		// The squares for the board
 		private Button[][] squares;
 
+		// The stage the board is shown on
+		private Stage stage;
+
+		// The listener of the squares, which also makes the engine's moves
+		private ClickListener clickListener;
+
+		// The engine playing against the user (null if two users play each other)
+		private EngineOpponent engineOpponent;
+
 		/**
 		 * Constructs the Board
 		 * 
@@ -97,13 +122,14 @@ public class JavaFXChessBoard extends Application {
 		 */
 		public Board(Stage primaryStage) {
 			super(chessGame);
+			stage = primaryStage;
 			squares = new Button[chessGame.getNumRows()][chessGame.getNumColumns()];
 
 			// Create a grid pane to put the buttons in
 			GridPane pane = new GridPane();
 
 			// Listens for click events
-			EventHandler<ActionEvent> listener = new ClickListener();
+			EventHandler<ActionEvent> listener = clickListener = new ClickListener();
 
 			// Add each square to the grid
 			for (int i = 0; i < chessGame.getNumRows(); i++) {
@@ -122,6 +148,16 @@ public class JavaFXChessBoard extends Application {
 			primaryStage.show();
 		}
 
+		/**
+		 * Has an engine play one side against the user, replying to each of the user's moves.
+		 * Call this once the game has started; if it is the engine's turn, it moves at once
+		 * @param engineOpponent	the engine
+		 */
+		public void setEngineOpponent(EngineOpponent engineOpponent) {
+			this.engineOpponent = engineOpponent;
+			clickListener.engineReply();
+		}
+
 		/**
 		 * Adds the specified piece onto the specified row and column
 		 * 
@@ -136,28 +172,6 @@ public class JavaFXChessBoard extends Application {
 
 		}
 
-		/**
-		 * Returns true if a piece of the opponent player can make a legal move and
-		 * capture the piece the specified piece
-		 * 
-		 * @param row    the row this piece is on
-		 * @param column the column this piece is on
-		 * @param piece  the piece at this row and column
-		 * @return true if an opponent piece can move to this row and column and capture
-		 *         the piece here
-		 */
-		@Override
-		public boolean squareThreated(int row, int column, ChessPiece piece) {
-			for (int i = 0; i < squares.length; i++) {
-				for (int j = 0; j < squares[i].length; j++) {
-					if (hasPiece(i, j) && getPiece(i, j).getSide() != piece.getSide()
-							&& getPiece(i, j).isLegalCaptureMove(row, column))
-						return true;
-				}
-			}
-			return false;
-		}
-
 		/**
 		 * The listener for when a user clicks on the board
 		 *
@@ -173,6 +187,12 @@ public class JavaFXChessBoard extends Application {
 			// The column of the selected piece
 			private int pieceCol;
 
+			// True once the side to play has no legal move
+			private boolean gameOver;
+
+			// The list the status of the game is worked out in
+			private MoveList moves = new MoveList();
+
 			/**
 			 * What we do when the user chooses the piece to move.
 			 * 
@@ -182,7 +202,7 @@ public class JavaFXChessBoard extends Application {
 			private void processFirstSelection(int row, int col) {
 
 				// If there is a piece here and it is legal to play it, highlight the square
-				if (hasPiece(row, col) && getGameRules().legalPieceToPlay(getPiece(row, col), row, col)) {
+				if (!gameOver && !engineTurn() && hasPiece(row, col) && getGameRules().legalPieceToPlay(getPiece(row, col), row, col)) {
 
 					// Remember the row and column of the square
 					pieceRow = row;
@@ -208,6 +228,10 @@ public class JavaFXChessBoard extends Application {
 				// Holds whether or not the piece was moved
 				boolean moveMade = getGameRules().makeMove(getPiece(pieceRow, pieceCol), row, col);
 
+				// Show where the game stands for the side to play next, and stop once it cannot move
+				if (moveMade)
+					showStatus();
+
 				// if the move was made or if it was not made and the user can select a new
 				// piece, then reset to choose a new move
 				if (moveMade || getGameRules().canChangeSelection(getPiece(pieceRow, pieceCol))) {
@@ -215,6 +239,47 @@ public class JavaFXChessBoard extends Application {
 							getPiece(pieceRow, pieceCol));
 					firstPick = true;
 				}
+
+				// Let the engine reply
+				if (moveMade)
+					engineReply();
+			}
+
+			/**
+			 * Shows where the game stands in the title, and notes when it is over
+			 */
+			private void showStatus() {
+				GameStatus status = getGameRules().getStatus(Board.this, moves);
+				gameOver = status.isOver();
+				stage.setTitle(status.describe(getGameRules()));
+			}
+
+			/**
+			 * Returns true if an engine plays the side whose turn it is
+			 */
+			private boolean engineTurn() {
+				return engineOpponent != null && getGameRules().getCurrentTurn() == engineOpponent.getSide();
+			}
+
+			/**
+			 * Has the engine find its move, if it is its turn, and make it when found
+			 */
+			private void engineReply() {
+				if (!gameOver && engineTurn())
+					engineOpponent.reply(Board.this, Platform::runLater, this::playEngineMove);
+			}
+
+			/**
+			 * Makes the engine's move and shows it
+			 * 
+			 * @param move the packed move (see Move)
+			 */
+			private void playEngineMove(int move) {
+				int fromRow = Move.from(move) / getGameRules().getNumColumns();
+				int fromCol = Move.from(move) % getGameRules().getNumColumns();
+				getGameRules().doMove(Board.this, move);
+				chessBoardDisplay.displayEmptySquare(squares[fromRow][fromCol], fromRow, fromCol);
+				showStatus();
 			}
 
 			/**
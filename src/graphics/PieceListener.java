@@ -0,0 +1,26 @@
+package graphics;
+
+import piecetypes.ChessPiece;
+
+/**
+ * Follows the pieces placed on and taken off a ChessBoard, so that something built from the pieces
+ * (such as an evaluation) can be kept up to date one piece at a time rather than worked out afresh
+ * @author Phila Dlamini
+ *
+ */
+public interface PieceListener {
+
+	/**
+	 * Called after a piece is placed on the board
+	 * @param piece		the piece placed
+	 * @param square	the square (row * columns + column) it was placed on
+	 */
+	public void pieceAdded(ChessPiece piece, int square);
+
+	/**
+	 * Called after a piece is taken off the board (captured, moved away or removed)
+	 * @param piece		the piece taken off
+	 * @param square	the square (row * columns + column) it was taken from
+	 */
+	public void pieceRemoved(ChessPiece piece, int square);
+}
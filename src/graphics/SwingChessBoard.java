@@ -11,6 +11,9 @@ import javax.swing.SwingUtilities;
 
 import chess.ChessGame;
 import chess.EuropeanChess;
+import chess.GameStatus;
+import chess.Move;
+import chess.MoveList;
 import chess.Xiangqi;
 import piecetypes.ChessPiece;
 
@@ -32,6 +35,12 @@ public class SwingChessBoard extends ChessBoard {
 	// Indicates how the chess board should be displayed
 	private SwingChessBoardDisplay chessBoardDisplay;
 
+	// The listener of the squares, which also makes the engine's moves
+	private ChessAction chessAction;
+
+	// The engine playing against the user (null if two users play each other)
+	private EngineOpponent engineOpponent;
+
 	/**
 	 * Constructs the SwingChessBoard
 	 * @param chessBoardDisplay			the display information for this board 
@@ -53,7 +62,7 @@ public class SwingChessBoard extends ChessBoard {
 					board = new JFrame();
 
 					// The ActionListener for each button
-					ActionListener listener = new ChessAction();
+					ActionListener listener = chessAction = new ChessAction();
 
 					// Add each square to the grid
 					for (int i = 0; i < gameRules.getNumRows(); i++) {
@@ -78,6 +87,16 @@ public class SwingChessBoard extends ChessBoard {
 
 	}
 
+	/**
+	 * Has an engine play one side against the user, replying to each of the user's moves.
+	 * Call this once the game has started; if it is the engine's turn, it moves at once
+	 * @param engineOpponent	the engine
+	 */
+	public void setEngineOpponent(EngineOpponent engineOpponent) {
+		this.engineOpponent = engineOpponent;
+		SwingUtilities.invokeLater(() -> chessAction.engineReply());
+	}
+
 	/**
 	 * The listener for when a user clicks on the board
 	 * 
@@ -95,6 +114,12 @@ public class SwingChessBoard extends ChessBoard {
 		// The column of the selected piece
 		private int pieceCol;
 
+		// True once the side to play has no legal move
+		private boolean gameOver;
+
+		// The list the status of the game is worked out in
+		private MoveList moves = new MoveList();
+
 		/**
 		 * What we do when the user chooses the piece to move.
 		 * 
@@ -104,7 +129,7 @@ public class SwingChessBoard extends ChessBoard {
 		private void processFirstSelection(int row, int col) {
 
 			// If there is a piece here and it is legal to play it, highlight the square
-			if (hasPiece(row, col) && getGameRules().legalPieceToPlay(getPiece(row, col), row, col)) {
+			if (!gameOver && !engineTurn() && hasPiece(row, col) && getGameRules().legalPieceToPlay(getPiece(row, col), row, col)) {
 
 				// Remember the row and column of the square
 				pieceRow = row;
@@ -130,6 +155,10 @@ public class SwingChessBoard extends ChessBoard {
 			// Holds whether or not the piece was moved
 			boolean moveMade = getGameRules().makeMove(getPiece(pieceRow, pieceCol), row, col);
 
+			// Show where the game stands for the side to play next, and stop once it cannot move
+			if (moveMade)
+				showStatus();
+
 			// if the move was made or if it was not made and the user can select a new
 			// piece, then reset to choose a new move
 			if (moveMade || getGameRules().canChangeSelection(getPiece(pieceRow, pieceCol))) {
@@ -137,6 +166,47 @@ public class SwingChessBoard extends ChessBoard {
 						getPiece(pieceRow, pieceCol));
 				firstPick = true;
 			}
+
+			// Let the engine reply
+			if (moveMade)
+				engineReply();
+		}
+
+		/**
+		 * Shows where the game stands in the title, and notes when it is over
+		 */
+		private void showStatus() {
+			GameStatus status = getGameRules().getStatus(SwingChessBoard.this, moves);
+			gameOver = status.isOver();
+			board.setTitle(status.describe(getGameRules()));
+		}
+
+		/**
+		 * Returns true if an engine plays the side whose turn it is
+		 */
+		private boolean engineTurn() {
+			return engineOpponent != null && getGameRules().getCurrentTurn() == engineOpponent.getSide();
+		}
+
+		/**
+		 * Has the engine find its move, if it is its turn, and make it when found
+		 */
+		private void engineReply() {
+			if (!gameOver && engineTurn())
+				engineOpponent.reply(SwingChessBoard.this, SwingUtilities::invokeLater, this::playEngineMove);
+		}
+
+		/**
+		 * Makes the engine's move and shows it
+		 * 
+		 * @param move the packed move (see Move)
+		 */
+		private void playEngineMove(int move) {
+			int fromRow = Move.from(move) / getGameRules().getNumColumns();
+			int fromCol = Move.from(move) % getGameRules().getNumColumns();
+			getGameRules().doMove(SwingChessBoard.this, move);
+			chessBoardDisplay.displayEmptySquare(squares[fromRow][fromCol], fromRow, fromCol);
+			showStatus();
 		}
 
 		/**
@@ -200,26 +270,4 @@ public class SwingChessBoard extends ChessBoard {
 		}
 
 	}
-
-	/**
-	 * Returns true if a piece of the opponent player can make a legal move and
-	 * capture the piece the specified piece
-	 * 
-	 * @param row    the row this piece is on
-	 * @param column the column this piece is on
-	 * @param piece  the piece at this row and column
-	 * @return true if an opponent piece can move to this row and column and capture
-	 *         the piece here
-	 */
-	@Override
-	public boolean squareThreated(int row, int column, ChessPiece piece) {
-		for (int i = 0; i < squares.length; i++) {
-			for (int j = 0; j < squares[i].length; j++) {
-				if (hasPiece(i, j) && getPiece(i, j).getSide() != piece.getSide()
-						&& getPiece(i, j).isLegalCaptureMove(row, column))
-					return true;
-			}
-		}
-		return false;
-	}
 }
@@ -85,6 +85,12 @@ public abstract class ChessPiece {
 	 */
 	public abstract boolean isLegalMove(int toRow, int toColumn); 
 	
+	/**
+	 * Returns the type of this piece 
+	 * @return the type of this piece
+	 */
+	public abstract PieceType getType();
+	
 	/**
 	 * Returns the chess board this piece is on 
 	 * @return the chess board this piece is on
@@ -1,5 +1,7 @@
 package piecetypes;
 
+import bitboards.BitboardPosition;
+
 /**
  * Defines a piece that moves diagonally
  * @author Phila Dlamini
@@ -16,6 +18,11 @@ public interface DiagonallyMovingPiece {
 	 * @return true if there are no pieces in the diagonal direction between thepiece's current position and the one moving to
 	 */
 	public static boolean hasNoPiecesInBetween(ChessPiece piece, int toRow, int toColumn) {
+		
+		//If the board has bitboards, count the pieces in-between with a mask
+		BitboardPosition bitboards = piece.getChessBoard().getBitboards();
+		if (bitboards != null)
+			return bitboards.piecesBetween(piece.getRow(), piece.getColumn(), toRow, toColumn) == 0;
 
 		// Find the diagonal distance: determined by subtracting the columns
 		int diagonalDistance = Math.abs(piece.getColumn() - toColumn);
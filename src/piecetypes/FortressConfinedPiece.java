@@ -1,4 +1,5 @@
 package piecetypes;
+import bitboards.XiangqiBitboard;
 import chess.ChessGame;
 import chess.ChessGame.Side;
 
@@ -27,6 +28,11 @@ public interface FortressConfinedPiece {
 	 * @return true if the specified row and column is within the fortress 
 	 */
 	public static boolean isInFortress(ChessGame chessGame, ChessGame.Side side, int row, int column) {
+		
+		//On a Xiangqi board, the fortress is a precomputed mask
+		if (chessGame.getNumRows() == XiangqiBitboard.ROWS && chessGame.getNumColumns() == XiangqiBitboard.COLUMNS)
+			return row >= 0 && row < XiangqiBitboard.ROWS && column >= 0 && column < XiangqiBitboard.COLUMNS
+					&& XiangqiBitboard.palaceContains(side, row, column);
 
 		//The lower row bound of the fortress
 		int rowStart = side == ChessGame.Side.NORTH ? 0 : chessGame.getNumRows() - 3;	
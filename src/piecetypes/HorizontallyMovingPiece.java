@@ -1,5 +1,7 @@
 package piecetypes;
 
+import bitboards.BitboardPosition;
+
 /**
  * Defines a chess piece that moves horizontally
  * @author Phila Dlamini
@@ -18,6 +20,11 @@ public interface HorizontallyMovingPiece {
 	 */
 	public static boolean hasNoPiecesInBetween(ChessPiece piece, int toColumn) {
 		
+		//If the board has bitboards, count the pieces in-between with a mask
+		BitboardPosition bitboards = piece.getChessBoard().getBitboards();
+		if (bitboards != null)
+			return bitboards.piecesBetween(piece.getRow(), piece.getColumn(), piece.getRow(), toColumn) == 0;
+		
 		//The horizontal distance from the current position to the one moving to 
 		int horizontalDistance = Math.abs(piece.getColumn() - toColumn);
 		
@@ -42,6 +49,11 @@ public interface HorizontallyMovingPiece {
 	 */
 	public static int piecesInRange(ChessPiece piece, int toColumn) {
 		
+		//If the board has bitboards, count the pieces in-between with a mask
+		BitboardPosition bitboards = piece.getChessBoard().getBitboards();
+		if (bitboards != null)
+			return bitboards.piecesBetween(piece.getRow(), piece.getColumn(), piece.getRow(), toColumn);
+		
 		//Keeps track of the pieces encountered so far
 		int piecesSoFar = 0;
 		
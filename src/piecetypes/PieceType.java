@@ -0,0 +1,22 @@
+package piecetypes;
+
+/**
+ * The kinds of pieces that can be played in the games.
+ * Board representations use the type (and its ordinal) to index their per-piece data
+ * instead of testing each piece with instanceof
+ * @author Phila Dlamini
+ *
+ */
+public enum PieceType {
+
+	/* European chess pieces */
+	PAWN, KNIGHT, BISHOP, ROOK, QUEEN, KING,
+
+	/* Xiangqi pieces (the Xiangqi chariot is a ROOK) */
+	CANNON, HORSE, ELEPHANT, GUARD, SOLDIER, XIANGQI_KING;
+
+	/**
+	 * The number of piece types
+	 */
+	public static final int COUNT = values().length;
+}
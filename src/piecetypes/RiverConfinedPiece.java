@@ -1,5 +1,6 @@
 package piecetypes;
 
+import bitboards.XiangqiBitboard;
 import chess.ChessGame;
 
 /**
@@ -15,21 +16,38 @@ public interface RiverConfinedPiece {
 	 * @return true if the row and column this piece is moving to is below the river
 	 */
 	public static boolean withinConfinement(ChessPiece piece, int toRow, int toColumn) {
+		return isOnOwnSide(piece.getChessBoard().getGameRules(), piece.getSide(), toRow, toColumn);
+	}
+	
+	/**
+	 * Returns true if the row and column are on the specified side's half of the board (below the river for that side)
+	 * @param chessGame		the game being played
+	 * @param side			the side whose half of the board to check
+	 * @param row			the row to check
+	 * @param column		the column to check
+	 * @return true if the row and column are on the side's half of the board
+	 */
+	public static boolean isOnOwnSide(ChessGame chessGame, ChessGame.Side side, int row, int column) {
+		
+		//On a Xiangqi board, each side of the river is a precomputed mask
+		if (chessGame.getNumRows() == XiangqiBitboard.ROWS && chessGame.getNumColumns() == XiangqiBitboard.COLUMNS)
+			return row >= 0 && row < XiangqiBitboard.ROWS && column >= 0 && column < XiangqiBitboard.COLUMNS
+					&& XiangqiBitboard.ownHalfContains(side, row, column);
 				
 		//The row below the river
-		int rowBelowRiver = (int) (piece.getChessBoard().getGameRules().getNumRows() / 2);
+		int rowBelowRiver = (int) (chessGame.getNumRows() / 2);
 		
 		//The row above the river
 		int rowAboveRiver = rowBelowRiver - 1;
 
 		//The smallest row number the piece is allowed to move to
-		int rowStart = piece.getSide() == ChessGame.Side.NORTH ? 
+		int rowStart = side == ChessGame.Side.NORTH ? 
 				0 : rowBelowRiver;
 		
 		//The biggest row number that the piece is allowed to move to 
-		int rowEnd = piece.getSide() == ChessGame.Side.NORTH ? rowAboveRiver : piece.getChessBoard().getGameRules().getNumRows() - 1;
+		int rowEnd = side == ChessGame.Side.NORTH ? rowAboveRiver : chessGame.getNumRows() - 1;
 		
-		return toRow >= rowStart && toRow <= rowEnd;
+		return row >= rowStart && row <= rowEnd;
 	}
 
 }
@@ -1,4 +1,5 @@
 package piecetypes;
+import bitboards.AttackTables;
 import chess.ChessGame;
 import chess.ChessGame.Side;
 import graphics.ChessBoard;
@@ -21,7 +22,7 @@ import graphics.ChessBoard;
 public abstract class TwoDirectionPiece extends ChessPiece {
 
 	// Holds the distance ratio
-	private double distanceRatio;
+	private int distanceRatio;
 
 	/**
 	 * Constructs a TwoDirectionPiece
@@ -45,38 +46,35 @@ public abstract class TwoDirectionPiece extends ChessPiece {
 	@Override
 	public boolean isLegalMove(int toRow, int toColumn) {
 
-		// The distance the piece is moving horizontally
-		double horizontalDistance = Math.abs(toColumn - getColumn());
-
-		// The distance the piece is moving vertically
-		double verticalDistance = Math.abs(toRow - getRow());
-		// Represent the distances as double so in case = 0.0, we won't get an
-		// ArithmeticException, but instead infinity
-
 		//If the square moving to has a piece of the same side, this move is not legal
 		if (getChessBoard().hasPiece(toRow, toColumn)
 				&& getChessBoard().getPiece(toRow, toColumn).getSide() == this.getSide())
 			return false;
 
-		else {
-			// If the path taken matches the defined distance ratio or it's reciprocal, this
-			// could be a legal move 
-			if (verticalDistance / horizontalDistance == getDistanceRatio()
-					|| verticalDistance / horizontalDistance == 1 / getDistanceRatio()) {
+		// Knights and horses (a distance ratio of 2) look their jumps up in the board's attack tables
+		if (distanceRatio == 2 && getChessBoard().getAttackTables() != null) {
+			int numColumns = getChessBoard().getGameRules().getNumColumns();
+			return (getChessBoard().getAttackTables().relation(getRow() * numColumns + getColumn(),
+					toRow * numColumns + toColumn) & AttackTables.JUMP) != 0;
+		}
+
+		// The distance the piece is moving horizontally
+		int horizontalDistance = Math.abs(toColumn - getColumn());
 
-				//Ensure the distance ratio came from the smallest numbers possible 
-				return horizontalDistance <= getDistanceRatio() && verticalDistance <= getDistanceRatio();
-			}
+		// The distance the piece is moving vertically
+		int verticalDistance = Math.abs(toRow - getRow());
 
-			return false;
-		}
+		// The path taken matches the distance ratio or its reciprocal from the smallest numbers possible
+		// when the piece moves one step one way and distanceRatio steps the other way
+		return distanceRatio > 0 && ((horizontalDistance == 1 && verticalDistance == distanceRatio)
+				|| (verticalDistance == 1 && horizontalDistance == distanceRatio));
 	}
 
 	/**
 	 * Returns the distance ratio
 	 * @return the distance ratio
 	 */
-	public double getDistanceRatio() {
+	public int getDistanceRatio() {
 		return distanceRatio;
 	}
 
@@ -1,5 +1,6 @@
 package piecetypes;
 
+import bitboards.BitboardPosition;
 import graphics.ChessBoard;
 
 /**
@@ -18,6 +19,11 @@ public interface VerticallyMovingPiece {
 	 */
 	public static boolean hasNoPiecesInBetween(ChessPiece piece, int toRow) {
 		
+		//If the board has bitboards, count the pieces in-between with a mask
+		BitboardPosition bitboards = piece.getChessBoard().getBitboards();
+		if (bitboards != null)
+			return bitboards.piecesBetween(piece.getRow(), piece.getColumn(), toRow, piece.getColumn()) == 0;
+		
 		//The vertical distance from the current position to the intended position
 		int verticalDistance = Math.abs(piece.getRow() - toRow);
 		
@@ -61,6 +67,10 @@ public interface VerticallyMovingPiece {
 	 */
 	public static int piecesInRange(ChessBoard board, int column, int startRow, int endRow) {
 		
+		//If the board has bitboards, count the pieces with a mask
+		if (board.getBitboards() != null)
+			return board.getBitboards().piecesInColumn(column, startRow, endRow);
+		
 		//The number of pieces encountered so far
 		int piecesSoFar = 0;
 		
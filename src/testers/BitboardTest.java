@@ -0,0 +1,98 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import bitboards.BitboardPosition;
+import bitboards.MagicAttacks;
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Xiangqi;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Tests that boards with bitboards and attack tables agree with boards that walk their squares one by one
+ * @author Phila Dlamini
+ *
+ */
+class BitboardTest {
+
+	/**
+	 * Tests random European chess positions
+	 */
+	@Test
+	void testEuropeanBitboard() {
+		comparePositions(new EuropeanChess(), 6, new Random(1));
+	}
+
+	/**
+	 * Tests random Xiangqi positions
+	 */
+	@Test
+	void testXiangqiBitboard() {
+		comparePositions(new Xiangqi(), 7, new Random(2));
+	}
+
+	/**
+	 * Tests that the magic bitboard lookups give the same attacks as walking the rays
+	 */
+	@Test
+	void testMagicAttacks() {
+		Random random = new Random(3);
+		for (int i = 0; i < 100000; i++) {
+			int square = random.nextInt(64);
+			long occupied = random.nextLong() & random.nextLong();
+			assertEquals(MagicAttacks.slowRookAttacks(square, occupied), MagicAttacks.rookAttacks(square, occupied));
+			assertEquals(MagicAttacks.slowBishopAttacks(square, occupied), MagicAttacks.bishopAttacks(square, occupied));
+		}
+	}
+
+	/**
+	 * Places the same random pieces on a board with bitboards and on a board without them,
+	 * and checks every move and threat gives the same answer on both
+	 * @param game			the game being played
+	 * @param pieceKinds	the number of kinds of pieces in the game
+	 * @param random		the source of the random positions
+	 */
+	private void comparePositions(ChessGame game, int pieceKinds, Random random) {
+		for (int position = 0; position < 200; position++) {
+			HeadlessChessBoard fast = new HeadlessChessBoard(game);
+			HeadlessChessBoard slow = new HeadlessChessBoard(game) {
+				@Override
+				public BitboardPosition getBitboards() {
+					return null; // Walk the squares instead
+				}
+			};
+			assertNotNull(fast.getBitboards());
+
+			//Put the same pieces on both boards
+			for (int i = 0; i < 2 + random.nextInt(24); i++) {
+				ChessGame.Side side = random.nextBoolean() ? ChessGame.Side.NORTH : ChessGame.Side.SOUTH;
+				int kind = random.nextInt(pieceKinds);
+				int row = random.nextInt(game.getNumRows());
+				int column = random.nextInt(game.getNumColumns());
+				fast.addPiece(TestBoards.newPiece(game, kind, fast, side), row, column);
+				slow.addPiece(TestBoards.newPiece(game, kind, slow, side), row, column);
+			}
+			fast.removePiece(0, 0);
+			slow.removePiece(0, 0);
+
+			//Every move and threat should be the same on both boards
+			for (int row = 0; row < game.getNumRows(); row++) {
+				for (int column = 0; column < game.getNumColumns(); column++) {
+					if (!fast.hasPiece(row, column))
+						continue;
+					assertEquals(slow.squareThreated(row, column, slow.getPiece(row, column)),
+							fast.squareThreated(row, column, fast.getPiece(row, column)));
+					for (int toRow = 0; toRow < game.getNumRows(); toRow++) {
+						for (int toColumn = 0; toColumn < game.getNumColumns(); toColumn++)
+							assertEquals(slow.getPiece(row, column).isLegalMove(toRow, toColumn),
+									fast.getPiece(row, column).isLegalMove(toRow, toColumn));
+					}
+				}
+			}
+		}
+	}
+}
@@ -11,8 +11,7 @@ import europeanpieces.KnightPiece;
 import europeanpieces.PawnPiece;
 import europeanpieces.QueenPiece;
 import europeanpieces.RookPiece;
-import graphics.SwingChessBoard;
-import graphics.SwingEuropeanChessDisplay;
+import graphics.HeadlessChessBoard;
 
 /**
  * Tests European pieces for correct capture and non-capture moves
@@ -28,7 +27,7 @@ class EuropeanCaptureTest {
 	void testIsLegalCaptureMove() {
 		/* First create a chess board that has 8 row and columns and put the indicated pieces on it
 		 */
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), new EuropeanChess());
+		HeadlessChessBoard board = new HeadlessChessBoard(new EuropeanChess());
 		QueenPiece queenSouth = new QueenPiece(board, ChessGame.Side.SOUTH, null);
 		RookPiece rookSouth1 = new RookPiece(board, ChessGame.Side.SOUTH, null);
 		RookPiece rookSouth2 = new RookPiece(board, ChessGame.Side.SOUTH, null);
@@ -181,7 +180,7 @@ class EuropeanCaptureTest {
 		
 		/* First create a chess board that has 8 row and columns and put the indicated pieces on it
 		 */
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), new EuropeanChess());
+		HeadlessChessBoard board = new HeadlessChessBoard(new EuropeanChess());
 		QueenPiece queenSouth = new QueenPiece(board, ChessGame.Side.SOUTH, null);
 		RookPiece rookSouth1 = new RookPiece(board, ChessGame.Side.SOUTH, null);
 		RookPiece rookSouth2 = new RookPiece(board, ChessGame.Side.SOUTH, null);
@@ -11,8 +11,7 @@ import europeanpieces.KnightPiece;
 import europeanpieces.PawnPiece;
 import europeanpieces.QueenPiece;
 import europeanpieces.RookPiece;
-import graphics.SwingChessBoard;
-import graphics.SwingEuropeanChessDisplay;
+import graphics.HeadlessChessBoard;
 
 /**
  * Tests European chess pieces for correct movements
@@ -39,7 +38,7 @@ class EuropeanMoveTest {
 		 * A PawnPiece on the other player's side on square (4, 4)
 		 * A RookPiece on this player's side on square (5, 0)
 		 */
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), new EuropeanChess());
+		HeadlessChessBoard board = new HeadlessChessBoard(new EuropeanChess());
 		QueenPiece queen1 = new QueenPiece(board, ChessGame.Side.SOUTH , null);
 		QueenPiece queen2 = new QueenPiece(board, ChessGame.Side.SOUTH , null); 
 		QueenPiece queen3 = new QueenPiece(board, ChessGame.Side.SOUTH , null); 
@@ -157,7 +156,7 @@ class EuropeanMoveTest {
 		 * A PawnPiece on the other player's side on square (4, 0)
 		 * A QueenPiece on this player's side on square (5, 0)
 		 */
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), new EuropeanChess());
+		HeadlessChessBoard board = new HeadlessChessBoard(new EuropeanChess());
 		RookPiece rook1 = new RookPiece(board, ChessGame.Side.SOUTH , null);
 		RookPiece rook2 = new RookPiece(board, ChessGame.Side.SOUTH , null); //For testing reverse directions
 		RookPiece rook3 = new RookPiece(board, ChessGame.Side.SOUTH , null); //For testing reverse directions
@@ -270,7 +269,7 @@ class EuropeanMoveTest {
 		 * A PawnPiece on the other player's side on square (7, 0)
 		 * A QueenPiece on this player's side on square (1, 7)
 		 */
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), new EuropeanChess());
+		HeadlessChessBoard board = new HeadlessChessBoard(new EuropeanChess());
 		BishopPiece bishop1 = new BishopPiece(board, ChessGame.Side.SOUTH , null);
 		BishopPiece bishop2 = new BishopPiece(board, ChessGame.Side.SOUTH , null); //For testing reverse directions
 		BishopPiece bishop3 = new BishopPiece(board, ChessGame.Side.SOUTH , null); //For testing reverse directions
@@ -383,7 +382,7 @@ class EuropeanMoveTest {
 		 * 
 		 * These multiple pieces help us test in both the forward and backwards directions
 		 */
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), new EuropeanChess());
+		HeadlessChessBoard board = new HeadlessChessBoard(new EuropeanChess());
 		KingPiece king1 = new KingPiece(board, ChessGame.Side.SOUTH , null);
 		KingPiece king2 = new KingPiece(board, ChessGame.Side.SOUTH , null); 
 		KingPiece king3 = new KingPiece(board, ChessGame.Side.SOUTH , null); 
@@ -503,7 +502,7 @@ class EuropeanMoveTest {
 		/* Create a chess board that has 8 row and columns and put these pieces on it:
 		 *
 		 */
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), new EuropeanChess());
+		HeadlessChessBoard board = new HeadlessChessBoard(new EuropeanChess());
 		PawnPiece pawn1South = new PawnPiece(board, ChessGame.Side.SOUTH , null); //Belongs to the SOUTH player
 		PawnPiece pawn1North = new PawnPiece(board, ChessGame.Side.NORTH , null); //Belongs to the SOUTH player
 		board.addPiece(pawn1South, 7, 4);
@@ -677,7 +676,7 @@ class EuropeanMoveTest {
 		/* First let's a chess board that has 8 row and columns and put these pieces on it:
 		 * A KnightPiece on this player's side on square (0,0)
 		 */
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), new EuropeanChess());
+		HeadlessChessBoard board = new HeadlessChessBoard(new EuropeanChess());
 		KnightPiece knight1 = new KnightPiece(board, ChessGame.Side.SOUTH , null);
 		board.addPiece(knight1, 3, 3); //Place at the middle
 	
@@ -850,7 +849,8 @@ class EuropeanMoveTest {
 	void testUpgradePiece() {
 		
 		//Create a chess board and put these pawns on it 
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), new EuropeanChess());
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
 		PawnPiece pawnNorth = new PawnPiece(board, ChessGame.Side.NORTH , null);
 		PawnPiece pawnSouth = new PawnPiece(board, ChessGame.Side.SOUTH , null);
 		board.addPiece(pawnNorth, 6, 0); //Placed at next to last south row 
@@ -858,19 +858,23 @@ class EuropeanMoveTest {
 
 		/*
 		 * When pawnSouth moves to (0, 1), it should upgrade.
-		 * If the user inputs 'Q', we place a QueenPiece at this position
-		 * If the user input 'B', we place a BishopPiece at this position
-		 * Uncomment the code below to verify this test (otherwise it interferes with other tests)
-		 * # ------------------ #
-		 * uncomment from here
-		 * # -----------------= #
-		 
+		 * If the user chooses 'Q', we place a QueenPiece at this position
+		 * If the user chooses 'B', we place a BishopPiece at this position
+		 * The choice is set on the board instead of being typed in by the user
+		 */
+		board.setPromotionChoice('Q');
 		chess.makeMove(pawnSouth, 0, 1);
 		assertEquals(board.getPiece(0, 1).getLabel(), "Q");
 		
-		//Now the user puts a 'B'
+		//Now the user chooses a 'B'
+		board.setPromotionChoice('B');
 		chess.makeMove(pawnNorth, 7, 0);
-		assertEquals(board.getPiece(7, 0).getLabel(), "B");*/
+		assertEquals(board.getPiece(7, 0).getLabel(), "B");
+		
+		//A pawn cannot be upgraded to a Pawn or a King
+		assertThrows(IllegalArgumentException.class, () -> board.setPromotionChoice('P'));
+		assertThrows(IllegalArgumentException.class, () -> board.setPromotionChoice('K'));
+		assertEquals(board.getStoredPromotionChoice(), 'B');
 	}
 
 }
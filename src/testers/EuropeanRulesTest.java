@@ -6,8 +6,7 @@ import org.junit.jupiter.api.Test;
 import chess.ChessGame;
 import chess.EuropeanChess;
 import europeanpieces.PawnPiece;
-import graphics.SwingChessBoard;
-import graphics.SwingEuropeanChessDisplay;
+import graphics.HeadlessChessBoard;
 
 /**
  * Tests EuropeanChess for enforcement of rules 
@@ -24,7 +23,7 @@ class EuropeanRulesTest {
 		
 		//Create a chess board and place these pawns on it
 		EuropeanChess chess = new EuropeanChess();
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), chess);
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
 		PawnPiece pawnNorth = new PawnPiece(board, ChessGame.Side.NORTH, null);
 		PawnPiece pawnNorth2 = new PawnPiece(board, ChessGame.Side.NORTH, null);
 		PawnPiece pawnSouth = new PawnPiece(board, ChessGame.Side.SOUTH, null);
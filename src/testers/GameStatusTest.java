@@ -0,0 +1,110 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import bitboards.BitboardPosition;
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.GameStatus;
+import chess.MoveList;
+import chess.Xiangqi;
+import europeanpieces.KingPiece;
+import europeanpieces.QueenPiece;
+import europeanpieces.RookPiece;
+import graphics.HeadlessChessBoard;
+import xiangqipieces.XiangqiKingPiece;
+
+/**
+ * Tests the check, checkmate and stalemate reported by ChessGame.getStatus
+ * @author Phila Dlamini
+ *
+ */
+class GameStatusTest {
+
+	/**
+	 * Tests the status at the start of each game
+	 */
+	@Test
+	void testStartPosition() {
+		MoveList moves = new MoveList();
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		chess.startGame(board);
+		assertEquals(chess.getStatus(board, moves), GameStatus.PLAYING);
+		assertTrue(chess.hasLegalMove(board, moves));
+		assertEquals(chess.getWinner(GameStatus.PLAYING), null);
+
+		Xiangqi xiangqi = new Xiangqi();
+		board = new HeadlessChessBoard(xiangqi);
+		xiangqi.startGame(board);
+		assertEquals(xiangqi.getStatus(board, moves), GameStatus.PLAYING);
+	}
+
+	/**
+	 * Tests check and checkmate in European chess, on boards with and without bitboards
+	 */
+	@Test
+	void testEuropeanCheckmate() {
+		for (boolean bitboards : new boolean[] {true, false}) {
+			EuropeanChess chess = new EuropeanChess();
+			HeadlessChessBoard board = newBoard(chess, bitboards);
+			MoveList moves = new MoveList();
+
+			//A rook checks the king along the back row, and the king can step off it
+			board.addPiece(new KingPiece(board, ChessGame.Side.SOUTH, null), 7, 4);
+			board.addPiece(new RookPiece(board, ChessGame.Side.NORTH, null), 7, 0);
+			board.addPiece(new KingPiece(board, ChessGame.Side.NORTH, null), 0, 4);
+			assertEquals(chess.getStatus(board, moves), GameStatus.CHECK);
+
+			//A second rook covers the row in front of the king
+			board.addPiece(new RookPiece(board, ChessGame.Side.NORTH, null), 6, 1);
+			assertEquals(chess.getStatus(board, moves), GameStatus.CHECKMATE);
+			assertFalse(chess.hasLegalMove(board, moves));
+			assertEquals(chess.getWinner(GameStatus.CHECKMATE), ChessGame.Side.NORTH);
+		}
+	}
+
+	/**
+	 * Tests that stalemate is a draw in European chess and a loss in Xiangqi
+	 */
+	@Test
+	void testStalemate() {
+		for (boolean bitboards : new boolean[] {true, false}) {
+			EuropeanChess chess = new EuropeanChess();
+			HeadlessChessBoard board = newBoard(chess, bitboards);
+			MoveList moves = new MoveList();
+
+			//The king in the corner, with the queen covering every square next to it
+			board.addPiece(new KingPiece(board, ChessGame.Side.SOUTH, null), 7, 0);
+			board.addPiece(new QueenPiece(board, ChessGame.Side.NORTH, null), 5, 1);
+			board.addPiece(new KingPiece(board, ChessGame.Side.NORTH, null), 0, 7);
+			assertEquals(chess.getStatus(board, moves), GameStatus.STALEMATE);
+			assertEquals(chess.getWinner(GameStatus.STALEMATE), null);
+
+			//The king at the back of its fortress, with a rook on the row in front and the other king facing its column
+			Xiangqi xiangqi = new Xiangqi();
+			board = newBoard(xiangqi, bitboards);
+			board.addPiece(new XiangqiKingPiece(board, ChessGame.Side.SOUTH, null), 9, 3);
+			board.addPiece(new RookPiece(board, ChessGame.Side.NORTH, null), 8, 0);
+			board.addPiece(new XiangqiKingPiece(board, ChessGame.Side.NORTH, null), 0, 4);
+			assertEquals(xiangqi.getStatus(board, moves), GameStatus.STALEMATE);
+			assertEquals(xiangqi.getWinner(GameStatus.STALEMATE), ChessGame.Side.NORTH);
+			assertTrue(GameStatus.STALEMATE.isOver());
+		}
+	}
+
+	/**
+	 * Creates an empty board for the game, with or without bitboards
+	 */
+	private HeadlessChessBoard newBoard(ChessGame game, boolean bitboards) {
+		if (bitboards)
+			return new HeadlessChessBoard(game);
+		return new HeadlessChessBoard(game) {
+			@Override
+			public BitboardPosition getBitboards() {
+				return null;
+			}
+		};
+	}
+}
@@ -0,0 +1,64 @@
+package testers;
+
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Position;
+import chess.Xiangqi;
+import engine.LazySmpSearch;
+import engine.PieceSquareEvaluator;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Times how long LazySmpSearch takes to reach a depth on 1, 2, 4, ... threads (up to the number of processors,
+ * or the number given as the program's argument), and prints the speedup over one thread.
+ * Each search starts with an empty table, and each position is searched once to warm up first
+ * @author Phila Dlamini
+ *
+ */
+public class LazySmpBenchmark {
+
+	// The positions searched, with the depth each is searched to
+	private static final String[][] POSITIONS = {
+			{"chess", "rnbkqbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBKQBNR s", "6"},
+			{"chess", "r3k2r/ppq2ppp/2n1bn2/3pp3/1b1PP3/2N1BN2/PPQ2PPP/R3KB1R n", "5"},
+			{"xiangqi", "rhegxgehr/9/1c5c1/s1s1s1s1s/9/9/S1S1S1S1S/1C5C1/9/RHEGXGEHR s", "5"}};
+
+	// The size of the shared table, in megabytes
+	private static final int TABLE_MEGABYTES = 64;
+
+	/**
+	 * Runs the benchmark
+	 * @param args	the most threads to use (the number of processors if not given)
+	 */
+	public static void main(String[] args) {
+		int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		for (String[] position : POSITIONS) {
+			System.out.println(position[1] + " to depth " + position[2]);
+			int depth = Integer.parseInt(position[2]);
+			time(position[0], position[1], depth, 1); //Warm up
+
+			double oneThread = 0;
+			for (int threads = 1; threads <= maxThreads; threads *= 2) {
+				double seconds = time(position[0], position[1], depth, threads);
+				if (threads == 1)
+					oneThread = seconds;
+				System.out.printf("%3d threads %8.3f s  speedup %5.2f%n", threads, seconds, oneThread / seconds);
+			}
+		}
+	}
+
+	/**
+	 * Returns the seconds a search on the given number of threads takes to reach the depth
+	 */
+	private static double time(String game, String position, int depth, int threads) {
+		ChessGame rules = game.equals("xiangqi") ? new Xiangqi() : new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(rules);
+		Position.setUp(board, position);
+		LazySmpSearch search = new LazySmpSearch(board, PieceSquareEvaluator::new, threads, TABLE_MEGABYTES);
+		long start = System.nanoTime();
+		search.search(depth, 0, 0);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		search.shutdown();
+		return seconds;
+	}
+}
@@ -0,0 +1,223 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import bitboards.BitboardPosition;
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.LegalMoveGenerator;
+import chess.Move;
+import chess.MoveList;
+import chess.Position;
+import chess.Xiangqi;
+import europeanpieces.BishopPiece;
+import europeanpieces.KingPiece;
+import europeanpieces.KnightPiece;
+import europeanpieces.QueenPiece;
+import europeanpieces.RookPiece;
+import graphics.ChessBoard;
+import graphics.HeadlessChessBoard;
+import xiangqipieces.CannonPiece;
+import xiangqipieces.GuardPiece;
+import xiangqipieces.HorsePiece;
+import xiangqipieces.XiangqiKingPiece;
+
+/**
+ * Tests the moves listed by ChessGame.generateLegalMoves
+ * @author Phila Dlamini
+ *
+ */
+class LegalMoveGeneratorTest {
+
+	/**
+	 * Tests that a pinned piece may only move along its pin, and that only the king moves out of a double check
+	 */
+	@Test
+	void testPinsAndChecks() {
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		board.addPiece(new KingPiece(board, ChessGame.Side.SOUTH, null), 7, 4);
+		board.addPiece(new RookPiece(board, ChessGame.Side.SOUTH, null), 5, 4); //Pinned by the rook at (0, 4)
+		board.addPiece(new KnightPiece(board, ChessGame.Side.SOUTH, null), 6, 3); //Pinned by the bishop at (3, 0)
+		board.addPiece(new RookPiece(board, ChessGame.Side.NORTH, null), 0, 4);
+		board.addPiece(new BishopPiece(board, ChessGame.Side.NORTH, null), 3, 0);
+		board.addPiece(new KingPiece(board, ChessGame.Side.NORTH, null), 0, 0);
+		MoveList moves = new MoveList();
+		chess.generateLegalMoves(board, moves);
+
+		//The rook moves up and down the column (6 squares, up to and capturing the pinning rook), the knight cannot move,
+		//and the king has 4 squares
+		for (int i = 0; i < moves.size(); i++)
+			assertNotEquals(Move.from(moves.get(i)), 6 * 8 + 3);
+		assertTrue(moves.contains(Move.encode(5 * 8 + 4, 0 * 8 + 4)));
+		assertFalse(moves.contains(Move.encode(5 * 8 + 4, 5 * 8 + 5)));
+		assertEquals(moves.size(), 6 + 4);
+
+		//Two checks at once: a rook on the king's row and a knight
+		board = new HeadlessChessBoard(chess);
+		board.addPiece(new KingPiece(board, ChessGame.Side.SOUTH, null), 7, 4);
+		board.addPiece(new QueenPiece(board, ChessGame.Side.SOUTH, null), 4, 4);
+		board.addPiece(new RookPiece(board, ChessGame.Side.NORTH, null), 7, 0);
+		board.addPiece(new KnightPiece(board, ChessGame.Side.NORTH, null), 5, 5);
+		board.addPiece(new KingPiece(board, ChessGame.Side.NORTH, null), 0, 0);
+		assertTrue(chess.isInCheck(board, ChessGame.Side.SOUTH));
+		chess.generateLegalMoves(board, moves);
+		for (int i = 0; i < moves.size(); i++)
+			assertEquals(Move.from(moves.get(i)), 7 * 8 + 4);
+	}
+
+	/**
+	 * Tests that a Xiangqi move cannot leave the kings facing each other or leave the king to a cannon
+	 */
+	@Test
+	void testXiangqiChecks() {
+		Xiangqi xiangqi = new Xiangqi();
+		HeadlessChessBoard board = new HeadlessChessBoard(xiangqi);
+		board.addPiece(new XiangqiKingPiece(board, ChessGame.Side.SOUTH, null), 9, 4);
+		board.addPiece(new HorsePiece(board, ChessGame.Side.SOUTH, null), 5, 4); //The only piece between the kings
+		board.addPiece(new GuardPiece(board, ChessGame.Side.SOUTH, null), 8, 4); //Between the king and the cannon's capture
+		board.addPiece(new CannonPiece(board, ChessGame.Side.NORTH, null), 4, 4);
+		board.addPiece(new XiangqiKingPiece(board, ChessGame.Side.NORTH, null), 0, 4);
+		MoveList moves = new MoveList();
+		xiangqi.generateLegalMoves(board, moves);
+
+		//The cannon jumps the horse to attack the guard: if the horse leaves, the guard becomes the screen
+		//and the cannon attacks the king, and if the guard leaves, the cannon attacks the king over the horse
+		for (int i = 0; i < moves.size(); i++) {
+			assertNotEquals(Move.from(moves.get(i)), 5 * 9 + 4);
+			assertNotEquals(Move.from(moves.get(i)), 8 * 9 + 4);
+		}
+		assertTrue(moves.size() > 0);
+	}
+
+	/**
+	 * Tests that makeMove, which the boards' clicks go through, does not let a king step into check
+	 * or a pinned piece leave its pin
+	 */
+	@Test
+	void testMakeMoveLegality() {
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		Position.setUp(board, "k7/8/8/8/8/8/8/3K3r s");
+		assertFalse(chess.makeMove(board.getPiece(7, 3), 7, 2)); //Still on the rook's row
+		assertEquals(chess.getCurrentTurn(), ChessGame.Side.SOUTH);
+		assertTrue(chess.makeMove(board.getPiece(7, 3), 6, 3));
+
+		Xiangqi xiangqi = new Xiangqi();
+		board = new HeadlessChessBoard(xiangqi);
+		Position.setUp(board, "3x5/9/9/9/9/9/9/9/9/3rHX3 s");
+		assertFalse(xiangqi.makeMove(board.getPiece(9, 4), 7, 3)); //The horse is pinned by the rook
+		assertEquals(xiangqi.getCurrentTurn(), ChessGame.Side.SOUTH);
+		assertTrue(xiangqi.makeMove(board.getPiece(9, 5), 8, 5));
+	}
+
+	/**
+	 * Tests random European chess positions
+	 */
+	@Test
+	void testEuropeanMoves() {
+		compareMoves(new EuropeanChess(), 5, new Random(13));
+	}
+
+	/**
+	 * Tests random Xiangqi positions
+	 */
+	@Test
+	void testXiangqiMoves() {
+		compareMoves(new Xiangqi(), 6, new Random(14));
+	}
+
+	/**
+	 * Places random pieces and a king of each side on a board, and checks that the legal moves are exactly
+	 * the pseudo-legal moves that do not leave the king in check, on boards with and without bitboards
+	 * @param game			the game being played
+	 * @param pieceKinds	the number of kinds of pieces in the game, apart from the king
+	 * @param random		the source of the random positions
+	 */
+	private void compareMoves(ChessGame game, int pieceKinds, Random random) {
+		MoveList moves = new MoveList();
+		MoveList expected = new MoveList();
+		for (int position = 0; position < 300; position++) {
+			HeadlessChessBoard board = new HeadlessChessBoard(game);
+			HeadlessChessBoard slowBoard = new HeadlessChessBoard(game) {
+				@Override
+				public BitboardPosition getBitboards() {
+					return null;
+				}
+			};
+			placeKings(game, board, slowBoard, random);
+			for (int i = 0; i < 2 + random.nextInt(20); i++) {
+				ChessGame.Side side = random.nextBoolean() ? ChessGame.Side.NORTH : ChessGame.Side.SOUTH;
+				int kind = random.nextInt(pieceKinds);
+				int row = random.nextInt(game.getNumRows());
+				int column = random.nextInt(game.getNumColumns());
+				if (!board.hasPiece(row, column)) {
+					board.addPiece(TestBoards.newPiece(game, kind, board, side), row, column);
+					slowBoard.addPiece(TestBoards.newPiece(game, kind, slowBoard, side), row, column);
+				}
+			}
+			game.setCurrentTurn(random.nextBoolean() ? ChessGame.Side.NORTH : ChessGame.Side.SOUTH);
+
+			//The pseudo-legal moves that do not leave the king in check
+			game.generateMoves(board, expected);
+			int kept = 0;
+			for (int i = 0; i < expected.size(); i++) {
+				ChessGame.Side side = game.getCurrentTurn();
+				game.doMove(board, expected.get(i));
+				boolean safe = !game.isInCheck(board, side);
+				game.undoMove(board);
+				if (safe)
+					expected.set(kept++, expected.get(i));
+			}
+			expected.truncate(kept);
+
+			game.generateLegalMoves(board, moves);
+			assertMovesEqual(expected, moves);
+			game.generateLegalMoves(slowBoard, moves);
+			assertMovesEqual(expected, moves);
+			for (int i = 0; i < expected.size(); i++)
+				assertTrue(LegalMoveGenerator.isLegal(board, expected.get(i)));
+		}
+	}
+
+	/**
+	 * Checks that two lists hold the same moves (trying moves reorders the pieces, so the order may differ)
+	 */
+	private void assertMovesEqual(MoveList expected, MoveList moves) {
+		assertArrayEquals(sorted(expected), sorted(moves));
+	}
+
+	/**
+	 * Returns the moves of a list in increasing order
+	 */
+	private int[] sorted(MoveList moves) {
+		int[] array = new int[moves.size()];
+		for (int i = 0; i < array.length; i++)
+			array[i] = moves.get(i);
+		Arrays.sort(array);
+		return array;
+	}
+
+	/**
+	 * Places a king of each side on both boards (in its fortress in Xiangqi)
+	 */
+	private void placeKings(ChessGame game, ChessBoard board, ChessBoard slowBoard, Random random) {
+		for (ChessGame.Side side : new ChessGame.Side[] {ChessGame.Side.NORTH, ChessGame.Side.SOUTH}) {
+			int row;
+			int column;
+			if (game instanceof Xiangqi) {
+				row = (side == ChessGame.Side.NORTH ? 0 : 7) + random.nextInt(3);
+				column = 3 + random.nextInt(3);
+			} else {
+				row = (side == ChessGame.Side.NORTH ? 0 : 4) + random.nextInt(4);
+				column = random.nextInt(8);
+			}
+			board.addPiece(TestBoards.newPiece(game, -1, board, side), row, column);
+			slowBoard.addPiece(TestBoards.newPiece(game, -1, slowBoard, side), row, column);
+		}
+	}
+}
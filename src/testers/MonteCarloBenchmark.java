@@ -0,0 +1,58 @@
+package testers;
+
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Xiangqi;
+import engine.MonteCarloSearch;
+import engine.PieceSquareEvaluator;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Times the playouts per second of MonteCarloSearch from the start of each game on 1, 2, 4, ... threads
+ * (up to the number of processors, or the number given as the program's argument), and prints the speedup
+ * over one thread. Each game is searched once to warm up first
+ * @author Phila Dlamini
+ *
+ */
+public class MonteCarloBenchmark {
+
+	// How long each search runs, in milliseconds
+	private static final long MILLIS = 2000;
+
+	// The most nodes in the tree
+	private static final int MAX_NODES = 1 << 22;
+
+	/**
+	 * Runs the benchmark
+	 * @param args	the most threads to use (the number of processors if not given)
+	 */
+	public static void main(String[] args) {
+		int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		for (ChessGame game : new ChessGame[] {new EuropeanChess(), new Xiangqi()}) {
+			System.out.println(game.getClass().getSimpleName());
+			playoutsPerSecond(game, 1); //Warm up
+
+			double oneThread = 0;
+			for (int threads = 1; threads <= maxThreads; threads *= 2) {
+				double rate = playoutsPerSecond(game, threads);
+				if (threads == 1)
+					oneThread = rate;
+				System.out.printf("%3d threads %10.0f playouts/s  speedup %5.2f%n", threads, rate, rate / oneThread);
+			}
+		}
+	}
+
+	/**
+	 * Returns the playouts per second of a search from the start of the game on the given number of threads
+	 */
+	private static double playoutsPerSecond(ChessGame game, int threads) {
+		HeadlessChessBoard board = new HeadlessChessBoard(game);
+		game.startGame(board);
+		MonteCarloSearch search = new MonteCarloSearch(board, PieceSquareEvaluator::new, threads, MAX_NODES);
+		long start = System.nanoTime();
+		search.search(0, MILLIS);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		search.shutdown();
+		return search.getPlayouts() / seconds;
+	}
+}
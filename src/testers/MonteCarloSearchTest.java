@@ -0,0 +1,69 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Move;
+import chess.MoveList;
+import chess.Position;
+import chess.Xiangqi;
+import engine.MonteCarloSearch;
+import engine.PieceSquareEvaluator;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Tests the moves the MonteCarloSearch finds
+ * @author Phila Dlamini
+ *
+ */
+class MonteCarloSearchTest {
+
+	/**
+	 * Tests that the search finds a mate and wins a piece left hanging
+	 */
+	@Test
+	void testFindsWins() {
+		HeadlessChessBoard board = newBoard(new EuropeanChess(), "3k4/8/3K4/8/8/8/8/R7 s");
+		MonteCarloSearch search = new MonteCarloSearch(board, PieceSquareEvaluator::new, 1, 1 << 16);
+		assertEquals(search.search(2000, 0), Move.encode(7 * 8 + 0, 0 * 8 + 0));
+		assertTrue(search.getResult() > MonteCarloSearch.WIN * 9 / 10);
+		search.shutdown();
+
+		//The north's chariot can be taken for nothing
+		board = newBoard(new Xiangqi(), "3x5/9/9/9/9/r8/9/9/9/R3X4 s");
+		search = new MonteCarloSearch(board, PieceSquareEvaluator::new, 1, 1 << 16);
+		assertEquals(search.search(2000, 0), Move.encode(9 * 9 + 0, 5 * 9 + 0));
+		search.shutdown();
+	}
+
+	/**
+	 * Tests that a search on several threads keeps to its budget, plays a legal move, and leaves the board as it was
+	 */
+	@Test
+	void testThreads() {
+		for (ChessGame game : new ChessGame[] {new EuropeanChess(), new Xiangqi()}) {
+			HeadlessChessBoard board = new HeadlessChessBoard(game);
+			game.startGame(board);
+			String position = Position.toText(board);
+			MoveList moves = new MoveList();
+			game.generateLegalMoves(board, moves);
+			MonteCarloSearch search = new MonteCarloSearch(board, PieceSquareEvaluator::new, 3, 1 << 16);
+			assertTrue(moves.contains(search.search(300, 0)));
+			assertTrue(search.getPlayouts() >= 300 && search.getPlayouts() < 300 + 3);
+			assertTrue(search.getNodes() > moves.size());
+			assertEquals(Position.toText(board), position);
+			search.shutdown();
+		}
+	}
+
+	/**
+	 * Creates a board for the game set up with the position
+	 */
+	private HeadlessChessBoard newBoard(ChessGame game, String position) {
+		HeadlessChessBoard board = new HeadlessChessBoard(game);
+		Position.setUp(board, position);
+		return board;
+	}
+}
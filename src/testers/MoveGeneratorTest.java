@@ -0,0 +1,129 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Move;
+import chess.MoveList;
+import chess.Xiangqi;
+import europeanpieces.KnightPiece;
+import europeanpieces.PawnPiece;
+import graphics.HeadlessChessBoard;
+import piecetypes.ChessPiece;
+import piecetypes.PieceType;
+
+/**
+ * Tests the moves listed by ChessGame.generateMoves
+ * @author Phila Dlamini
+ *
+ */
+class MoveGeneratorTest {
+
+	/**
+	 * Tests the number of moves at the start of each game
+	 */
+	@Test
+	void testStartPosition() {
+		MoveList moves = new MoveList();
+
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		chess.startGame(board);
+		chess.generateMoves(board, moves);
+		assertEquals(moves.size(), 20);
+
+		Xiangqi xiangqi = new Xiangqi();
+		board = new HeadlessChessBoard(xiangqi);
+		xiangqi.startGame(board);
+		xiangqi.generateMoves(board, moves);
+		assertEquals(moves.size(), 44);
+	}
+
+	/**
+	 * Tests that a pawn reaching the last row is listed once for each upgrade, and is upgraded to the piece in the move
+	 */
+	@Test
+	void testUpgrades() {
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		board.addPiece(new PawnPiece(board, ChessGame.Side.SOUTH, null), 1, 4);
+		MoveList moves = new MoveList();
+		chess.generateMoves(board, moves);
+		assertEquals(moves.size(), 4);
+
+		//Upgrade to a knight
+		int move = Move.encode(1 * 8 + 4, 0 * 8 + 4, PieceType.KNIGHT);
+		assertTrue(moves.contains(move));
+		chess.doMove(board, move);
+		assertTrue(board.getPiece(0, 4) instanceof KnightPiece);
+		assertEquals(board.getStoredPromotionChoice(), 'Q');
+
+		chess.undoMove(board);
+		assertTrue(board.getPiece(1, 4) instanceof PawnPiece);
+	}
+
+	/**
+	 * Tests random European chess positions
+	 */
+	@Test
+	void testEuropeanMoves() {
+		compareMoves(new EuropeanChess(), 6, new Random(8));
+	}
+
+	/**
+	 * Tests random Xiangqi positions
+	 */
+	@Test
+	void testXiangqiMoves() {
+		compareMoves(new Xiangqi(), 7, new Random(9));
+	}
+
+	/**
+	 * Places random pieces on a board and checks that the moves listed for each piece
+	 * are exactly the squares its isLegalMove allows
+	 * @param game			the game being played
+	 * @param pieceKinds	the number of kinds of pieces in the game
+	 * @param random		the source of the random positions
+	 */
+	private void compareMoves(ChessGame game, int pieceKinds, Random random) {
+		MoveList moves = new MoveList();
+		int numColumns = game.getNumColumns();
+		for (int position = 0; position < 300; position++) {
+			HeadlessChessBoard board = new HeadlessChessBoard(game);
+			for (int i = 0; i < 2 + random.nextInt(24); i++) {
+				ChessGame.Side side = random.nextBoolean() ? ChessGame.Side.NORTH : ChessGame.Side.SOUTH;
+				board.addPiece(TestBoards.newPiece(game, random.nextInt(pieceKinds), board, side), random.nextInt(game.getNumRows()), random.nextInt(numColumns));
+			}
+			game.setCurrentTurn(random.nextBoolean() ? ChessGame.Side.NORTH : ChessGame.Side.SOUTH);
+			game.generateMoves(board, moves);
+
+			//Count the moves listed from each square to each square (upgrades are listed once per piece)
+			int[][] listed = new int[game.getNumRows() * numColumns][game.getNumRows() * numColumns];
+			for (int i = 0; i < moves.size(); i++)
+				listed[Move.from(moves.get(i))][Move.to(moves.get(i))]++;
+
+			for (int from = 0; from < listed.length; from++) {
+				ChessPiece piece = board.getPiece(from / numColumns, from % numColumns);
+				for (int to = 0; to < listed.length; to++) {
+					boolean legal = piece != null && piece.getSide() == game.getCurrentTurn() && piece.isLegalMove(to / numColumns, to % numColumns);
+					int expected = !legal ? 0 : upgrades(game, piece, to / numColumns);
+					assertEquals(expected, listed[from][to]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of times a move of the piece to the row is listed
+	 */
+	private int upgrades(ChessGame game, ChessPiece piece, int toRow) {
+		if (!(piece instanceof PawnPiece))
+			return 1;
+		int lastRow = piece.getSide() == ChessGame.Side.SOUTH ? 0 : game.getNumRows() - 1;
+		return toRow == lastRow ? 4 : 1;
+	}
+}
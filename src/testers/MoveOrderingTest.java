@@ -0,0 +1,59 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import chess.EuropeanChess;
+import chess.Move;
+import chess.MoveList;
+import chess.Position;
+import engine.MoveOrdering;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Tests the order MoveOrdering puts moves in
+ * @author Phila Dlamini
+ *
+ */
+class MoveOrderingTest {
+
+	/**
+	 * Tests the hash move, captures by victim and attacker, killers, countermoves and history
+	 */
+	@Test
+	void testOrder() {
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+
+		//The queen at (2, 1) can be taken by the rook and the knight, the pawn at (2, 6) by the rook
+		Position.setUp(board, "3k4/8/1q4p1/8/2N5/8/8/1R1K2R1 s");
+		MoveList moves = new MoveList();
+		chess.generateLegalMoves(board, moves);
+		int[] scores = new int[moves.size()];
+		MoveOrdering ordering = new MoveOrdering();
+		int hashMove = Move.encode(7 * 8 + 3, 6 * 8 + 3);
+		ordering.score(board, moves, scores, hashMove, 3, Move.NONE);
+
+		assertEquals(ordering.next(moves, scores, 0), hashMove);
+		assertEquals(ordering.next(moves, scores, 1), Move.encode(4 * 8 + 2, 2 * 8 + 1)); //Knight takes queen
+		assertEquals(ordering.next(moves, scores, 2), Move.encode(7 * 8 + 1, 2 * 8 + 1)); //Rook takes queen
+		assertEquals(ordering.next(moves, scores, 3), Move.encode(7 * 8 + 6, 2 * 8 + 6)); //Rook takes pawn
+
+		//A quiet move that cuts off becomes the killer of its ply and the countermove of the last move
+		int lastMove = Move.encode(1 * 8 + 0, 2 * 8 + 0);
+		int killer = moves.get(10);
+		ordering.cutoff(board, moves, 10, 4, 3, lastMove);
+		chess.generateLegalMoves(board, moves);
+		ordering.score(board, moves, scores, Move.NONE, 3, Move.NONE);
+		for (int i = 0; i < 3; i++)
+			assertTrue(MoveOrdering.isTactical(board, ordering.next(moves, scores, i)));
+		assertEquals(ordering.next(moves, scores, 3), killer);
+
+		//At another ply it is the countermove, and after a new search it is still first of the quiet moves by its history
+		ordering.score(board, moves, scores, Move.NONE, 5, lastMove);
+		assertEquals(ordering.next(moves, scores, 3), killer);
+		ordering.newSearch();
+		ordering.score(board, moves, scores, Move.NONE, 3, Move.NONE);
+		assertEquals(ordering.next(moves, scores, 3), killer);
+	}
+}
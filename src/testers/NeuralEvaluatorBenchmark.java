@@ -0,0 +1,118 @@
+package testers;
+
+import java.util.Random;
+import java.util.function.Function;
+
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.MoveList;
+import chess.Xiangqi;
+import engine.Evaluator;
+import engine.NeuralEvaluator;
+import engine.NeuralNetwork;
+import engine.PieceSquareEvaluator;
+import graphics.ChessBoard;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Times the NeuralEvaluator (with a network of random weights, or the network file given as the program's
+ * argument) against the PieceSquareEvaluator: the moves made and taken back per second while the evaluator
+ * keeps up with the board, and the positions scored per second. Each is run once to warm up first
+ * @author Phila Dlamini
+ *
+ */
+public class NeuralEvaluatorBenchmark {
+
+	// The size of the random network
+	private static final int HIDDEN = 256;
+	private static final int HIDDEN2 = 32;
+
+	// The number of random moves in a line, and the number of lines played
+	private static final int LINE_LENGTH = 40;
+	private static final int LINES = 2000;
+
+	// The number of times each position is scored in a row, between two readings of the clock
+	private static final int REPEATS = 32;
+
+	/**
+	 * Runs the benchmark
+	 * @param args	the network file for European chess, and the one for Xiangqi (random networks if not given)
+	 * @throws Exception if a network file cannot be read
+	 */
+	public static void main(String[] args) throws Exception {
+		ChessGame[] games = {new EuropeanChess(), new Xiangqi()};
+		for (int g = 0; g < games.length; g++) {
+			ChessGame game = games[g];
+			int squares = game.getNumRows() * game.getNumColumns();
+			NeuralNetwork network = args.length > g ? NeuralNetwork.load(args[g])
+					: NeuralNetwork.random(squares, HIDDEN, HIDDEN2, new Random(23));
+			System.out.println(game.getClass().getSimpleName());
+			for (int pass = 0; pass < 2; pass++) {
+				boolean print = pass == 1; // The first pass warms up
+				time(print, "no evaluator", game, board -> null);
+				time(print, "piece-square tables", game, PieceSquareEvaluator::new);
+				time(print, "neural network", game, board -> new NeuralEvaluator(board, network));
+			}
+		}
+	}
+
+	/**
+	 * Plays random lines from the start of the game, then plays them again scoring the position after every move,
+	 * and prints the moves made and taken back per second and the positions scored per second
+	 */
+	private static void time(boolean print, String name, ChessGame game, Function<ChessBoard, Evaluator> evaluators) {
+		HeadlessChessBoard board = new HeadlessChessBoard(game);
+		game.startGame(board);
+		Evaluator evaluator = evaluators.apply(board);
+		Random random = new Random(24);
+		MoveList moves = new MoveList();
+		int[][] lines = new int[LINES][LINE_LENGTH];
+		int[] lengths = new int[LINES];
+
+		//Choose the lines first, so only making the moves and scoring is timed
+		for (int line = 0; line < LINES; line++) {
+			while (lengths[line] < LINE_LENGTH) {
+				game.generateLegalMoves(board, moves);
+				if (moves.size() == 0)
+					break;
+				lines[line][lengths[line]] = moves.get(random.nextInt(moves.size()));
+				game.doMove(board, lines[line][lengths[line]++]);
+			}
+			for (int i = 0; i < lengths[line]; i++)
+				game.undoMove(board);
+		}
+
+		long moveCount = 0;
+		long start = System.nanoTime();
+		for (int line = 0; line < LINES; line++) {
+			for (int i = 0; i < lengths[line]; i++)
+				game.doMove(board, lines[line][i]);
+			for (int i = 0; i < lengths[line]; i++)
+				game.undoMove(board);
+			moveCount += lengths[line];
+		}
+		double moveSeconds = (System.nanoTime() - start) / 1e9;
+
+		long checksum = 0;
+		long evaluateNanos = 0;
+		if (evaluator != null) {
+			for (int line = 0; line < LINES; line++) {
+				for (int i = 0; i < lengths[line]; i++) {
+					game.doMove(board, lines[line][i]);
+					start = System.nanoTime();
+					for (int repeat = 0; repeat < REPEATS; repeat++)
+						checksum += evaluator.evaluate(board);
+					evaluateNanos += System.nanoTime() - start;
+				}
+				for (int i = 0; i < lengths[line]; i++)
+					game.undoMove(board);
+			}
+		}
+		if (print) {
+			System.out.printf("%-22s %10.0f moves/s", name, moveCount / moveSeconds);
+			if (evaluator != null)
+				System.out.printf(" %12.0f evaluations/s (checksum %d)", moveCount * REPEATS / (evaluateNanos / 1e9), checksum);
+			System.out.println();
+		}
+	}
+}
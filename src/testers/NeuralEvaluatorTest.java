@@ -0,0 +1,98 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Position;
+import chess.Xiangqi;
+import engine.NeuralEvaluator;
+import engine.NeuralNetwork;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Tests the NeuralNetwork files and the scores of the NeuralEvaluator
+ * @author Phila Dlamini
+ *
+ */
+class NeuralEvaluatorTest {
+
+	/**
+	 * Tests that a network written to a file and loaded back scores positions the same, and that other files are refused
+	 */
+	@Test
+	void testNetworkFile() throws IOException {
+		NeuralNetwork network = NeuralNetwork.random(64, 32, 8, new Random(25));
+		Path file = Files.createTempFile("network", ".nnue");
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			network.write(out);
+			Files.write(file, out.toByteArray());
+			NeuralNetwork loaded = NeuralNetwork.load(file.toString());
+
+			EuropeanChess chess = new EuropeanChess();
+			HeadlessChessBoard board = new HeadlessChessBoard(chess);
+			Position.setUp(board, "r3k2r/ppq2ppp/2n1bn2/3pp3/1b1PP3/2N1BN2/PPQ2PPP/R3KB1R n");
+			HeadlessChessBoard copy = Position.copy(board);
+			assertEquals(new NeuralEvaluator(board, loaded).evaluate(board), new NeuralEvaluator(copy, network).evaluate(copy));
+
+			//A cut short file, and a network for another board
+			byte[] bytes = out.toByteArray();
+			assertThrows(IllegalArgumentException.class, () -> NeuralNetwork.read(Arrays.copyOf(bytes, bytes.length - 1)));
+			assertThrows(IllegalArgumentException.class, () -> NeuralNetwork.read(new byte[8]));
+			HeadlessChessBoard xiangqiBoard = new HeadlessChessBoard(new Xiangqi());
+			assertThrows(IllegalArgumentException.class, () -> new NeuralEvaluator(xiangqiBoard, loaded));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests that both sides see the start of each game the same way
+	 */
+	@Test
+	void testStartPosition() {
+		for (ChessGame game : new ChessGame[] {new EuropeanChess(), new Xiangqi()}) {
+			HeadlessChessBoard board = new HeadlessChessBoard(game);
+			game.startGame(board);
+			NeuralNetwork network = NeuralNetwork.random(game.getNumRows() * game.getNumColumns(), 32, 8, new Random(26));
+			NeuralEvaluator evaluator = new NeuralEvaluator(board, network);
+			int south = evaluator.evaluate(board);
+			game.setCurrentTurn(ChessGame.Side.NORTH);
+			assertEquals(evaluator.evaluate(board), south);
+		}
+	}
+
+	/**
+	 * Tests that the scores of random games match the scores worked out afresh after every move made and taken back
+	 */
+	@Test
+	void testIncrementalUpdates() {
+		playRandomMoves(new EuropeanChess(), new Random(27));
+		playRandomMoves(new Xiangqi(), new Random(28));
+	}
+
+	/**
+	 * Plays random moves from the start of the game, taking some back, and checks the score after each one
+	 * @param game		the game to play
+	 * @param random	chooses the moves
+	 */
+	private void playRandomMoves(ChessGame game, Random random) {
+		HeadlessChessBoard board = new HeadlessChessBoard(game);
+		game.startGame(board);
+		NeuralNetwork network = NeuralNetwork.random(game.getNumRows() * game.getNumColumns(), 32, 8, random);
+		NeuralEvaluator evaluator = new NeuralEvaluator(board, network);
+		TestBoards.randomWalk(board, game::generateLegalMoves, random, 400, () -> {
+			HeadlessChessBoard copy = Position.copy(board);
+			assertEquals(evaluator.evaluate(board), new NeuralEvaluator(copy, network).evaluate(copy));
+		});
+	}
+}
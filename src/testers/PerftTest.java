@@ -0,0 +1,132 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import bitboards.BitboardPosition;
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Perft;
+import chess.PerftTable;
+import chess.Position;
+import chess.Xiangqi;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Tests move generation, doMove and undoMove together by counting the positions reached from known positions
+ * @author Phila Dlamini
+ *
+ */
+class PerftTest {
+
+	/**
+	 * Tests the counts from the start of European chess
+	 */
+	@Test
+	void testEuropeanStart() {
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		chess.startGame(board);
+		String start = Position.toText(board);
+		for (int depth = 0; depth <= 4; depth++)
+			assertEquals(Perft.perft(board, depth), Perft.EUROPEAN_COUNTS[depth]);
+		assertEquals(Position.toText(board), start); //The board is left as it was
+	}
+
+	/**
+	 * Tests the counts from the start of Xiangqi
+	 */
+	@Test
+	void testXiangqiStart() {
+		Xiangqi xiangqi = new Xiangqi();
+		HeadlessChessBoard board = new HeadlessChessBoard(xiangqi);
+		xiangqi.startGame(board);
+		for (int depth = 0; depth <= 3; depth++)
+			assertEquals(Perft.perft(board, depth), Perft.XIANGQI_COUNTS[depth]);
+	}
+
+	/**
+	 * Tests that counting on several threads, with and without a shared table, gives the same counts as one thread
+	 */
+	@Test
+	void testParallelPerft() {
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		chess.startGame(board);
+		assertEquals(Perft.parallelPerft(board, 4, 4, null), Perft.EUROPEAN_COUNTS[4]);
+		PerftTable table = new PerftTable(16);
+		assertEquals(Perft.parallelPerft(board, 4, 4, table), Perft.EUROPEAN_COUNTS[4]);
+		assertEquals(Perft.parallelPerft(board, 4, 3, table), Perft.EUROPEAN_COUNTS[4]); //Counted from the table
+
+		Xiangqi xiangqi = new Xiangqi();
+		board = new HeadlessChessBoard(xiangqi);
+		xiangqi.startGame(board);
+		assertEquals(Perft.parallelPerft(board, 4, 4, new PerftTable(18)), Perft.XIANGQI_COUNTS[4]);
+
+		//A small table, so entries are written over while other threads read them
+		board = new HeadlessChessBoard(chess);
+		Position.setUp(board, "r3k2r/ppq2ppp/2n1bn2/3pp3/1b1PP3/2N1BN2/PPQ2PPP/R3KB1R n");
+		assertEquals(Perft.parallelPerft(board, 4, 4, new PerftTable(6)), Perft.perft(board, 4));
+	}
+
+	/**
+	 * Tests that positions written as text are set up again exactly
+	 */
+	@Test
+	void testPositionText() {
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		chess.startGame(board);
+		assertEquals(Position.toText(board), "rnbkqbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBKQBNR s");
+
+		String position = "2c1x4/4g4/4e4/s3S4/9/2R6/9/4E4/3GX4/3G1G3 n";
+		Xiangqi xiangqi = new Xiangqi();
+		board = new HeadlessChessBoard(xiangqi);
+		Position.setUp(board, position);
+		assertEquals(Position.toText(board), position);
+		assertEquals(xiangqi.getCurrentTurn(), ChessGame.Side.NORTH);
+
+		assertThrows(IllegalArgumentException.class, () -> Position.setUp(new HeadlessChessBoard(chess), "8/8/8 s"));
+	}
+
+	/**
+	 * Tests positions with upgrades, pins and checks, on boards with and without bitboards,
+	 * and that divide adds up to the same count
+	 */
+	@Test
+	void testPositions() {
+		String[] positions = {
+				"4k3/1P6/8/8/8/8/6p1/3K4 s", //Pawns about to be upgraded
+				"3k4/8/8/8/1q6/8/3R4/3K1r2 s", //A pinned rook and a king in check
+				"r3k2r/ppq2ppp/2n1bn2/3pp3/1b1PP3/2N1BN2/PPQ2PPP/R3KB1R n"};
+		for (String position : positions)
+			comparePerft(new EuropeanChess(), position, 3);
+		comparePerft(new Xiangqi(), "2ex1g3/4g4/4e4/s1h1c1R1s/9/2C6/S3S3S/4E4/4X4/2EG1G3 s", 3);
+	}
+
+	/**
+	 * Checks that perft counts the same positions with and without bitboards, and that divide adds up to the count
+	 */
+	private void comparePerft(ChessGame game, String position, int depth) {
+		HeadlessChessBoard board = new HeadlessChessBoard(game);
+		Position.setUp(board, position);
+		long count = Perft.perft(board, depth);
+		assertTrue(count > 0);
+
+		HeadlessChessBoard slowBoard = new HeadlessChessBoard(game) {
+			@Override
+			public BitboardPosition getBitboards() {
+				return null;
+			}
+		};
+		Position.setUp(slowBoard, position);
+		assertEquals(Perft.perft(slowBoard, depth), count);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertEquals(Perft.divide(board, depth, new PrintStream(out)), count);
+		assertTrue(out.toString().contains("positions: " + count));
+	}
+}
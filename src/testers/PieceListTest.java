@@ -0,0 +1,125 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Xiangqi;
+import europeanpieces.KingPiece;
+import europeanpieces.PawnPiece;
+import graphics.HeadlessChessBoard;
+import piecetypes.ChessPiece;
+import piecetypes.PieceType;
+
+/**
+ * Tests the lists of pieces and the king squares the ChessBoard keeps for each side
+ * @author Phila Dlamini
+ *
+ */
+class PieceListTest {
+
+	/**
+	 * Tests the lists at the start of each game
+	 */
+	@Test
+	void testStartPosition() {
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		chess.startGame(board);
+		assertEquals(board.getPieceCount(ChessGame.Side.NORTH), 16);
+		assertEquals(board.getPieceCount(ChessGame.Side.SOUTH), 16);
+		assertEquals(board.getKingSquare(ChessGame.Side.SOUTH), 7 * 8 + 3);
+		checkLists(board);
+
+		Xiangqi xiangqi = new Xiangqi();
+		board = new HeadlessChessBoard(xiangqi);
+		xiangqi.startGame(board);
+		assertEquals(board.getPieceCount(ChessGame.Side.NORTH), 16);
+		assertEquals(board.getKingSquare(ChessGame.Side.NORTH), 0 * 9 + 4);
+		assertEquals(board.getKingSquare(ChessGame.Side.SOUTH), 9 * 9 + 4);
+		checkLists(board);
+	}
+
+	/**
+	 * Tests that the king square follows the king, and is only known while a side has exactly one king
+	 */
+	@Test
+	void testKingSquare() {
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		assertEquals(board.getKingSquare(ChessGame.Side.NORTH), -1); //No king
+
+		KingPiece king = new KingPiece(board, ChessGame.Side.NORTH, null);
+		board.addPiece(king, 0, 4);
+		assertEquals(board.getKingSquare(ChessGame.Side.NORTH), 4);
+		chess.setCurrentTurn(ChessGame.Side.NORTH);
+		assertTrue(chess.makeMove(king, 1, 4));
+		assertEquals(board.getKingSquare(ChessGame.Side.NORTH), 12);
+
+		//A second king
+		board.addPiece(new KingPiece(board, ChessGame.Side.NORTH, null), 5, 5);
+		assertEquals(board.getKingSquare(ChessGame.Side.NORTH), -1);
+		board.removePiece(1, 4);
+		assertEquals(board.getKingSquare(ChessGame.Side.NORTH), 45);
+
+		//Captured by a piece of the other side
+		board.addPiece(new PawnPiece(board, ChessGame.Side.SOUTH, null), 5, 5);
+		assertEquals(board.getKingSquare(ChessGame.Side.NORTH), -1);
+		assertEquals(board.getPieceCount(ChessGame.Side.NORTH), 0);
+		checkLists(board);
+	}
+
+	/**
+	 * Tests the lists while random moves are made and taken back
+	 */
+	@Test
+	void testRandomMoves() {
+		playRandomMoves(new EuropeanChess(), new Random(11));
+		playRandomMoves(new Xiangqi(), new Random(12));
+	}
+
+	/**
+	 * Plays random moves from the start of the game, taking some back, and checks the lists after each one
+	 * @param game		the game to play
+	 * @param random	chooses the moves
+	 */
+	private void playRandomMoves(ChessGame game, Random random) {
+		HeadlessChessBoard board = new HeadlessChessBoard(game);
+		game.startGame(board);
+		TestBoards.randomWalk(board, game::generateMoves, random, 400, () -> checkLists(board));
+	}
+
+	/**
+	 * Checks that the lists hold exactly the squares with a piece of each side, and that the king squares are right
+	 * @param board		the board to check
+	 */
+	private void checkLists(HeadlessChessBoard board) {
+		ChessGame game = board.getGameRules();
+		int numColumns = game.getNumColumns();
+		for (ChessGame.Side side : ChessGame.Side.values()) {
+			boolean[] listed = new boolean[game.getNumRows() * numColumns];
+			for (int i = 0; i < board.getPieceCount(side); i++) {
+				int square = board.getPieceSquare(side, i);
+				assertFalse(listed[square]);
+				listed[square] = true;
+			}
+
+			int kings = 0;
+			int kingSquare = -1;
+			for (int square = 0; square < listed.length; square++) {
+				ChessPiece piece = board.getPiece(square / numColumns, square % numColumns);
+				boolean ownPiece = piece != null && piece.getSide() == side;
+				assertEquals(ownPiece, listed[square]);
+				assertEquals(piece, board.getPiece(square));
+				if (ownPiece && (piece.getType() == PieceType.KING || piece.getType() == PieceType.XIANGQI_KING)) {
+					kings++;
+					kingSquare = square;
+				}
+			}
+			assertEquals(kings == 1 ? kingSquare : -1, board.getKingSquare(side));
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Position;
+import chess.Xiangqi;
+import engine.PieceSquareEvaluator;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Tests the scores of the PieceSquareEvaluator, and that they are kept up to date as moves are made and taken back
+ * @author Phila Dlamini
+ *
+ */
+class PieceSquareEvaluatorTest {
+
+	/**
+	 * Tests that the start of each game is even, for either side to play
+	 */
+	@Test
+	void testStartPosition() {
+		for (ChessGame game : new ChessGame[] {new EuropeanChess(), new Xiangqi()}) {
+			HeadlessChessBoard board = new HeadlessChessBoard(game);
+			game.startGame(board);
+			PieceSquareEvaluator evaluator = new PieceSquareEvaluator(board);
+			assertEquals(evaluator.evaluate(board), 0);
+			game.setCurrentTurn(ChessGame.Side.NORTH);
+			assertEquals(evaluator.evaluate(board), 0);
+		}
+	}
+
+	/**
+	 * Tests that a soldier is worth more across the river, and that cannons and horses change places as the board empties
+	 */
+	@Test
+	void testXiangqiValues() {
+		int home = score(new Xiangqi(), "3x5/9/9/9/9/9/S8/9/9/4X4 s");
+		int crossed = score(new Xiangqi(), "3x5/9/9/9/S8/9/9/9/9/4X4 s");
+		assertTrue(crossed - home >= 70);
+
+		//With the chariots on the board, a cannon is worth more than a horse
+		String chariots = "r2x4r/9/9/9/9/9/9/9/9/R3X3R";
+		assertTrue(score(new Xiangqi(), chariots.replace("9/R", "4C4/R") + " s")
+				> score(new Xiangqi(), chariots.replace("9/R", "4H4/R") + " s"));
+
+		//Without them, a horse is worth more
+		assertTrue(score(new Xiangqi(), "3x5/9/9/9/9/9/9/9/4C4/4X4 s")
+				< score(new Xiangqi(), "3x5/9/9/9/9/9/9/9/4H4/4X4 s"));
+	}
+
+	/**
+	 * Tests that the scores of random games match the scores worked out afresh after every move made and taken back
+	 */
+	@Test
+	void testIncrementalUpdates() {
+		playRandomMoves(new EuropeanChess(), new Random(21));
+		playRandomMoves(new Xiangqi(), new Random(22));
+	}
+
+	/**
+	 * Plays random moves from the start of the game, taking some back, and checks the score after each one
+	 * @param game		the game to play
+	 * @param random	chooses the moves
+	 */
+	private void playRandomMoves(ChessGame game, Random random) {
+		HeadlessChessBoard board = new HeadlessChessBoard(game);
+		game.startGame(board);
+		PieceSquareEvaluator evaluator = new PieceSquareEvaluator(board);
+		TestBoards.randomWalk(board, game::generateLegalMoves, random, 600, () -> {
+			HeadlessChessBoard copy = Position.copy(board);
+			assertEquals(evaluator.evaluate(board), new PieceSquareEvaluator(copy).evaluate(copy));
+		});
+	}
+
+	/**
+	 * Returns the score of a position for the side to play
+	 */
+	private int score(ChessGame game, String position) {
+		HeadlessChessBoard board = new HeadlessChessBoard(game);
+		Position.setUp(board, position);
+		return new PieceSquareEvaluator(board).evaluate(board);
+	}
+}
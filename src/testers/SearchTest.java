@@ -0,0 +1,131 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Move;
+import chess.MoveList;
+import chess.Position;
+import chess.Xiangqi;
+import engine.LazySmpSearch;
+import engine.MaterialEvaluator;
+import engine.PieceSquareEvaluator;
+import engine.Search;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Tests the moves the engine finds
+ * @author Phila Dlamini
+ *
+ */
+class SearchTest {
+
+	/**
+	 * Tests that the search finds a mate, and scores it as one
+	 */
+	@Test
+	void testMate() {
+		HeadlessChessBoard board = newBoard(new EuropeanChess(), "3k4/8/3K4/8/8/8/8/R7 s");
+		Search search = new Search(board, new MaterialEvaluator());
+		assertEquals(search.search(4, 0, 0), Move.encode(7 * 8 + 0, 0 * 8 + 0));
+		assertEquals(search.getScore(), Search.MATE - 1);
+		assertEquals(search.getDepth(), 1); //The quiescence search sees that the side in check has no move, so the first depth finds the mate
+
+		//The side that is mated has no move
+		board.getGameRules().doMove(board, search.getBestMove());
+		assertEquals(search.search(4, 0, 0), Move.NONE);
+		assertEquals(search.getScore(), -Search.MATE);
+	}
+
+	/**
+	 * Tests that the search takes a piece that is left unprotected, and not one that is protected
+	 */
+	@Test
+	void testCaptures() {
+		//The queen at (4, 1) is free, while taking the rook at (1, 6) loses the queen to the bishop
+		HeadlessChessBoard board = newBoard(new EuropeanChess(), "3k3b/6r1/8/8/1q6/8/1Q6/3K4 s");
+		String position = Position.toText(board);
+		Search search = new Search(board, new MaterialEvaluator());
+		assertEquals(search.search(4, 0, 0), Move.encode(6 * 8 + 1, 4 * 8 + 1));
+		assertTrue(search.getScore() > 0);
+		search.setQuiescenceChecks(true);
+		assertEquals(search.search(4, 0, 0), Move.encode(6 * 8 + 1, 4 * 8 + 1));
+		assertEquals(Position.toText(board), position); //The board is left as it was
+
+		//The chariot takes the horse
+		board = newBoard(new Xiangqi(), "3gx4/4g4/9/h8/9/9/9/9/R8/3GXG3 s");
+		search = new Search(board, new MaterialEvaluator());
+		assertEquals(search.search(3, 0, 0), Move.encode(8 * 9 + 0, 3 * 9 + 0));
+	}
+
+	/**
+	 * Tests that the search keeps to its budget of nodes and time, and still plays a legal move
+	 */
+	@Test
+	void testBudget() {
+		ChessGame[] games = {new EuropeanChess(), new Xiangqi()};
+		for (ChessGame game : games) {
+			HeadlessChessBoard board = new HeadlessChessBoard(game);
+			game.startGame(board);
+			MoveList moves = new MoveList();
+			game.generateLegalMoves(board, moves);
+
+			Search search = new Search(board, new MaterialEvaluator());
+			int move = search.search(Search.MAX_PLY, 20000, 0);
+			assertTrue(moves.contains(move));
+			assertTrue(search.getNodes() <= 20000);
+
+			long start = System.currentTimeMillis();
+			move = search.search(Search.MAX_PLY, 0, 200);
+			assertTrue(moves.contains(move));
+			assertTrue(System.currentTimeMillis() - start < 1000);
+			assertTrue(search.getDepth() >= 2);
+
+			//A stop that comes before the search starts is kept, and only for that search
+			search.stop();
+			assertTrue(moves.contains(search.search(Search.MAX_PLY, 0, 0)));
+			assertEquals(search.getDepth(), 0);
+			search.search(1, 0, 0);
+			assertEquals(search.getDepth(), 1);
+		}
+	}
+
+	/**
+	 * Tests that a search on several threads finds the same mate and plays legal moves, leaving the board as it was,
+	 * and that every thread keeps to a budget of nodes
+	 */
+	@Test
+	void testLazySmp() {
+		HeadlessChessBoard board = newBoard(new EuropeanChess(), "3k4/8/3K4/8/8/8/8/R7 s");
+		LazySmpSearch search = new LazySmpSearch(board, PieceSquareEvaluator::new, 3, 4);
+		assertEquals(search.search(4, 0, 0), Move.encode(7 * 8 + 0, 0 * 8 + 0));
+		assertEquals(search.getScore(), Search.MATE - 1);
+		search.shutdown();
+
+		for (ChessGame game : new ChessGame[] {new EuropeanChess(), new Xiangqi()}) {
+			board = new HeadlessChessBoard(game);
+			game.startGame(board);
+			String position = Position.toText(board);
+			MoveList moves = new MoveList();
+			game.generateLegalMoves(board, moves);
+			search = new LazySmpSearch(board, PieceSquareEvaluator::new, 3, 4);
+			assertTrue(moves.contains(search.search(Search.MAX_PLY, 0, 200)));
+			assertTrue(search.getDepth() >= 2);
+			assertTrue(moves.contains(search.search(Search.MAX_PLY, 20000, 0)));
+			assertTrue(search.getNodes() <= 3 * 20000);
+			assertEquals(Position.toText(board), position);
+			search.shutdown();
+		}
+	}
+
+	/**
+	 * Creates a board for the game set up with the position
+	 */
+	private HeadlessChessBoard newBoard(ChessGame game, String position) {
+		HeadlessChessBoard board = new HeadlessChessBoard(game);
+		Position.setUp(board, position);
+		return board;
+	}
+}
@@ -0,0 +1,152 @@
+package testers;
+
+import java.util.Random;
+
+import bitboards.AttackTables;
+import bitboards.BitboardPosition;
+import bitboards.MagicAttacks;
+import chess.ChessGame;
+import chess.EuropeanChess;
+import europeanpieces.BishopPiece;
+import europeanpieces.PawnPiece;
+import europeanpieces.QueenPiece;
+import europeanpieces.RookPiece;
+import graphics.HeadlessChessBoard;
+import piecetypes.ChessPiece;
+
+/**
+ * Times three ways of finding the squares the rooks, bishops and queens of random positions can move to:
+ * asking isLegalMove for every square (which walks the rays square by square in
+ * HorizontallyMovingPiece, VerticallyMovingPiece and DiagonallyMovingPiece),
+ * walking each ray once from the slider, and looking the attacks up with magic bitboards.
+ * Run it as a program; each way is warmed up before it is timed
+ * @author Phila Dlamini
+ *
+ */
+public class SlidingAttackBenchmark {
+
+	// The number of random positions
+	private static final int POSITIONS = 200;
+
+	// The number of times each way is run over all the positions
+	private static final int ROUNDS = 20;
+
+	/**
+	 * Runs the benchmark
+	 * @param args	not used
+	 */
+	public static void main(String[] args) {
+		Random random = new Random(10);
+		ChessGame game = new EuropeanChess();
+
+		//Random positions, on boards that walk their squares one by one
+		HeadlessChessBoard[] boards = new HeadlessChessBoard[POSITIONS];
+		long[] occupied = new long[POSITIONS];
+		for (int position = 0; position < POSITIONS; position++) {
+			boards[position] = new HeadlessChessBoard(game) {
+				@Override
+				public BitboardPosition getBitboards() {
+					return null;
+				}
+
+				@Override
+				public AttackTables getAttackTables() {
+					return null;
+				}
+			};
+			for (int i = 0; i < 24; i++) {
+				int row = random.nextInt(8);
+				int column = random.nextInt(8);
+				ChessGame.Side side = random.nextBoolean() ? ChessGame.Side.NORTH : ChessGame.Side.SOUTH;
+				ChessPiece piece;
+				switch (random.nextInt(4)) {
+				case 0: piece = new RookPiece(boards[position], side, null); break;
+				case 1: piece = new BishopPiece(boards[position], side, null); break;
+				case 2: piece = new QueenPiece(boards[position], side, null); break;
+				default: piece = new PawnPiece(boards[position], side, null);
+				}
+				if (row != 0 && row != 7)
+					boards[position].addPiece(piece, row, column);
+				occupied[position] |= boards[position].hasPiece(row, column) ? 1L << (row * 8 + column) : 0;
+			}
+		}
+
+		for (int pass = 0; pass < 2; pass++) {
+			boolean print = pass == 1; // The first pass warms up
+
+			long start = System.nanoTime();
+			long count = 0;
+			for (int round = 0; round < ROUNDS; round++)
+				count += legalMoveWalk(boards);
+			report(print, "isLegalMove on every square", start, count);
+
+			start = System.nanoTime();
+			count = 0;
+			for (int round = 0; round < ROUNDS; round++)
+				count += rayWalk(boards, occupied, false);
+			report(print, "walking each ray once", start, count);
+
+			start = System.nanoTime();
+			count = 0;
+			for (int round = 0; round < ROUNDS; round++)
+				count += rayWalk(boards, occupied, true);
+			report(print, "magic bitboards", start, count);
+		}
+	}
+
+	/**
+	 * Counts the moves of the sliders by asking isLegalMove for every square
+	 */
+	private static long legalMoveWalk(HeadlessChessBoard[] boards) {
+		long count = 0;
+		for (HeadlessChessBoard board : boards) {
+			for (int square = 0; square < 64; square++) {
+				ChessPiece piece = board.getPiece(square / 8, square % 8);
+				if (piece == null || piece instanceof PawnPiece)
+					continue;
+				for (int to = 0; to < 64; to++) {
+					if (piece.isLegalMove(to / 8, to % 8))
+						count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Counts the moves of the sliders from their attacks
+	 */
+	private static long rayWalk(HeadlessChessBoard[] boards, long[] occupied, boolean magic) {
+		long count = 0;
+		for (int position = 0; position < boards.length; position++) {
+			HeadlessChessBoard board = boards[position];
+			for (int square = 0; square < 64; square++) {
+				ChessPiece piece = board.getPiece(square / 8, square % 8);
+				if (piece == null || piece instanceof PawnPiece)
+					continue;
+				long attacks = 0;
+				if (!(piece instanceof BishopPiece))
+					attacks |= magic ? MagicAttacks.rookAttacks(square, occupied[position]) : MagicAttacks.slowRookAttacks(square, occupied[position]);
+				if (!(piece instanceof RookPiece))
+					attacks |= magic ? MagicAttacks.bishopAttacks(square, occupied[position]) : MagicAttacks.slowBishopAttacks(square, occupied[position]);
+
+				//Leave out the squares of the slider's own side
+				for (long targets = attacks; targets != 0; targets &= targets - 1) {
+					int to = Long.numberOfTrailingZeros(targets);
+					if (!board.hasPiece(to / 8, to % 8) || board.getPiece(to / 8, to % 8).getSide() != piece.getSide())
+						count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Prints how long a way took for each slider
+	 */
+	private static void report(boolean print, String name, long start, long count) {
+		if (print)
+			System.out.printf("%-30s %10.1f ns per position (%d moves)%n", name,
+					(System.nanoTime() - start) / (double) (POSITIONS * ROUNDS), count);
+	}
+}
@@ -0,0 +1,85 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Move;
+import chess.Position;
+import chess.Xiangqi;
+import engine.StaticExchange;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Tests the captures scored by StaticExchange, and that the board is left as it was
+ * @author Phila Dlamini
+ *
+ */
+class StaticExchangeTest {
+
+	/**
+	 * Tests exchanges in European chess, including a rook joining in from behind another
+	 */
+	@Test
+	void testEuropeanExchanges() {
+		//A pawn takes a knight defended by a pawn
+		assertEquals(see(new EuropeanChess(), "3k4/8/5p2/4n3/3P4/8/8/3K4 s", 4, 3, 3, 4), 320 - 100);
+
+		//A queen takes a pawn defended by a pawn
+		assertEquals(see(new EuropeanChess(), "3k4/8/5p2/4p3/8/8/8/3KQ3 s", 7, 4, 3, 4), 100 - 900);
+
+		//A rook takes a pawn defended by a rook, with a second rook behind it
+		assertEquals(see(new EuropeanChess(), "k3r3/8/8/4p3/8/8/4R3/3KR3 s", 6, 4, 3, 4), 100);
+		assertEquals(see(new EuropeanChess(), "k3r3/8/8/4p3/8/8/4R3/3K4 s", 6, 4, 3, 4), 100 - 500);
+	}
+
+	/**
+	 * Tests exchanges in Xiangqi that depend on cannon screens
+	 */
+	@Test
+	void testCannonScreens() {
+		//A chariot takes a soldier, and the cannon takes it back over the horse
+		assertEquals(see(new Xiangqi(), "4x4/c8/9/h8/9/s8/9/9/9/R3X4 s", 9, 0, 5, 0), 100 - 900);
+
+		//Without the horse the cannon has no screen
+		assertEquals(see(new Xiangqi(), "4x4/c8/9/9/9/s8/9/9/9/R3X4 s", 9, 0, 5, 0), 100);
+
+		//The chariot that is the cannon's screen takes a horse; the soldier takes it back,
+		//and the cannon cannot take the soldier because its screen has gone
+		assertEquals(see(new Xiangqi(), "4x4/c8/9/r8/9/H8/S8/9/9/4X4 n", 3, 0, 5, 0), 400 - 900);
+	}
+
+	/**
+	 * Tests an exchange in Xiangqi that depends on a horse leg
+	 */
+	@Test
+	void testHorseLegs() {
+		//The guard takes a chariot from the horse's leg, so the horse can take the other chariot if it takes the guard
+		assertEquals(see(new Xiangqi(), "4xr3/9/9/9/9/9/9/5r3/3HG4/3X5 s", 8, 4, 7, 5), 900);
+
+		//With no horse, the other chariot takes the guard back
+		assertEquals(see(new Xiangqi(), "4xr3/9/9/9/9/9/9/5r3/4G4/3X5 s", 8, 4, 7, 5), 900 - 200);
+	}
+
+	/**
+	 * Sets up the position, returns the exchange score of the capture and checks that the board is left as it was
+	 */
+	private int see(ChessGame game, String position, int fromRow, int fromColumn, int toRow, int toColumn) {
+		HeadlessChessBoard board = new HeadlessChessBoard(game);
+		Position.setUp(board, position);
+		int numColumns = game.getNumColumns();
+		boolean[] attacked = new boolean[game.getNumRows() * numColumns];
+		for (int square = 0; square < attacked.length; square++)
+			attacked[square] = board.hasPiece(square / numColumns, square % numColumns)
+					&& board.squareThreated(square / numColumns, square % numColumns, board.getPiece(square));
+
+		int score = new StaticExchange().evaluate(board, Move.encode(fromRow * numColumns + fromColumn, toRow * numColumns + toColumn));
+
+		for (int square = 0; square < attacked.length; square++)
+			assertEquals(board.hasPiece(square / numColumns, square % numColumns)
+					&& board.squareThreated(square / numColumns, square % numColumns, board.getPiece(square)), attacked[square]);
+		assertEquals(Position.toText(board), position);
+		return score;
+	}
+}
@@ -0,0 +1,116 @@
+package testers;
+
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+import chess.ChessGame;
+import chess.MoveList;
+import chess.Xiangqi;
+import europeanpieces.BishopPiece;
+import europeanpieces.KingPiece;
+import europeanpieces.KnightPiece;
+import europeanpieces.PawnPiece;
+import europeanpieces.QueenPiece;
+import europeanpieces.RookPiece;
+import graphics.ChessBoard;
+import graphics.HeadlessChessBoard;
+import piecetypes.ChessPiece;
+import xiangqipieces.CannonPiece;
+import xiangqipieces.ElephantPiece;
+import xiangqipieces.GuardPiece;
+import xiangqipieces.HorsePiece;
+import xiangqipieces.SoldierPiece;
+import xiangqipieces.XiangqiKingPiece;
+
+/**
+ * The pieces and random games the tests set their boards up with
+ * @author Phila Dlamini
+ *
+ */
+final class TestBoards {
+
+	/**
+	 * There are no TestBoards objects
+	 */
+	private TestBoards() {
+	}
+
+	/**
+	 * Creates a piece of the game by kind: for European chess a pawn, knight, bishop, rook, queen or king,
+	 * and for Xiangqi a chariot, cannon, horse, elephant, guard, soldier or king
+	 * @param game		the game being played
+	 * @param kind		the kind of piece, from 0 (a king for -1, or for any kind past the last)
+	 * @param board		the board the piece is for
+	 * @param side		the side of the piece
+	 * @return the piece
+	 */
+	static ChessPiece newPiece(ChessGame game, int kind, ChessBoard board, ChessGame.Side side) {
+		if (game instanceof Xiangqi) {
+			switch (kind) {
+			case 0: return new RookPiece(board, side, null);
+			case 1: return new CannonPiece(board, side, null);
+			case 2: return new HorsePiece(board, side, null);
+			case 3: return new ElephantPiece(board, side, null);
+			case 4: return new GuardPiece(board, side, null);
+			case 5: return new SoldierPiece(board, side, null);
+			default: return new XiangqiKingPiece(board, side, null);
+			}
+		}
+		switch (kind) {
+		case 0: return new PawnPiece(board, side, null);
+		case 1: return new KnightPiece(board, side, null);
+		case 2: return new BishopPiece(board, side, null);
+		case 3: return new RookPiece(board, side, null);
+		case 4: return new QueenPiece(board, side, null);
+		default: return new KingPiece(board, side, null);
+		}
+	}
+
+	/**
+	 * Walks a game at random from the position on the board with doMove and undoMove: each step takes back
+	 * a move a quarter of the time (or when there is no move), and otherwise makes one of the generated moves
+	 * @param board		the board to play on
+	 * @param generator	fills a list with the moves to choose from, such as ChessGame::generateLegalMoves
+	 * @param random	chooses the steps
+	 * @param steps		the most steps to take (fewer if the walk is back at the start with nothing to take back)
+	 * @param check		called after each step
+	 */
+	static void randomWalk(HeadlessChessBoard board, BiConsumer<ChessBoard, MoveList> generator, Random random, int steps, Runnable check) {
+		ChessGame game = board.getGameRules();
+		MoveList moves = new MoveList();
+		for (int i = 0; i < steps; i++) {
+			generator.accept(board, moves);
+			if (moves.size() == 0 || random.nextInt(4) == 0) {
+				if (!game.undoMove(board))
+					break;
+			} else {
+				game.doMove(board, moves.get(random.nextInt(moves.size())));
+			}
+			check.run();
+		}
+	}
+
+	/**
+	 * Makes random moves the way a user would, with makeMove on a random piece to a random square,
+	 * keeping the ones the game allows
+	 * @param board		the board to play on
+	 * @param random	chooses the moves
+	 * @param maxMoves	the most moves to make
+	 * @param check		called after each move made
+	 * @return the number of moves made
+	 */
+	static int makeRandomMoves(HeadlessChessBoard board, Random random, int maxMoves, Runnable check) {
+		ChessGame game = board.getGameRules();
+		int movesMade = 0;
+		for (int attempt = 0; attempt < 200000 && movesMade < maxMoves; attempt++) {
+			int row = random.nextInt(game.getNumRows());
+			int column = random.nextInt(game.getNumColumns());
+			if (board.hasPiece(row, column)
+					&& game.makeMove(board.getPiece(row, column), random.nextInt(game.getNumRows()), random.nextInt(game.getNumColumns()))) {
+				check.run();
+				movesMade++;
+			}
+		}
+		return movesMade;
+	}
+}
@@ -0,0 +1,126 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Move;
+import chess.MoveList;
+import chess.Position;
+import engine.EnginePlayer;
+import engine.PieceSquareEvaluator;
+import engine.Search;
+import engine.TimeManager;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Tests how the TimeManager shares out the clock, and the pondering of the EnginePlayer
+ * @author Phila Dlamini
+ *
+ */
+class TimeManagerTest {
+
+	/**
+	 * Tests the optimum and maximum times of a move
+	 */
+	@Test
+	void testAllocation() {
+		TimeManager clock = new TimeManager(60000, 1000, 0, false);
+		assertTrue(clock.getOptimumMillis() > 60000 / 40 && clock.getOptimumMillis() < 60000 / 10);
+		assertTrue(clock.getMaximumMillis() > clock.getOptimumMillis() && clock.getMaximumMillis() < 60000 / 2);
+
+		//The last move before the time control may use almost all of the clock
+		clock = new TimeManager(10000, 0, 1, false);
+		assertTrue(clock.getMaximumMillis() > 9000 && clock.getMaximumMillis() < 10000);
+
+		//A pondering clock does not run out until the opponent plays the expected move
+		clock = new TimeManager(100, 0, 0, true);
+		assertFalse(clock.isOutOfTime());
+		assertTrue(clock.startNextDepth(0));
+		clock.ponderHit();
+		assertFalse(clock.isPondering());
+	}
+
+	/**
+	 * Tests that a ponder hit stops the search at once if it has pondered for the optimum time,
+	 * and otherwise lets it run on under its own clock
+	 */
+	@Test
+	void testPonderHit() throws InterruptedException {
+		TimeManager clock = new TimeManager(100, 0, 0, true);
+		Thread.sleep(2 * clock.getOptimumMillis());
+		assertFalse(clock.isOutOfTime());
+		clock.ponderHit();
+		assertTrue(clock.getElapsedMillis() >= clock.getOptimumMillis());
+		assertTrue(clock.isOutOfTime());
+		assertFalse(clock.startNextDepth(0));
+
+		//A clock of ten minutes has an optimum of many seconds, far more than this takes
+		clock = new TimeManager(600000, 0, 0, true);
+		clock.ponderHit();
+		assertTrue(clock.getElapsedMillis() < clock.getOptimumMillis());
+		assertFalse(clock.isOutOfTime());
+		assertTrue(clock.startNextDepth(0));
+	}
+
+	/**
+	 * Tests that a forced move is played at once, however much time is left
+	 */
+	@Test
+	void testForcedMove() {
+		HeadlessChessBoard board = new HeadlessChessBoard(new EuropeanChess());
+		Position.setUp(board, "k7/8/8/8/8/8/1r6/K7 s"); //The king must take the rook
+		Search search = new Search(board, new PieceSquareEvaluator(board));
+		assertEquals(search.search(Search.MAX_PLY, new TimeManager(600000, 0, 0, false)), Move.encode(7 * 8 + 0, 6 * 8 + 1));
+		assertEquals(search.getDepth(), 1);
+	}
+
+	/**
+	 * Tests that the player takes the pondering search's move when the opponent plays the expected move
+	 * (see testPonderHit for the clock), and still finds a legal move when the opponent plays another move
+	 */
+	@Test
+	void testPondering() throws InterruptedException {
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		chess.startGame(board);
+		EnginePlayer player = new EnginePlayer(PieceSquareEvaluator::new, 16);
+		long remaining = 6000;
+		MoveList moves = new MoveList();
+
+		//The expected reply: the player ponders for longer than its move is due, so it replies at once
+		chess.doMove(board, player.think(board, remaining, 0));
+		int predicted = player.getPredictedMove();
+		chess.generateLegalMoves(board, moves);
+		assertTrue(moves.contains(predicted));
+		player.startPondering(board, remaining, 0);
+		assertTrue(player.isPondering());
+		Thread.sleep(2 * new TimeManager(remaining, 0, 0, false).getOptimumMillis());
+		chess.doMove(board, predicted);
+		int move = player.think(board, remaining, 0);
+		assertTrue(player.wasPonderHit());
+		assertFalse(player.isPondering());
+		chess.generateLegalMoves(board, moves);
+		assertTrue(moves.contains(move));
+
+		//Another reply: the pondering is stopped and the position searched afresh
+		chess.doMove(board, move);
+		player.startPondering(board, remaining, 0);
+		chess.generateLegalMoves(board, moves);
+		for (int i = 0; i < moves.size(); i++) {
+			if (moves.get(i) != player.getPredictedMove()) {
+				chess.doMove(board, moves.get(i));
+				break;
+			}
+		}
+		String position = Position.toText(board);
+		move = player.think(board, remaining, 0);
+		assertFalse(player.wasPonderHit());
+		chess.generateLegalMoves(board, moves);
+		assertTrue(moves.contains(move));
+		assertEquals(Position.toText(board), position);
+		assertEquals(chess.getCurrentTurn(), ChessGame.Side.SOUTH);
+		player.shutdown();
+	}
+}
@@ -0,0 +1,93 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import chess.Move;
+import engine.TranspositionTable;
+
+/**
+ * Tests the packed entries of the TranspositionTable, how they are replaced, and sharing the table between threads
+ * @author Phila Dlamini
+ *
+ */
+class TranspositionTableTest {
+
+	/**
+	 * Tests that what is stored is read back exactly
+	 */
+	@Test
+	void testStoreAndProbe() {
+		TranspositionTable table = new TranspositionTable(1);
+		assertEquals(table.size(), 1024 * 1024 / 16);
+		assertEquals(table.probe(12345L), 0);
+
+		int move = Move.encode(100, 89);
+		table.store(12345L, move, -29990, 37, TranspositionTable.LOWER);
+		long data = table.probe(12345L);
+		assertEquals(TranspositionTable.move(data), move);
+		assertEquals(TranspositionTable.score(data), -29990);
+		assertEquals(TranspositionTable.depth(data), 37);
+		assertEquals(TranspositionTable.bound(data), TranspositionTable.LOWER);
+		assertEquals(table.probe(12346L), 0);
+
+		//Storing no move keeps the move already stored
+		table.store(12345L, Move.NONE, 31000, 40, TranspositionTable.EXACT);
+		data = table.probe(12345L);
+		assertEquals(TranspositionTable.move(data), move);
+		assertEquals(TranspositionTable.score(data), 31000);
+
+		table.clear();
+		assertEquals(table.probe(12345L), 0);
+	}
+
+	/**
+	 * Tests that a full bucket gives up its shallowest entry, and entries from earlier searches before that
+	 */
+	@Test
+	void testReplacement() {
+		TranspositionTable table = new TranspositionTable(0); //A single bucket of four entries
+		assertEquals(table.size(), 4);
+		for (int i = 1; i <= 4; i++)
+			table.store(i, Move.NONE, 0, 10 * i, TranspositionTable.EXACT);
+		table.store(5, Move.NONE, 0, 5, TranspositionTable.EXACT);
+		assertEquals(table.probe(1), 0); //Depth 10 was the shallowest
+		assertNotEquals(table.probe(5), 0);
+
+		//An old entry is replaced before a shallower one from this search
+		table.newSearch();
+		table.store(6, Move.NONE, 0, 15, TranspositionTable.EXACT);
+		assertEquals(table.probe(5), 0);
+		table.store(7, Move.NONE, 0, 1, TranspositionTable.EXACT);
+		assertEquals(table.probe(2), 0);
+		assertNotEquals(table.probe(6), 0);
+	}
+
+	/**
+	 * Tests that threads writing the same entries at once never read back data stored for another key
+	 */
+	@Test
+	void testSharedByThreads() throws InterruptedException {
+		TranspositionTable table = new TranspositionTable(0);
+		boolean[] mismatch = new boolean[1];
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			Random random = new Random(t);
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 200000; i++) {
+					long key = random.nextInt(64);
+					table.store(key, (int) key + 1, (int) key * 3, (int) key, TranspositionTable.EXACT);
+					long data = table.probe(random.nextInt(64));
+					if (data != 0 && TranspositionTable.score(data) != TranspositionTable.depth(data) * 3)
+						mismatch[0] = true;
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+		assertFalse(mismatch[0]);
+	}
+}
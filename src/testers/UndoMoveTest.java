@@ -0,0 +1,116 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Xiangqi;
+import europeanpieces.KingPiece;
+import europeanpieces.PawnPiece;
+import europeanpieces.QueenPiece;
+import graphics.HeadlessChessBoard;
+import piecetypes.ChessPiece;
+
+/**
+ * Tests taking moves back with ChessGame.undoMove
+ * @author Phila Dlamini
+ *
+ */
+class UndoMoveTest {
+
+	/**
+	 * Tests that a pawn can take two steps again once its first move is taken back
+	 */
+	@Test
+	void testUndoFirstMove() {
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		chess.startGame(board);
+		PawnPiece pawn = (PawnPiece) board.getPiece(6, 4);
+
+		assertEquals(chess.makeMove(pawn, 4, 4), true);
+		assertEquals(pawn.isFirstMove(), false);
+		assertEquals(chess.undoMove(board), true);
+
+		assertEquals(board.getPiece(6, 4), pawn);
+		assertEquals(board.hasPiece(4, 4), false);
+		assertEquals(pawn.isFirstMove(), true);
+		assertEquals(pawn.isLegalMove(4, 4), true);
+		assertEquals(chess.getCurrentTurn(), ChessGame.Side.SOUTH);
+
+		//There is nothing left to take back
+		assertEquals(chess.undoMove(board), false);
+	}
+
+	/**
+	 * Tests that an upgraded pawn and the piece it captured come back when the move is taken back
+	 */
+	@Test
+	void testUndoUpgrade() {
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		PawnPiece pawn = new PawnPiece(board, ChessGame.Side.SOUTH, null);
+		ChessPiece queen = new QueenPiece(board, ChessGame.Side.NORTH, null);
+		board.addPiece(pawn, 1, 1);
+		board.addPiece(queen, 0, 2);
+		board.addPiece(new KingPiece(board, ChessGame.Side.NORTH, null), 0, 7);
+		long key = board.getZobristKey();
+
+		//The pawn captures the queen and is upgraded
+		assertEquals(chess.makeMove(pawn, 0, 2), true);
+		assertTrue(board.getPiece(0, 2) instanceof QueenPiece);
+		assertEquals(board.getPiece(0, 2).getSide(), ChessGame.Side.SOUTH);
+
+		assertEquals(chess.undoMove(board), true);
+		assertEquals(board.getPiece(1, 1), pawn);
+		assertEquals(board.getPiece(0, 2), queen);
+		assertEquals(board.getZobristKey(), key);
+	}
+
+	/**
+	 * Tests that taking back every move of random games brings back the start of the game
+	 */
+	@Test
+	void testUndoRandomGames() {
+		undoRandomGame(new EuropeanChess(), new Random(6));
+		undoRandomGame(new Xiangqi(), new Random(7));
+	}
+
+	/**
+	 * Plays random legal moves and then takes all of them back, checking the board matches the start of the game
+	 * @param game		the game to play
+	 * @param random	chooses the moves
+	 */
+	private void undoRandomGame(ChessGame game, Random random) {
+		HeadlessChessBoard board = new HeadlessChessBoard(game);
+		game.startGame(board);
+		long startKey = board.getZobristKey();
+
+		//The pieces at the start of the game
+		ChessPiece[][] start = new ChessPiece[game.getNumRows()][game.getNumColumns()];
+		for (int row = 0; row < game.getNumRows(); row++) {
+			for (int column = 0; column < game.getNumColumns(); column++)
+				start[row][column] = board.getPiece(row, column);
+		}
+
+		//Play the moves
+		int movesMade = TestBoards.makeRandomMoves(board, random, 150, () -> { });
+		assertEquals(board.getUndoStack().size(), movesMade);
+
+		//And take them all back
+		while (game.undoMove(board))
+			;
+		assertEquals(board.getZobristKey(), startKey);
+		assertEquals(game.getCurrentTurn(), ChessGame.Side.SOUTH);
+		for (int row = 0; row < game.getNumRows(); row++) {
+			for (int column = 0; column < game.getNumColumns(); column++) {
+				assertEquals(board.getPiece(row, column), start[row][column]);
+				if (start[row][column] instanceof PawnPiece)
+					assertEquals(((PawnPiece) start[row][column]).isFirstMove(), true);
+			}
+		}
+	}
+}
@@ -8,8 +8,7 @@ import chess.ChessGame;
 import chess.Xiangqi;
 import europeanpieces.PawnPiece;
 import europeanpieces.RookPiece;
-import graphics.SwingChessBoard;
-import graphics.SwingEuropeanChessDisplay;
+import graphics.HeadlessChessBoard;
 import xiangqipieces.CannonPiece;
 import xiangqipieces.ElephantPiece;
 import xiangqipieces.GuardPiece;
@@ -31,7 +30,7 @@ class XiangqiCaptureTest {
 	void isLegalCaptureMove() {
 		
 		//Create a chess board and add all these pieces on it
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), new Xiangqi());
+		HeadlessChessBoard board = new HeadlessChessBoard(new Xiangqi());
 		CannonPiece cannon1 = new CannonPiece(board, ChessGame.Side.SOUTH, null);
 		RookPiece rook1 = new RookPiece(board, ChessGame.Side.SOUTH, null);
 		RookPiece rook2 = new RookPiece(board, ChessGame.Side.SOUTH, null);
@@ -195,7 +194,7 @@ class XiangqiCaptureTest {
 	@Test
 	void isLegalNonCaptureMove() {
 		
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), new Xiangqi());
+		HeadlessChessBoard board = new HeadlessChessBoard(new Xiangqi());
 		CannonPiece cannon1 = new CannonPiece(board, ChessGame.Side.SOUTH, null);
 		RookPiece rook1 = new RookPiece(board, ChessGame.Side.SOUTH, null);
 		RookPiece rook2 = new RookPiece(board, ChessGame.Side.SOUTH, null);
@@ -5,8 +5,7 @@ import org.junit.jupiter.api.Test;
 import chess.ChessGame;
 import chess.Xiangqi;
 import europeanpieces.RookPiece;
-import graphics.SwingChessBoard;
-import graphics.SwingEuropeanChessDisplay;
+import graphics.HeadlessChessBoard;
 import xiangqipieces.CannonPiece;
 import xiangqipieces.ElephantPiece;
 import xiangqipieces.GuardPiece;
@@ -39,7 +38,7 @@ class XiangqiMoveTest {
 		 * And another king piece on the same side is placed at (7, 3)
 		 */
 		Xiangqi xiangqi = new Xiangqi();
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), xiangqi);
+		HeadlessChessBoard board = new HeadlessChessBoard(xiangqi);
 		XiangqiKingPiece kingPiece1 = new XiangqiKingPiece(board, ChessGame.Side.SOUTH, null);
 		XiangqiKingPiece kingPiece2 = new XiangqiKingPiece(board, ChessGame.Side.SOUTH, null);
 		XiangqiKingPiece kingPiece3 = new XiangqiKingPiece(board, ChessGame.Side.SOUTH, null);
@@ -177,7 +176,7 @@ class XiangqiMoveTest {
 		 * And another GuardPiece of the same player is placed at (7, 3)
 		 */
 		Xiangqi xiangqi = new Xiangqi();
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), xiangqi);
+		HeadlessChessBoard board = new HeadlessChessBoard(xiangqi);
 		GuardPiece guardPiece1 = new GuardPiece(board, ChessGame.Side.SOUTH, null);
 		GuardPiece guardPiece2 = new GuardPiece(board, ChessGame.Side.SOUTH, null);
 		GuardPiece guardPiece3 = new GuardPiece(board, ChessGame.Side.SOUTH, null);
@@ -327,7 +326,7 @@ class XiangqiMoveTest {
 		 * (and then describe what other pieces you haver here)
 		 */
 		Xiangqi xiangqi = new Xiangqi();
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), xiangqi);
+		HeadlessChessBoard board = new HeadlessChessBoard(xiangqi);
 		ElephantPiece elephantPiece1 = new ElephantPiece(board, ChessGame.Side.NORTH, null);
 		ElephantPiece elephantPiece2 = new ElephantPiece(board, ChessGame.Side.NORTH, null);
 		ElephantPiece elephantPiece3 = new ElephantPiece(board, ChessGame.Side.NORTH, null);
@@ -487,7 +486,7 @@ class XiangqiMoveTest {
 		 * Place a HorsePiece on this player's side on square (3, 3)
 		 */
 		Xiangqi xiangqi = new Xiangqi();
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), xiangqi);
+		HeadlessChessBoard board = new HeadlessChessBoard(xiangqi);
 		HorsePiece horse = new HorsePiece(board, ChessGame.Side.SOUTH , null);
 		board.addPiece(horse, 3, 3);
 	
@@ -722,7 +721,7 @@ class XiangqiMoveTest {
 		 * ==> although in reality the last two pieces could not be here as they can't cross river/leave fortress
 		 */
 		Xiangqi xiangqi = new Xiangqi();
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), xiangqi);
+		HeadlessChessBoard board = new HeadlessChessBoard(xiangqi);
 		RookPiece rook1 = new RookPiece(board, ChessGame.Side.NORTH , null);
 		RookPiece rook2 = new RookPiece(board, ChessGame.Side.NORTH , null); 
 		RookPiece rook3 = new RookPiece(board, ChessGame.Side.NORTH , null); 
@@ -847,7 +846,7 @@ class XiangqiMoveTest {
 		 * A CannonPiece on this player's side on square (9, 0)
 		 */
 		Xiangqi xiangqi = new Xiangqi();
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), xiangqi);
+		HeadlessChessBoard board = new HeadlessChessBoard(xiangqi);
 		CannonPiece cannon1 = new CannonPiece(board, ChessGame.Side.NORTH, null);
 		CannonPiece cannon2 = new CannonPiece(board, ChessGame.Side.NORTH, null);
 		CannonPiece cannon3 = new CannonPiece(board, ChessGame.Side.NORTH, null);
@@ -1066,7 +1065,7 @@ class XiangqiMoveTest {
 		 * A SoldierPiece on this player's side on square (3, 2)
 		 */
 		Xiangqi xiangqi = new Xiangqi();
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), xiangqi);
+		HeadlessChessBoard board = new HeadlessChessBoard(xiangqi);
 		SoldierPiece soldier1South = new SoldierPiece(board, ChessGame.Side.SOUTH , null); 
 		SoldierPiece soldier1North = new SoldierPiece(board, ChessGame.Side.NORTH , null); 
 		SoldierPiece soldier2South = new SoldierPiece(board, ChessGame.Side.SOUTH , null); 
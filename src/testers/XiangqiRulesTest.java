@@ -6,8 +6,8 @@ import org.junit.jupiter.api.Test;
 import chess.ChessGame;
 import chess.Xiangqi;
 import europeanpieces.RookPiece;
-import graphics.SwingChessBoard;
-import graphics.SwingEuropeanChessDisplay;
+import graphics.HeadlessChessBoard;
+import xiangqipieces.CannonPiece;
 import xiangqipieces.ElephantPiece;
 import xiangqipieces.GuardPiece;
 import xiangqipieces.XiangqiKingPiece;
@@ -27,7 +27,7 @@ class XiangqiRulesTest {
 		
 		//Create a chess board and place these pieces on it
 		Xiangqi chess = new Xiangqi();
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), chess);
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
 		XiangqiKingPiece kingNorth = new XiangqiKingPiece(board, ChessGame.Side.NORTH, null);
 		GuardPiece guardNorth = new GuardPiece(board, ChessGame.Side.NORTH, null);
 		RookPiece rookSouth = new RookPiece(board, ChessGame.Side.SOUTH, null);
@@ -37,6 +37,9 @@ class XiangqiRulesTest {
 		board.addPiece(rookSouth, 5, 5);
 		board.addPiece(kingSouth, 8, 5);
 		
+		//Shield the north king from the rook, so the kings may move up and down the column without being in check
+		board.addPiece(new ElephantPiece(board, ChessGame.Side.NORTH, null), 3, 5);
+		
 		/** Players should be able to change their selection*/
 		assertEquals(chess.canChangeSelection(kingSouth), true);
 		
@@ -80,7 +83,9 @@ class XiangqiRulesTest {
 		 * kingNorth is currently at (2, 5)
 		 * kingSouth is currently at (7, 4)
 		 * It is SOUTH's turn, rookSouth is able to eliminate kingNorth by moving vertically into (2, 5)
+		 * once the north piece shielding it is taken away
 		 */
+		board.removePiece(3, 5);
 		assertEquals(board.squareThreated(2, 5, kingNorth), true); //kingNorth is threatened
 		assertEquals(chess.makeMove(rookSouth, 2, 5), true);
 		assertEquals(board.getPiece(2, 5).getSide(), ChessGame.Side.SOUTH); //rookSouth should now be here 
@@ -112,7 +117,7 @@ class XiangqiRulesTest {
 		
 		//Create with these pieces on it 
 		Xiangqi xiangqi = new Xiangqi();
-		SwingChessBoard chessBoard = new SwingChessBoard(new SwingEuropeanChessDisplay(), xiangqi);
+		HeadlessChessBoard chessBoard = new HeadlessChessBoard(xiangqi);
 		XiangqiKingPiece kingNorth1 = new XiangqiKingPiece(chessBoard, ChessGame.Side.NORTH, null);
 		XiangqiKingPiece kingSouth1 = new XiangqiKingPiece(chessBoard, ChessGame.Side.SOUTH, null);
 		chessBoard.addPiece(kingNorth1, 0, 3);
@@ -154,23 +159,23 @@ class XiangqiRulesTest {
 		
 		//Create with these pieces on it 
 		Xiangqi chess = new Xiangqi();
-		SwingChessBoard board = new SwingChessBoard(new SwingEuropeanChessDisplay(), chess);
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
 		XiangqiKingPiece kingNorth = new XiangqiKingPiece(board, ChessGame.Side.NORTH, null);
-		RookPiece rookSouth = new RookPiece(board, ChessGame.Side.SOUTH, null);
+		CannonPiece cannonSouth = new CannonPiece(board, ChessGame.Side.SOUTH, null);
 		XiangqiKingPiece kingSouth = new XiangqiKingPiece(board, ChessGame.Side.SOUTH, null);
 		board.addPiece(kingNorth, 1, 5);
-		board.addPiece(rookSouth, 5, 5); //Place the rook piece in-between the kings
+		board.addPiece(cannonSouth, 5, 5); //Place the cannon piece in-between the kings (with nothing to jump, it does not check)
 		board.addPiece(kingSouth, 8, 5);
 		
 		/** Test case where the piece is moving within the same column */
-		assertEquals(chess.makeMove(rookSouth, 4, 5), true);
+		assertEquals(chess.makeMove(cannonSouth, 4, 5), true);
 		//The kings are not left facing each other 
 		
 		/** Test case where the kings are left facing each other **/
-		chess.makeMove(kingNorth, 2, 5);//Move a north piece so it is south's turn to move again
+		assertEquals(chess.makeMove(kingNorth, 2, 5), true);//Move a north piece so it is south's turn to move again
 		
-		//It is illegal for the rook to leave the column
-		assertEquals(chess.makeMove(rookSouth, 5, 4), false);
+		//It is illegal for the cannon to leave the column
+		assertEquals(chess.makeMove(cannonSouth, 4, 4), false);
 		//Moving to this square leaves the kings facing each other 
 		
 		/** Test case where the available pieces are "behind" the kings*/
@@ -178,20 +183,20 @@ class XiangqiRulesTest {
 		board.addPiece(new ElephantPiece(board, ChessGame.Side.SOUTH, null), 9, 5);
 
 		/*
-		 * Moving the piece rook away should still not be allowed:
+		 * Moving the cannon away should still not be allowed:
 		 * the newly added pieces are behind the kings, and the kings will still face each other
 		 */
-		assertEquals(chess.makeMove(rookSouth, 5, 4), false);
+		assertEquals(chess.makeMove(cannonSouth, 4, 4), false);
 		board.removePiece(0, 5);
 		board.removePiece(9, 5);
 		
 		/** 
 		 * Test case where one other piece is left in-between these pieces
-		 * It is still South's turn to move, and rookPiece is at (4, 5)
+		 * It is still South's turn to move, and cannonSouth is at (4, 5)
 		 */
 		board.addPiece(new ElephantPiece(board, ChessGame.Side.NORTH, null), 3, 5);
-		board.addPiece(new ElephantPiece(board, ChessGame.Side.NORTH, null), 4, 5);
-		assertEquals(chess.makeMove(rookSouth, 4, 4), true);
+		board.addPiece(new ElephantPiece(board, ChessGame.Side.NORTH, null), 5, 5);
+		assertEquals(chess.makeMove(cannonSouth, 4, 4), true);
 		//Moving this piece leaves one other piece in-between the kings
 		
 
@@ -209,7 +214,7 @@ class XiangqiRulesTest {
 		 * 
 		 */
 		Xiangqi chess2 = new Xiangqi();
-		SwingChessBoard board2 = new SwingChessBoard(new SwingEuropeanChessDisplay(), chess2);
+		HeadlessChessBoard board2 = new HeadlessChessBoard(chess2);
 		XiangqiKingPiece kingNorth2 = new XiangqiKingPiece(board2, ChessGame.Side.NORTH, null);
 		RookPiece rookSouth2 = new RookPiece(board2, ChessGame.Side.SOUTH, null);
 		XiangqiKingPiece kingSouth2 = new XiangqiKingPiece(board2, ChessGame.Side.SOUTH, null);
@@ -240,11 +245,38 @@ class XiangqiRulesTest {
 		
 		//2. The rook piece should be able to capture the north king, however, since after the capture the other king 
 		//will be gone, and we will no longer have the facing king situation
-		chess2.makeMove(kingNorth2, 1, 4); //Move the north king so it is south's turn to move again
-		assertEquals(chess2.makeMove(rook, 1, 4), true); //Legal to catpure this king
+		chess2.setCurrentTurn(ChessGame.Side.SOUTH); //The north king is in check from the rook and cannot step off it, so give the south the move
+		assertEquals(chess2.makeMove(rook, 2, 4), true); //Legal to catpure this king
 
 	}
 	
 	
 
+	/**
+	 * Tests that only the pieces between the kings keep them from facing each other
+	 */
+	@Test
+	void testPiecesOutsideKings() {
+		Xiangqi chess = new Xiangqi();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		XiangqiKingPiece kingNorth = new XiangqiKingPiece(board, ChessGame.Side.NORTH, null);
+		XiangqiKingPiece kingSouth = new XiangqiKingPiece(board, ChessGame.Side.SOUTH, null);
+		CannonPiece cannonNorth = new CannonPiece(board, ChessGame.Side.NORTH, null);
+		GuardPiece guardSouth = new GuardPiece(board, ChessGame.Side.SOUTH, null);
+		board.addPiece(kingNorth, 1, 4);
+		board.addPiece(cannonNorth, 5, 4); //The only piece between the kings
+		board.addPiece(kingSouth, 8, 4);
+		board.addPiece(guardSouth, 9, 4); //Behind the south king
+		
+		//The guard is not between the kings, so it may leave the column
+		assertEquals(chess.makeMove(guardSouth, 8, 3), true);
+		
+		//The cannon may not leave the column
+		assertEquals(chess.makeMove(cannonNorth, 5, 0), false);
+		
+		//The king may step back with the cannon still between the kings
+		assertEquals(chess.makeMove(kingNorth, 0, 4), true);
+		assertEquals(board.getKingSquare(ChessGame.Side.NORTH), 4);
+	}
+
 }
@@ -0,0 +1,69 @@
+package testers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import chess.ChessGame;
+import chess.EuropeanChess;
+import chess.Xiangqi;
+import chess.ZobristKeys;
+import graphics.HeadlessChessBoard;
+
+/**
+ * Tests the Zobrist keys the ChessBoard keeps for its positions
+ * @author Phila Dlamini
+ *
+ */
+class ZobristKeyTest {
+
+	/**
+	 * The key should change with the side to move, and come back when the same position comes back
+	 */
+	@Test
+	void testRepeatedPosition() {
+		EuropeanChess chess = new EuropeanChess();
+		HeadlessChessBoard board = new HeadlessChessBoard(chess);
+		chess.startGame(board);
+		long startKey = board.getZobristKey();
+
+		//Move the knights out
+		assertEquals(chess.makeMove(board.getPiece(7, 1), 5, 2), true);
+		assertNotEquals(board.getZobristKey(), startKey); //A different position
+		assertEquals(chess.makeMove(board.getPiece(0, 1), 2, 2), true);
+
+		//And back again
+		assertEquals(chess.makeMove(board.getPiece(5, 2), 7, 1), true);
+		assertEquals(chess.makeMove(board.getPiece(2, 2), 0, 1), true);
+		assertEquals(board.getZobristKey(), startKey); //The start position has come back
+
+		//The same pieces with the other side to move are a different position
+		chess.setCurrentTurn(ChessGame.Side.NORTH);
+		assertNotEquals(board.getZobristKey(), startKey);
+	}
+
+	/**
+	 * The key kept up to date by the board should match the key computed from scratch
+	 */
+	@Test
+	void testIncrementalKey() {
+		playRandomMoves(new EuropeanChess(), new Random(4));
+		playRandomMoves(new Xiangqi(), new Random(5));
+	}
+
+	/**
+	 * Plays random legal moves from the start of the game, checking the key after each one
+	 * @param game		the game to play
+	 * @param random	chooses the moves
+	 */
+	private void playRandomMoves(ChessGame game, Random random) {
+		HeadlessChessBoard board = new HeadlessChessBoard(game);
+		game.startGame(board);
+		assertEquals(ZobristKeys.computeKey(board), board.getZobristKey());
+
+		int movesMade = TestBoards.makeRandomMoves(board, random, 200,
+				() -> assertEquals(ZobristKeys.computeKey(board), board.getZobristKey()));
+		assertTrue(movesMade > 0);
+	}
+}
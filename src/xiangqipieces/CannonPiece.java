@@ -1,8 +1,10 @@
 package xiangqipieces;
 
+import bitboards.XiangqiBitboard;
 import chess.ChessGame.Side;
 import graphics.ChessBoard;
 import piecetypes.HorizontallyMovingPiece;
+import piecetypes.PieceType;
 import piecetypes.SingleDirectionPiece;
 import piecetypes.VerticallyMovingPiece;
 
@@ -31,6 +33,8 @@ public class CannonPiece extends SingleDirectionPiece implements HorizontallyMov
 	 */
 	@Override
 	public boolean isLegalMove(int toRow, int toColumn) {
+		if (getChessBoard().getBitboards() instanceof XiangqiBitboard)
+			return ((XiangqiBitboard) getChessBoard().getBitboards()).isLegalCannonMove(getSide(), getRow(), getColumn(), toRow, toColumn);
 		
 		//If the piece is capturing another, ensure it is jumping over exactly one other piece 
 		if(getChessBoard().hasPiece(toRow, toColumn) && getChessBoard().getPiece(toRow, toColumn).getSide() != getSide()) {
@@ -54,4 +58,12 @@ public class CannonPiece extends SingleDirectionPiece implements HorizontallyMov
 		return super.isLegalMove(toRow, toColumn);
 	}
 
+	/**
+	 * Returns the type of this piece
+	 * @return the type of this piece (CANNON)
+	 */
+	@Override
+	public PieceType getType() {
+		return PieceType.CANNON;
+	}
 }
@@ -1,8 +1,10 @@
 package xiangqipieces;
+import bitboards.XiangqiBitboard;
 import chess.ChessGame;
 import graphics.ChessBoard;
 import piecetypes.DiagonallyMovingPiece;
 import piecetypes.FortressConfinedPiece;
+import piecetypes.PieceType;
 import piecetypes.RiverConfinedPiece;
 import piecetypes.SingleDirectionPiece;
 
@@ -25,12 +27,15 @@ public class ElephantPiece extends SingleDirectionPiece implements DiagonallyMov
 	
 	/**
 	 * Returns true if moving to this row and column is legal for this piece
+	 * On a Xiangqi board the move is looked up in the precomputed elephant move and eye masks
 	 * @param toRow		the row the piece is moving to 
 	 * @param toColumn	the column the piece is moving to 
 	 * @return	true if it is legal for this piece to move to this row and column
 	 */
 	@Override
 	public boolean isLegalMove(int toRow, int toColumn) {
+		if (getChessBoard().getBitboards() instanceof XiangqiBitboard)
+			return ((XiangqiBitboard) getChessBoard().getBitboards()).isLegalElephantMove(getSide(), getRow(), getColumn(), toRow, toColumn);
 		
 		//If the piece did not take exactly two diagonal steps, this move is not legal
 		if(Math.abs(toColumn - getColumn()) != getNumberOfAllowedSteps()) return false;
@@ -38,5 +43,13 @@ public class ElephantPiece extends SingleDirectionPiece implements DiagonallyMov
 		//Otherwise, ensure the piece is performing a legal move
 		return super.isLegalMove(toRow, toColumn);
 	}
-	
+
+	/**
+	 * Returns the type of this piece
+	 * @return the type of this piece (ELEPHANT)
+	 */
+	@Override
+	public PieceType getType() {
+		return PieceType.ELEPHANT;
+	}
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package xiangqipieces;
+import bitboards.XiangqiBitboard;
 import chess.ChessGame;
 import graphics.ChessBoard;
 import piecetypes.FortressConfinedPiece;
 import piecetypes.DiagonallyMovingPiece;
+import piecetypes.PieceType;
 import piecetypes.SingleDirectionPiece;
 
 /**
@@ -21,4 +23,27 @@ public class GuardPiece extends SingleDirectionPiece implements DiagonallyMoving
 	public GuardPiece(ChessBoard chessBoard, ChessGame.Side side, Object icon) {
 		super(chessBoard, "G", side, icon, 1); //The piece moves one step at a time
 	}
+
+	/**
+	 * Returns true if moving to this row and column is legal for this piece
+	 * On a Xiangqi board the move is looked up in the precomputed guard move masks
+	 * @param toRow		the row the piece is moving to 
+	 * @param toColumn	the column the piece is moving to 
+	 * @return	true if it is legal for this piece to move to this row and column
+	 */
+	@Override
+	public boolean isLegalMove(int toRow, int toColumn) {
+		if (getChessBoard().getBitboards() instanceof XiangqiBitboard)
+			return ((XiangqiBitboard) getChessBoard().getBitboards()).isLegalGuardMove(getSide(), getRow(), getColumn(), toRow, toColumn);
+		return super.isLegalMove(toRow, toColumn);
+	}
+
+	/**
+	 * Returns the type of this piece
+	 * @return the type of this piece (GUARD)
+	 */
+	@Override
+	public PieceType getType() {
+		return PieceType.GUARD;
+	}
 }
@@ -2,6 +2,7 @@ package xiangqipieces;
 
 import chess.ChessGame.Side;
 import graphics.ChessBoard;
+import piecetypes.PieceType;
 import piecetypes.TwoDirectionPiece;
 
 /**
@@ -35,6 +36,13 @@ public class HorsePiece extends TwoDirectionPiece{
 		//Check if the piece is moving the allowed distance ratio
 		if(super.isLegalMove(toRow, toColumn)) {
 			
+			//If the board has attack tables, the leg of the jump is looked up
+			if (getChessBoard().getAttackTables() != null) {
+				int numColumns = getChessBoard().getGameRules().getNumColumns();
+				int leg = getChessBoard().getAttackTables().blocker(getRow() * numColumns + getColumn(), toRow * numColumns + toColumn);
+				return !getChessBoard().hasPiece(leg / numColumns, leg % numColumns);
+			}
+			
 			/* If it is, ensure that the first square does not have a piece on it */
 			if (toColumn - getColumn() == 2) 										//The square to check is to the right
 				return !getChessBoard().hasPiece(getRow(), getColumn() + 1);
@@ -49,4 +57,12 @@ public class HorsePiece extends TwoDirectionPiece{
 		return false;
 	}
 
+	/**
+	 * Returns the type of this piece
+	 * @return the type of this piece (HORSE)
+	 */
+	@Override
+	public PieceType getType() {
+		return PieceType.HORSE;
+	}
 }
@@ -1,10 +1,12 @@
 package xiangqipieces;
 
+import bitboards.XiangqiBitboard;
 import chess.ChessGame;
 import chess.ChessGame.Side;
 import graphics.ChessBoard;
 import piecetypes.ChessPiece;
 import piecetypes.HorizontallyMovingPiece;
+import piecetypes.PieceType;
 import piecetypes.SingleDirectionPiece;
 import piecetypes.VerticallyMovingPiece;
 
@@ -27,12 +29,15 @@ public class SoldierPiece extends SingleDirectionPiece implements VerticallyMovi
 	
 	/**
 	 * Returns true if this is a legal move for a SoldierPiece to make
+	 * On a Xiangqi board the move is looked up in the precomputed soldier move masks
 	 * @param toRow 		the row that this piece is moving to 
 	 * @param toColumn 		the column that this piece is moving to 
 	 * @return true if this is a legal move for a SoldierPiece to make
 	 */
 	@Override
 	public boolean isLegalMove(int toRow, int toColumn) {
+		if (getChessBoard().getBitboards() instanceof XiangqiBitboard)
+			return ((XiangqiBitboard) getChessBoard().getBitboards()).isLegalSoldierMove(getSide(), getRow(), getColumn(), toRow, toColumn);
 		
 		// The distance the piece is moving horizontally
 		int horizontalDistance = Math.abs(toColumn - getColumn());
@@ -72,4 +77,12 @@ public class SoldierPiece extends SingleDirectionPiece implements VerticallyMovi
 			getRow() >= rowBelowRiver;
 	}
 
+	/**
+	 * Returns the type of this piece
+	 * @return the type of this piece (SOLDIER)
+	 */
+	@Override
+	public PieceType getType() {
+		return PieceType.SOLDIER;
+	}
 }
@@ -1,9 +1,11 @@
 package xiangqipieces;
 
+import bitboards.XiangqiBitboard;
 import chess.ChessGame;
 import graphics.ChessBoard;
 import piecetypes.FortressConfinedPiece;
 import piecetypes.HorizontallyMovingPiece;
+import piecetypes.PieceType;
 import piecetypes.SingleDirectionPiece;
 import piecetypes.VerticallyMovingPiece;
 
@@ -23,4 +25,27 @@ public class XiangqiKingPiece extends SingleDirectionPiece implements Horizontal
 	public XiangqiKingPiece(ChessBoard board, ChessGame.Side side, Object icon) {
 		super(board, "X", side, icon, 1); //The piece is allowed to move only one step at time
 	}
+
+	/**
+	 * Returns true if moving to this row and column is legal for this piece
+	 * On a Xiangqi board the move is looked up in the precomputed king move masks
+	 * @param toRow		the row the piece is moving to 
+	 * @param toColumn	the column the piece is moving to 
+	 * @return	true if it is legal for this piece to move to this row and column
+	 */
+	@Override
+	public boolean isLegalMove(int toRow, int toColumn) {
+		if (getChessBoard().getBitboards() instanceof XiangqiBitboard)
+			return ((XiangqiBitboard) getChessBoard().getBitboards()).isLegalKingMove(getSide(), getRow(), getColumn(), toRow, toColumn);
+		return super.isLegalMove(toRow, toColumn);
+	}
+
+	/**
+	 * Returns the type of this piece
+	 * @return the type of this piece (XIANGQI_KING)
+	 */
+	@Override
+	public PieceType getType() {
+		return PieceType.XIANGQI_KING;
+	}
 }